@@ -0,0 +1,556 @@
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * ============================================================================
+ *                FORMATO BINÁRIO DE ARQUIVOS .conjunto (VERSÃO 2)
+ * ============================================================================
+ *
+ * Grava e lê conjuntos num formato binário versionado, muito menor e mais
+ * rápido de carregar que o antigo "ELEMENTOS=a b c" em texto.
+ *
+ * <h3>Estrutura do arquivo:</h3>
+ * <pre>
+ *   "TGCJ"        assinatura (4 bytes)
+ *   versão        short
+ *   tipo          byte   (1 inteiros, 2 decimais, 3 texto)
+ *   nome          texto
+ *   data          long   (milissegundos)
+ *   quantidade    int
+ *   mínimo/máximo int | double | texto (só se quantidade &gt; 0)
+ *   porBloco      int    elementos por bloco
+ *   blocos        int
+ *   bytesIndice   int
+ *   bytesDados    int
+ *   crc32         int    (CRC32 de índice + dados)
+ *   índice        por bloco: deslocamento nos dados (int) + 1º elemento
+ *   dados         elementos ordenados, bloco a bloco
+ * </pre>
+ * Todo "texto" fora dos dados é tamanho em varint + bytes UTF-8, como os
+ * elementos - sem o limite de 64 KB do writeUTF. Arquivos da versão 1
+ * (textos em writeUTF) continuam legíveis.
+ *
+ * <h3>Codificação dos elementos (cada bloco é independente):</h3>
+ * <ul>
+ *   <li>🔢 Inteiros: 1º valor em zigzag+varint, depois só as diferenças
+ *       (sempre positivas) em varint - 1 byte para valores próximos</li>
+ *   <li>🔬 Decimais: os 8 bytes do double, sem conversão para texto</li>
+ *   <li>🔤 Texto: dicionário ordenado com prefixo comum (front coding):
+ *       tamanho do prefixo igual ao anterior + só o sufixo em UTF-8</li>
+ * </ul>
+ * O índice de blocos permite achar um elemento sem decodificar o arquivo
+ * inteiro (ver {@link ConjuntoEmDisco}).
+ *
+ * A gravação vai para um arquivo temporário no mesmo diretório, que só
+ * substitui o .conjunto (movimento atômico) depois de escrito por inteiro:
+ * uma falha no meio nunca apaga o conjunto salvo antes, e quem observa o
+ * diretório nunca vê um arquivo pela metade.
+ *
+ * @author Sistema TGC - Módulo Persistência
+ * @version 2.0 - Formato Binário
+ * @since 2025
+ * ============================================================================
+ */
+public final class ArquivoConjunto {
+
+    public static final int TIPO_INTEIROS = 1;
+    public static final int TIPO_DECIMAIS = 2;
+    public static final int TIPO_TEXTO = 3;
+
+    private static final byte[] ASSINATURA = {'T', 'G', 'C', 'J'};
+    private static final short VERSAO = 2;
+    private static final short VERSAO_UTF = 1;     // textos do cabeçalho e do índice em writeUTF
+    private static final int POR_BLOCO = 4096;
+
+    private ArquivoConjunto() {
+    }
+
+    // ========================================================================
+    //                                GRAVAÇÃO
+    // ========================================================================
+
+    public static void gravar(File arquivo, String nome, ConjuntoInteiros conjunto) throws IOException {
+        int n = conjunto.tamanho();
+        Buffer dados = new Buffer(n * 2 + 16);
+        ByteArrayOutputStream bytesIndice = new ByteArrayOutputStream();
+        DataOutputStream indice = new DataOutputStream(bytesIndice);
+
+        long anterior = 0;
+        for (int i = 0; i < n; i++) {
+            int valor = conjunto.valor(i);
+            if (i % POR_BLOCO == 0) {
+                indice.writeInt(dados.tamanho);
+                indice.writeInt(valor);
+                dados.varint(zigzag(valor));
+            } else {
+                dados.varint(valor - anterior);
+            }
+            anterior = valor;
+        }
+
+        gravarAtomico(arquivo, saida -> {
+            escreverCabecalho(saida, TIPO_INTEIROS, nome, n);
+            if (n > 0) {
+                saida.writeInt(conjunto.minimo());
+                saida.writeInt(conjunto.maximo());
+            }
+            escreverBlocos(saida, n, bytesIndice.toByteArray(), dados);
+        });
+    }
+
+    public static void gravar(File arquivo, String nome, ConjuntoDecimais conjunto) throws IOException {
+        int n = conjunto.tamanho();
+        Buffer dados = new Buffer(n * 8 + 16);
+        ByteArrayOutputStream bytesIndice = new ByteArrayOutputStream();
+        DataOutputStream indice = new DataOutputStream(bytesIndice);
+
+        for (int i = 0; i < n; i++) {
+            double valor = conjunto.valor(i);
+            if (i % POR_BLOCO == 0) {
+                indice.writeInt(dados.tamanho);
+                indice.writeDouble(valor);
+            }
+            dados.longo(Double.doubleToRawLongBits(valor));
+        }
+
+        gravarAtomico(arquivo, saida -> {
+            escreverCabecalho(saida, TIPO_DECIMAIS, nome, n);
+            if (n > 0) {
+                saida.writeDouble(conjunto.valor(0));
+                saida.writeDouble(conjunto.valor(n - 1));
+            }
+            escreverBlocos(saida, n, bytesIndice.toByteArray(), dados);
+        });
+    }
+
+    /**
+     * @param textos elementos já em ordem alfabética e sem repetições
+     */
+    public static void gravar(File arquivo, String nome, List<String> textos) throws IOException {
+        int n = textos.size();
+        Buffer dados = new Buffer(n * 4 + 16);
+        ByteArrayOutputStream bytesIndice = new ByteArrayOutputStream();
+        DataOutputStream indice = new DataOutputStream(bytesIndice);
+
+        byte[] anterior = new byte[0];
+        for (int i = 0; i < n; i++) {
+            byte[] atual = textos.get(i).getBytes(StandardCharsets.UTF_8);
+            int prefixo = 0;
+            if (i % POR_BLOCO == 0) {
+                indice.writeInt(dados.tamanho);
+                escreverTexto(indice, textos.get(i));
+            } else {
+                int limite = Math.min(anterior.length, atual.length);
+                while (prefixo < limite && anterior[prefixo] == atual[prefixo]) prefixo++;
+            }
+            dados.varint(prefixo);
+            dados.varint(atual.length - prefixo);
+            dados.bytes(atual, prefixo, atual.length - prefixo);
+            anterior = atual;
+        }
+
+        gravarAtomico(arquivo, saida -> {
+            escreverCabecalho(saida, TIPO_TEXTO, nome, n);
+            if (n > 0) {
+                escreverTexto(saida, textos.get(0));
+                escreverTexto(saida, textos.get(n - 1));
+            }
+            escreverBlocos(saida, n, bytesIndice.toByteArray(), dados);
+        });
+    }
+
+    /**
+     * Escreve num temporário ao lado do destino e só então o move por cima
+     * (o nome termina em .tmp: o registro e o catálogo o ignoram)
+     */
+    private static void gravarAtomico(File arquivo, Escrita escrita) throws IOException {
+        File destino = arquivo.getAbsoluteFile();
+        Path temporario = Files.createTempFile(destino.getParentFile().toPath(), destino.getName() + ".", ".tmp");
+        try {
+            try (DataOutputStream saida = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporario), 1 << 16))) {
+                escrita.escrever(saida);
+            }
+            Files.move(temporario, destino.toPath(),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    private interface Escrita {
+        void escrever(DataOutputStream saida) throws IOException;
+    }
+
+    private static void escreverCabecalho(DataOutputStream saida, int tipo, String nome, int quantidade) throws IOException {
+        saida.write(ASSINATURA);
+        saida.writeShort(VERSAO);
+        saida.writeByte(tipo);
+        escreverTexto(saida, nome);
+        saida.writeLong(System.currentTimeMillis());
+        saida.writeInt(quantidade);
+    }
+
+    /**
+     * Texto sem limite de tamanho: varint com o número de bytes + UTF-8
+     */
+    static void escreverTexto(DataOutputStream saida, String texto) throws IOException {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        int tamanho = bytes.length;
+        while ((tamanho & ~0x7F) != 0) {
+            saida.writeByte((tamanho & 0x7F) | 0x80);
+            tamanho >>>= 7;
+        }
+        saida.writeByte(tamanho);
+        saida.write(bytes);
+    }
+
+    private static void escreverBlocos(DataOutputStream saida, int quantidade, byte[] indice, Buffer dados) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(indice);
+        crc.update(dados.dados, 0, dados.tamanho);
+
+        saida.writeInt(POR_BLOCO);
+        saida.writeInt((quantidade + POR_BLOCO - 1) / POR_BLOCO);
+        saida.writeInt(indice.length);
+        saida.writeInt(dados.tamanho);
+        saida.writeInt((int) crc.getValue());
+        saida.write(indice);
+        saida.write(dados.dados, 0, dados.tamanho);
+    }
+
+    // ========================================================================
+    //                                 LEITURA
+    // ========================================================================
+
+    /**
+     * O arquivo está no formato binário? (senão é o formato texto antigo)
+     */
+    public static boolean eBinario(File arquivo) {
+        try (InputStream entrada = new FileInputStream(arquivo)) {
+            byte[] inicio = new byte[ASSINATURA.length];
+            return entrada.readNBytes(inicio, 0, inicio.length) == inicio.length && Arrays.equals(inicio, ASSINATURA);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Lê só o cabeçalho (para listagens), sem tocar nos elementos
+     */
+    public static Cabecalho lerCabecalho(File arquivo) throws IOException {
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(new FileInputStream(arquivo)))) {
+            return lerCabecalho(entrada, arquivo.length());
+        }
+    }
+
+    /**
+     * Lê o arquivo inteiro, conferindo o checksum.
+     * Índice e dados vêm numa única leitura (ver {@link ConjuntoEmDisco}) e
+     * o arquivo já está fechado quando o método retorna.
+     */
+    public static Conteudo ler(File arquivo) throws IOException {
+        try (ConjuntoEmDisco conjunto = ConjuntoEmDisco.abrir(arquivo)) {
+            return conjunto.materializar();
+        }
+    }
+
+    static Cabecalho lerCabecalho(DataInputStream entrada, long tamanhoArquivo) throws IOException {
+        byte[] assinatura = new byte[ASSINATURA.length];
+        entrada.readFully(assinatura);
+        if (!Arrays.equals(assinatura, ASSINATURA)) {
+            throw new IOException("não é um arquivo de conjunto binário");
+        }
+        int versao = entrada.readShort();
+        if (versao != VERSAO && versao != VERSAO_UTF) {
+            throw new IOException("versão de arquivo não suportada: " + versao);
+        }
+
+        int tipo = entrada.readByte();
+        String nome = lerTexto(entrada, versao, tamanhoArquivo);
+        long data = entrada.readLong();
+        int quantidade = entrada.readInt();
+
+        String minimo = "";
+        String maximo = "";
+        if (quantidade > 0) {
+            switch (tipo) {
+                case TIPO_INTEIROS -> {
+                    minimo = Integer.toString(entrada.readInt());
+                    maximo = Integer.toString(entrada.readInt());
+                }
+                case TIPO_DECIMAIS -> {
+                    minimo = Double.toString(entrada.readDouble());
+                    maximo = Double.toString(entrada.readDouble());
+                }
+                case TIPO_TEXTO -> {
+                    minimo = lerTexto(entrada, versao, tamanhoArquivo);
+                    maximo = lerTexto(entrada, versao, tamanhoArquivo);
+                }
+                default -> throw new IOException("tipo de conjunto desconhecido: " + tipo);
+            }
+        }
+
+        int porBloco = entrada.readInt();
+        int blocos = entrada.readInt();
+        int bytesIndice = entrada.readInt();
+        int bytesDados = entrada.readInt();
+        int crc = entrada.readInt();
+        if (quantidade < 0 || porBloco <= 0 || blocos != (quantidade + porBloco - 1) / porBloco
+                || bytesIndice < 0 || bytesDados < 0 || (long) bytesIndice + bytesDados > tamanhoArquivo) {
+            throw new IOException("arquivo corrompido (tamanhos inválidos no cabeçalho)");
+        }
+
+        return new Cabecalho(versao, tipo, nome, data, quantidade, minimo, maximo, porBloco, blocos, bytesIndice, bytesDados, crc);
+    }
+
+    /**
+     * Lê um texto do cabeçalho ou do índice no formato da versão do arquivo
+     *
+     * @param limite bytes que o texto pode ocupar, no máximo (contra tamanhos corrompidos)
+     */
+    static String lerTexto(DataInputStream entrada, int versao, long limite) throws IOException {
+        return versao == VERSAO_UTF ? entrada.readUTF() : lerTexto(entrada, limite);
+    }
+
+    /**
+     * Lê um texto gravado por {@link #escreverTexto}
+     */
+    static String lerTexto(DataInputStream entrada, long limite) throws IOException {
+        long tamanho = 0;
+        int deslocamento = 0;
+        byte b;
+        do {
+            if (deslocamento > 28) {
+                throw new IOException("arquivo corrompido (tamanho de texto inválido)");
+            }
+            b = entrada.readByte();
+            tamanho |= (long) (b & 0x7F) << deslocamento;
+            deslocamento += 7;
+        } while (b < 0);
+        if (tamanho > limite) {
+            throw new IOException("arquivo corrompido (texto maior que o arquivo)");
+        }
+        byte[] bytes = new byte[(int) tamanho];
+        entrada.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodifica todos os elementos a partir dos bytes de dados
+     */
+    static Conteudo decodificar(Cabecalho cabecalho, ByteBuffer dados) throws IOException {
+        Cursor cursor = new Cursor(cabecalho, dados, 0, 0);
+        int n = cabecalho.quantidade;
+
+        try {
+            switch (cabecalho.tipo) {
+                case TIPO_INTEIROS -> {
+                    ConjuntoInteiros.Construtor construtor = new ConjuntoInteiros.Construtor(n);
+                    for (int i = 0; i < n; i++) {
+                        construtor.adicionar(cursor.proximoInteiro());
+                    }
+                    return new Conteudo(cabecalho, construtor.construir(), null, null);
+                }
+                case TIPO_DECIMAIS -> {
+                    ConjuntoDecimais.Construtor construtor = new ConjuntoDecimais.Construtor(n);
+                    for (int i = 0; i < n; i++) {
+                        construtor.adicionar(cursor.proximoDecimal());
+                    }
+                    return new Conteudo(cabecalho, null, construtor.construir(), null);
+                }
+                default -> {
+                    String[] textos = new String[n];
+                    for (int i = 0; i < n; i++) {
+                        textos[i] = cursor.proximoTexto();
+                    }
+                    return new Conteudo(cabecalho, null, null, Arrays.asList(textos));
+                }
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("arquivo corrompido (dados truncados)");
+        }
+    }
+
+    /**
+     * Percorre os elementos em ordem a partir do início de um bloco,
+     * decodificando um de cada vez (sem montar coleções)
+     */
+    static final class Cursor {
+        private final ByteBuffer dados;
+        private final int porBloco;
+        private int indice;             // posição global do próximo elemento
+        private long ultimoInteiro;
+        private byte[] texto = new byte[64];
+
+        Cursor(Cabecalho cabecalho, ByteBuffer dados, int bloco, int deslocamento) {
+            this.dados = dados.duplicate();
+            this.dados.position(deslocamento);
+            this.porBloco = cabecalho.porBloco;
+            this.indice = bloco * cabecalho.porBloco;
+        }
+
+        int proximoInteiro() {
+            ultimoInteiro = indice++ % porBloco == 0 ? dezigzag(varint()) : ultimoInteiro + varint();
+            return (int) ultimoInteiro;
+        }
+
+        double proximoDecimal() {
+            indice++;
+            return Double.longBitsToDouble(dados.getLong());
+        }
+
+        String proximoTexto() {
+            indice++;
+            int prefixo = (int) varint();
+            int sufixo = (int) varint();
+            if (prefixo + sufixo > texto.length) {
+                texto = Arrays.copyOf(texto, Math.max(texto.length * 2, prefixo + sufixo));
+            }
+            dados.get(texto, prefixo, sufixo);
+            return new String(texto, 0, prefixo + sufixo, StandardCharsets.UTF_8);
+        }
+
+        private long varint() {
+            long valor = 0;
+            int deslocamento = 0;
+            byte b;
+            do {
+                b = dados.get();
+                valor |= (long) (b & 0x7F) << deslocamento;
+                deslocamento += 7;
+            } while (b < 0);
+            return valor;
+        }
+    }
+
+    // ========================================================================
+    //                          RESULTADOS DA LEITURA
+    // ========================================================================
+
+    /**
+     * Metadados do arquivo
+     */
+    public static final class Cabecalho {
+        final int versao;
+        public final int tipo;
+        public final String nome;
+        public final long data;
+        public final int quantidade;
+        public final String minimo;      // "" se vazio
+        public final String maximo;      // "" se vazio
+        final int porBloco;
+        final int blocos;
+        final int bytesIndice;
+        final int bytesDados;
+        final int crc;
+
+        private Cabecalho(int versao, int tipo, String nome, long data, int quantidade, String minimo, String maximo,
+                          int porBloco, int blocos, int bytesIndice, int bytesDados, int crc) {
+            this.versao = versao;
+            this.tipo = tipo;
+            this.nome = nome;
+            this.data = data;
+            this.quantidade = quantidade;
+            this.minimo = minimo;
+            this.maximo = maximo;
+            this.porBloco = porBloco;
+            this.blocos = blocos;
+            this.bytesIndice = bytesIndice;
+            this.bytesDados = bytesDados;
+            this.crc = crc;
+        }
+    }
+
+    /**
+     * Conjunto lido: apenas o campo do tipo correspondente é preenchido
+     */
+    public static final class Conteudo {
+        public final Cabecalho cabecalho;
+        public final ConjuntoInteiros inteiros;
+        public final ConjuntoDecimais decimais;
+        public final List<String> textos;    // ordem alfabética
+
+        private Conteudo(Cabecalho cabecalho, ConjuntoInteiros inteiros, ConjuntoDecimais decimais, List<String> textos) {
+            this.cabecalho = cabecalho;
+            this.inteiros = inteiros;
+            this.decimais = decimais;
+            this.textos = textos;
+        }
+
+        /**
+         * Elementos separados por espaço (o mesmo texto do formato antigo)
+         */
+        public String elementosComoTexto() {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < cabecalho.quantidade; i++) {
+                if (i > 0) sb.append(' ');
+                switch (cabecalho.tipo) {
+                    case TIPO_INTEIROS -> sb.append(inteiros.valor(i));
+                    case TIPO_DECIMAIS -> sb.append(decimais.valor(i));
+                    default -> sb.append(textos.get(i));
+                }
+            }
+            return sb.toString();
+        }
+    }
+
+    // ========================================================================
+    //                               AUXILIARES
+    // ========================================================================
+
+    private static long zigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+
+    private static long dezigzag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+
+    /**
+     * Bytes em memória que crescem sob demanda
+     */
+    private static final class Buffer {
+        byte[] dados;
+        int tamanho;
+
+        Buffer(int capacidade) {
+            dados = new byte[Math.max(capacidade, 16)];
+        }
+
+        private void garantir(int extra) {
+            if (tamanho + extra > dados.length) {
+                dados = Arrays.copyOf(dados, Math.max(dados.length * 2, tamanho + extra));
+            }
+        }
+
+        void varint(long valor) {
+            garantir(10);
+            while ((valor & ~0x7FL) != 0) {
+                dados[tamanho++] = (byte) ((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            dados[tamanho++] = (byte) valor;
+        }
+
+        void longo(long valor) {
+            garantir(8);
+            for (int deslocamento = 56; deslocamento >= 0; deslocamento -= 8) {
+                dados[tamanho++] = (byte) (valor >>> deslocamento);
+            }
+        }
+
+        void bytes(byte[] origem, int inicio, int quantidade) {
+            garantir(quantidade);
+            System.arraycopy(origem, inicio, dados, tamanho, quantidade);
+            tamanho += quantidade;
+        }
+    }
+}
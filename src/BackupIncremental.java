@@ -0,0 +1,344 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ============================================================================
+ *          BACKUP INCREMENTAL (CONTEÚDO ENDEREÇADO + GZIP + MANIFESTO)
+ * ============================================================================
+ *
+ * Cada backup é um SNAPSHOT: um manifesto texto com (hash, tamanho, data,
+ * caminho) de cada arquivo. O conteúdo fica em objetos comprimidos cujo
+ * nome é o SHA-256 dos bytes originais:
+ * <pre>
+ *   backups/
+ *   ├── objetos/3f2a...e1.gz
+ *   └── snapshots/snapshot-1760700000000.manifesto
+ * </pre>
+ *
+ * <h3>Incremental:</h3>
+ * <ul>
+ *   <li>⚡ Arquivo com mesmo tamanho e data do último snapshot: o hash é
+ *       reaproveitado do manifesto anterior, sem ler o arquivo</li>
+ *   <li>♻️ Conteúdo cujo objeto já existe (mesmo hash) não é gravado de
+ *       novo - só arquivos realmente novos ocupam espaço</li>
+ *   <li>🗜️ Objetos novos: {@link FileChannel#transferTo} direto para o
+ *       canal do GZIP, sem leitura linha a linha</li>
+ * </ul>
+ *
+ * <h3>Restauração:</h3>
+ * Qualquer snapshot é reconstruído num diretório, com os caminhos do
+ * manifesto; cada arquivo é descomprimido num temporário, tem o hash
+ * conferido e só então substitui o arquivo de destino.
+ *
+ * @author Sistema TGC - Módulo Persistência
+ * @version 2.0 - Backup Incremental
+ * @since 2025
+ * ============================================================================
+ */
+public final class BackupIncremental {
+
+    private static final String CABECALHO_MANIFESTO = "# SNAPSHOT TGC v1";
+
+    private final File raiz;
+    private final File objetos;
+    private final File snapshots;
+
+    public BackupIncremental(File raiz) {
+        this.raiz = raiz;
+        this.objetos = new File(raiz, "objetos");
+        this.snapshots = new File(raiz, "snapshots");
+    }
+
+    // ===== CRIAR =====
+
+    /**
+     * CRIAR SNAPSHOT dos arquivos (caminhos gravados relativos a {@code base})
+     */
+    public Resultado criarSnapshot(List<File> arquivos, File base) throws IOException {
+        if (!objetos.isDirectory() && !objetos.mkdirs() || !snapshots.isDirectory() && !snapshots.mkdirs()) {
+            throw new IOException("não foi possível criar " + raiz);
+        }
+
+        // Último snapshot: atalho para arquivos que não mudaram
+        Map<String, ItemManifesto> anteriores = new HashMap<>();
+        List<Snapshot> existentes = listarSnapshots();
+        if (!existentes.isEmpty()) {
+            for (ItemManifesto item : lerManifesto(existentes.get(existentes.size() - 1).arquivo)) {
+                anteriores.put(item.caminho, item);
+            }
+        }
+
+        Resultado resultado = new Resultado();
+        List<ItemManifesto> itens = new ArrayList<>();
+        for (File arquivo : arquivos) {
+            String caminho = base.toPath().relativize(arquivo.toPath()).toString().replace(File.separatorChar, '/');
+            long tamanho = arquivo.length();
+            long modificado = arquivo.lastModified();
+
+            ItemManifesto anterior = anteriores.get(caminho);
+            String hash;
+            if (anterior != null && anterior.tamanho == tamanho && anterior.modificado == modificado) {
+                hash = anterior.hash;
+                resultado.inalterados++;
+            } else {
+                hash = calcularHash(arquivo);
+                File objeto = objeto(hash);
+                if (objeto.exists()) {
+                    resultado.reaproveitados++;
+                } else {
+                    comprimir(arquivo, objeto);
+                    resultado.objetosNovos++;
+                    resultado.bytesNovos += tamanho;
+                    resultado.bytesGravados += objeto.length();
+                }
+            }
+            itens.add(new ItemManifesto(hash, tamanho, modificado, caminho));
+            resultado.bytesTotais += tamanho;
+        }
+
+        long data = System.currentTimeMillis();
+        File temporario = Files.createTempFile(snapshots.toPath(), "snapshot-", ".tmp").toFile();
+        try {
+            try (PrintWriter writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(temporario), StandardCharsets.UTF_8)))) {
+                writer.println(CABECALHO_MANIFESTO);
+                writer.println("# Data: " + new Date(data));
+                writer.println("# Arquivos: " + itens.size());
+                for (ItemManifesto item : itens) {
+                    writer.println(item.hash + " " + item.tamanho + " " + item.modificado + " " + item.caminho);
+                }
+                if (writer.checkError()) {
+                    throw new IOException("falha ao gravar o manifesto");
+                }
+            }
+            // Dois snapshots no mesmo milissegundo: o segundo pega o próximo id livre
+            while (true) {
+                File manifesto = new File(snapshots, "snapshot-" + data + ".manifesto");
+                try {
+                    Files.move(temporario.toPath(), manifesto.toPath());
+                    break;
+                } catch (FileAlreadyExistsException e) {
+                    data++;
+                }
+            }
+        } finally {
+            Files.deleteIfExists(temporario.toPath());
+        }
+        resultado.id = "snapshot-" + data;
+        resultado.arquivos = itens.size();
+        return resultado;
+    }
+
+    /**
+     * Objeto novo: bytes do arquivo → GZIP, via transferTo; gravado num
+     * temporário e renomeado (nunca fica um objeto pela metade)
+     */
+    private void comprimir(File arquivo, File objeto) throws IOException {
+        File temporario = new File(objeto.getPath() + ".tmp");
+        try (FileChannel entrada = FileChannel.open(arquivo.toPath(), StandardOpenOption.READ);
+             GZIPOutputStream gzip = new GZIPOutputStream(new FileOutputStream(temporario), 64 * 1024);
+             WritableByteChannel saida = Channels.newChannel(gzip)) {
+            long posicao = 0;
+            long tamanho = entrada.size();
+            while (posicao < tamanho) {
+                posicao += entrada.transferTo(posicao, tamanho - posicao, saida);
+            }
+        }
+        Files.move(temporario.toPath(), objeto.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // ===== LISTAR =====
+
+    /**
+     * Snapshots existentes, do mais antigo ao mais recente
+     */
+    public List<Snapshot> listarSnapshots() throws IOException {
+        String[] nomes = snapshots.list((d, nome) -> nome.matches("snapshot-\\d+\\.manifesto"));
+        List<Snapshot> lista = new ArrayList<>();
+        if (nomes == null) {
+            return lista;
+        }
+        for (String nome : nomes) {
+            File arquivo = new File(snapshots, nome);
+            long arquivos = 0;
+            long bytes = 0;
+            for (ItemManifesto item : lerManifesto(arquivo)) {
+                arquivos++;
+                bytes += item.tamanho;
+            }
+            String id = nome.substring(0, nome.length() - ".manifesto".length());
+            lista.add(new Snapshot(id, Long.parseLong(id.substring("snapshot-".length())), arquivos, bytes, arquivo));
+        }
+        lista.sort(Comparator.comparingLong(snapshot -> snapshot.data));
+        return lista;
+    }
+
+    // ===== RESTAURAR =====
+
+    /**
+     * RESTAURAR um snapshot dentro de {@code destino}
+     *
+     * @return quantidade de arquivos restaurados
+     */
+    public int restaurar(String id, File destino) throws IOException {
+        File manifesto = new File(snapshots, id + ".manifesto");
+        if (!manifesto.exists()) {
+            throw new IOException("snapshot não encontrado: " + id);
+        }
+
+        int restaurados = 0;
+        for (ItemManifesto item : lerManifesto(manifesto)) {
+            File objeto = objeto(item.hash);
+            if (!objeto.exists()) {
+                throw new IOException("objeto ausente para " + item.caminho);
+            }
+            File arquivo = new File(destino, item.caminho);
+            File pasta = arquivo.getParentFile();
+            if (pasta != null && !pasta.isDirectory() && !pasta.mkdirs()) {
+                throw new IOException("não foi possível criar " + pasta);
+            }
+
+            // Descomprime num temporário ao lado: o arquivo final só é
+            // substituído depois que o hash confere
+            File temporario = new File(arquivo.getPath() + ".restaurando");
+            try {
+                try (ReadableByteChannel entrada = Channels.newChannel(new GZIPInputStream(new FileInputStream(objeto), 64 * 1024));
+                     FileChannel saida = FileChannel.open(temporario.toPath(), StandardOpenOption.CREATE,
+                         StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    long posicao = 0;
+                    long copiados;
+                    while ((copiados = saida.transferFrom(entrada, posicao, 1 << 20)) > 0) {
+                        posicao += copiados;
+                    }
+                }
+                if (!calcularHash(temporario).equals(item.hash)) {
+                    throw new IOException("conteúdo restaurado não confere: " + item.caminho);
+                }
+                temporario.setLastModified(item.modificado);
+                Files.move(temporario.toPath(), arquivo.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporario.toPath());
+            }
+            restaurados++;
+        }
+        return restaurados;
+    }
+
+    // ===== AUXILIARES =====
+
+    private File objeto(String hash) {
+        return new File(objetos, hash + ".gz");
+    }
+
+    private static List<ItemManifesto> lerManifesto(File manifesto) throws IOException {
+        List<ItemManifesto> itens = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new FileInputStream(manifesto), StandardCharsets.UTF_8))) {
+            String linha = reader.readLine();
+            if (!CABECALHO_MANIFESTO.equals(linha)) {
+                throw new IOException(manifesto.getName() + " não é um manifesto de snapshot");
+            }
+            while ((linha = reader.readLine()) != null) {
+                if (linha.isEmpty() || linha.startsWith("#")) {
+                    continue;
+                }
+                String[] partes = linha.split(" ", 4);
+                if (partes.length < 4) {
+                    throw new IOException("linha inválida em " + manifesto.getName() + ": " + linha);
+                }
+                try {
+                    itens.add(new ItemManifesto(partes[0], Long.parseLong(partes[1]), Long.parseLong(partes[2]), partes[3]));
+                } catch (NumberFormatException e) {
+                    throw new IOException("linha inválida em " + manifesto.getName() + ": " + linha);
+                }
+            }
+        }
+        return itens;
+    }
+
+    /**
+     * SHA-256 do arquivo em hexadecimal
+     */
+    private static String calcularHash(File arquivo) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+        try (FileChannel canal = FileChannel.open(arquivo.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            while (canal.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static final class ItemManifesto {
+        final String hash;
+        final long tamanho;
+        final long modificado;
+        final String caminho;
+
+        ItemManifesto(String hash, long tamanho, long modificado, String caminho) {
+            this.hash = hash;
+            this.tamanho = tamanho;
+            this.modificado = modificado;
+            this.caminho = caminho;
+        }
+    }
+
+    /**
+     * Um snapshot existente
+     */
+    public static final class Snapshot {
+        public final String id;
+        public final long data;
+        public final long arquivos;
+        public final long bytes;         // tamanho original somado
+        private final File arquivo;
+
+        private Snapshot(String id, long data, long arquivos, long bytes, File arquivo) {
+            this.id = id;
+            this.data = data;
+            this.arquivos = arquivos;
+            this.bytes = bytes;
+            this.arquivo = arquivo;
+        }
+    }
+
+    /**
+     * Números de um snapshot recém-criado
+     */
+    public static final class Resultado {
+        public String id;
+        public int arquivos;
+        public int inalterados;       // mesmo tamanho/data do snapshot anterior
+        public int reaproveitados;    // mudou, mas o conteúdo já estava guardado
+        public int objetosNovos;
+        public long bytesTotais;      // tamanho original de tudo no snapshot
+        public long bytesNovos;       // tamanho original só dos objetos novos
+        public long bytesGravados;    // tamanho comprimido dos objetos novos
+    }
+}
@@ -0,0 +1,100 @@
+import java.io.*;
+
+/**
+ * ============================================================================
+ *              BENCHMARK DO IMPORTADOR DE TEXTO (SEQUENCIAL × PARALELO)
+ * ============================================================================
+ *
+ * Mede o ganho do {@link ImportadorTexto} paralelo contra o sequencial
+ * sobre o MESMO arquivo, fora do menu interativo.
+ *
+ * <h3>Uso:</h3>
+ * <pre>
+ *   java BenchmarkImportacao arquivo.txt [repetições]
+ *   java -Dtgc.importacao.paralelismo=8 BenchmarkImportacao palavras.txt 5
+ * </pre>
+ * Antes das medições cada modo roda uma vez sem contar (JIT e cache de
+ * páginas do sistema aquecidos para os dois). Depois os modos se revezam
+ * na ordem - ora sequencial primeiro, ora paralelo - e vale o MELHOR tempo
+ * de cada um. Só um resultado fica na memória por vez.
+ *
+ * @author Sistema TGC - Módulo Persistência
+ * @version 2.0 - Importação em Fluxo
+ * @since 2025
+ * ============================================================================
+ */
+public final class BenchmarkImportacao {
+
+    private BenchmarkImportacao() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Uso: java BenchmarkImportacao arquivo.txt [repetições]");
+            return;
+        }
+        File arquivo = new File(args[0]);
+        if (!arquivo.isFile()) {
+            System.out.println("Arquivo não encontrado: " + args[0]);
+            return;
+        }
+        int repeticoes = 3;
+        if (args.length > 1) {
+            try {
+                repeticoes = Math.max(1, Integer.parseInt(args[1]));
+            } catch (NumberFormatException e) {
+                System.out.println("Argumento inválido '" + args[1] + "', usando " + repeticoes);
+            }
+        }
+        int paralelismo = ImportadorTexto.paralelismoPadrao();
+
+        System.out.println("================================================================");
+        System.out.println("          BENCHMARK - IMPORTAÇÃO DE TEXTO");
+        System.out.println("================================================================");
+        System.out.println(String.format("Arquivo: %s (%,d bytes) | Paralelismo: %d | Repetições: %d",
+            arquivo.getName(), arquivo.length(), paralelismo, repeticoes));
+        System.out.println();
+
+        // Aquecimento: cada modo uma vez, sem medir
+        long distintos = medirNanos(arquivo, 1)[1];
+        medirNanos(arquivo, paralelismo);
+
+        long melhorSequencial = Long.MAX_VALUE;
+        long melhorParalelo = Long.MAX_VALUE;
+        boolean iguais = true;
+        for (int r = 0; r < repeticoes; r++) {
+            // Ordem alternada: nenhum modo sempre pega o cache mais quente
+            for (int vez = 0; vez < 2; vez++) {
+                boolean sequencial = (r + vez) % 2 == 0;
+                long[] medida = medirNanos(arquivo, sequencial ? 1 : paralelismo);
+                iguais &= medida[1] == distintos;
+                if (sequencial) {
+                    melhorSequencial = Math.min(melhorSequencial, medida[0]);
+                } else {
+                    melhorParalelo = Math.min(melhorParalelo, medida[0]);
+                }
+            }
+        }
+
+        double segundosSequencial = melhorSequencial / 1e9;
+        double segundosParalelo = melhorParalelo / 1e9;
+        System.out.println(String.format("%12s %12s %12s", "Modo", "Tempo (s)", "MB/s"));
+        System.out.println(String.format("%12s %12.2f %12.1f", "Sequencial", segundosSequencial,
+            arquivo.length() / 1e6 / segundosSequencial));
+        System.out.println(String.format("%12s %12.2f %12.1f", "Paralelo(" + paralelismo + ")", segundosParalelo,
+            arquivo.length() / 1e6 / segundosParalelo));
+        System.out.println();
+        System.out.println(String.format("Ganho: %.2fx | Palavras distintas: %,d %s", segundosSequencial / segundosParalelo,
+            distintos, iguais ? "(iguais nos dois modos)" : "(DIFERENTES entre os modos!)"));
+    }
+
+    /**
+     * Uma importação: {tempo em ns, palavras distintas}; o resultado é descartado
+     */
+    private static long[] medirNanos(File arquivo, int paralelismo) throws IOException {
+        ImportadorTexto.Resultado resultado = paralelismo <= 1
+            ? ImportadorTexto.importar(arquivo, linha -> { })
+            : ImportadorTexto.importarParalelo(arquivo, paralelismo, linha -> { });
+        return new long[] {resultado.nanos, resultado.elementos.size()};
+    }
+}
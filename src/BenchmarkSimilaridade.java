@@ -0,0 +1,119 @@
+import java.util.*;
+
+/**
+ * ============================================================================
+ *              BENCHMARK DO MOTOR DE SIMILARIDADE (ESCALABILIDADE)
+ * ============================================================================
+ *
+ * Mede {@link MotorSimilaridade} com 1, 2, 4... threads até o número de
+ * núcleos (ou {@code -Dtgc.similaridade.paralelismo=N}), sobre conjuntos
+ * aleatórios (semente fixa), e mostra o ganho e a eficiência de cada
+ * nível. Também confere que todas as matrizes são idênticas à sequencial.
+ *
+ * <h3>Uso:</h3>
+ * <pre>
+ *   java BenchmarkSimilaridade [conjuntos] [elementos por conjunto] [universo] [repetições]
+ *   java BenchmarkSimilaridade 400 2000 20000 3       (valores padrão)
+ * </pre>
+ * Cada nível roda {@code repetições} vezes e vale o MELHOR tempo; antes
+ * das medições há algumas rodadas de aquecimento da JVM.
+ *
+ * @author Sistema TGC - Módulo Exportação
+ * @version 2.0 - Similaridade Paralela
+ * @since 2025
+ * ============================================================================
+ */
+public final class BenchmarkSimilaridade {
+
+    private static final int AQUECIMENTO = 3;
+
+    private BenchmarkSimilaridade() {
+    }
+
+    public static void main(String[] args) {
+        int quantidade = argumento(args, 0, 400);
+        int tamanho = argumento(args, 1, 2000);
+        int universo = argumento(args, 2, 20000);
+        int repeticoes = argumento(args, 3, 3);
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        int maximo = MotorSimilaridade.paralelismoPadrao();
+
+        // Conjuntos aleatórios, sempre os mesmos
+        Random aleatorio = new Random(42);
+        String[] nomes = new String[quantidade];
+        List<Set<String>> conjuntos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            nomes[i] = "C" + i;
+            Set<String> conjunto = new HashSet<>();
+            while (conjunto.size() < Math.min(tamanho, universo)) {
+                conjunto.add(Integer.toString(aleatorio.nextInt(universo)));
+            }
+            conjuntos.add(conjunto);
+        }
+
+        System.out.println("================================================================");
+        System.out.println("          BENCHMARK - SIMILARIDADE ENTRE TODOS OS PARES");
+        System.out.println("================================================================");
+        System.out.println("Conjuntos: " + quantidade + " × " + tamanho + " elementos (universo " + universo + ")");
+        System.out.println("Pares: " + (long) quantidade * (quantidade - 1) / 2 + " | Núcleos: " + nucleos
+            + " | Repetições: " + repeticoes);
+        System.out.println();
+
+        // Aquecimento: JIT compila os laços antes das medições
+        MotorSimilaridade referencia = MotorSimilaridade.calcular(nomes, conjuntos, 1);
+        for (int r = 0; r < AQUECIMENTO; r++) {
+            MotorSimilaridade.calcular(nomes, conjuntos, 1);
+            MotorSimilaridade.calcular(nomes, conjuntos, maximo);
+        }
+
+        List<Integer> niveis = new ArrayList<>();
+        for (int p = 1; p < maximo; p *= 2) {
+            niveis.add(p);
+        }
+        niveis.add(maximo);
+
+        System.out.println(String.format("%10s %12s %10s %12s %8s", "Threads", "Tempo (ms)", "Ganho", "Eficiência", "Matriz"));
+        double base = 0;
+        for (int paralelismo : niveis) {
+            long melhor = Long.MAX_VALUE;
+            MotorSimilaridade resultado = null;
+            for (int r = 0; r < repeticoes; r++) {
+                long inicio = System.nanoTime();
+                resultado = MotorSimilaridade.calcular(nomes, conjuntos, paralelismo);
+                melhor = Math.min(melhor, System.nanoTime() - inicio);
+            }
+            double ms = melhor / 1_000_000.0;
+            if (paralelismo == 1) {
+                base = ms;
+            }
+            double ganho = base / ms;
+            System.out.println(String.format("%10d %12.1f %9.2fx %11.0f%% %8s", paralelismo, ms, ganho,
+                100 * ganho / paralelismo, iguais(referencia, resultado) ? "OK" : "DIFERENTE"));
+        }
+        System.out.println();
+        System.out.println(String.format("Jaccard médio: %.4f", referencia.jaccardMedio()));
+    }
+
+    private static boolean iguais(MotorSimilaridade a, MotorSimilaridade b) {
+        for (int i = 0; i < a.quantidade(); i++) {
+            for (int j = i + 1; j < a.quantidade(); j++) {
+                if (a.intersecao(i, j) != b.intersecao(i, j) || a.jaccard(i, j) != b.jaccard(i, j)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static int argumento(String[] args, int posicao, int padrao) {
+        if (args.length <= posicao) {
+            return padrao;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(args[posicao]));
+        } catch (NumberFormatException e) {
+            System.out.println("Argumento inválido '" + args[posicao] + "', usando " + padrao);
+            return padrao;
+        }
+    }
+}
@@ -0,0 +1,733 @@
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * ============================================================================
+ *             BITMAP COMPACTADO (ESTILO ROARING) PARA INTEIROS
+ * ============================================================================
+ *
+ * Conjunto imutável de inteiros dividido em blocos de 65.536 valores
+ * (os 16 bits altos de cada número escolhem o bloco). Cada bloco usa o
+ * contêiner mais econômico para o seu conteúdo:
+ *
+ * <ul>
+ *   <li>📋 ARRAY  - até 4.096 valores esparsos (2 bytes por valor)</li>
+ *   <li>🧮 BITMAP - blocos densos: 1.024 palavras de 64 bits (8 KB fixos)</li>
+ *   <li>📏 RUNS   - faixas contínuas (início + comprimento, 4 bytes por faixa)</li>
+ * </ul>
+ *
+ * Exemplo: os IDs 1..5.000.000 com alguns buracos ocupam poucos KB em
+ * contêineres de faixas, contra ~200 MB num {@code TreeSet<Integer>}.
+ *
+ * As operações E (∩), OU (∪) e E-NÃO (-) trabalham bloco a bloco; entre
+ * bitmaps elas são feitas palavra a palavra (64 valores por instrução).
+ *
+ * @author Sistema TGC - Módulo Conjuntos
+ * @version 2.0 - Bitmaps Compactados
+ * @since 2025
+ * ============================================================================
+ */
+public final class BitmapCompactado {
+
+    // Acima disso um bloco deixa de ser array e vira bitmap
+    private static final int LIMITE_ARRAY = 4096;
+    private static final int PALAVRAS = 1024;
+    private static final int BYTES_BITMAP = PALAVRAS * 8;
+
+    private static final BitmapCompactado VAZIO = new BitmapCompactado(new char[0], new Conteiner[0]);
+
+    // Chaves (16 bits altos, sem sinal) em ordem crescente e seus contêineres
+    private final char[] chaves;
+    private final Conteiner[] conteineres;
+    private final long cardinalidade;
+
+    private BitmapCompactado(char[] chaves, Conteiner[] conteineres) {
+        this.chaves = chaves;
+        this.conteineres = conteineres;
+        long total = 0;
+        for (Conteiner c : conteineres) {
+            total += c.cardinalidade();
+        }
+        this.cardinalidade = total;
+    }
+
+    // ===== CRIAÇÃO =====
+
+    public static BitmapCompactado vazio() {
+        return VAZIO;
+    }
+
+    /**
+     * Cria a partir de um conjunto de inteiros já ordenado
+     */
+    public static BitmapCompactado de(ConjuntoInteiros conjunto) {
+        int n = conjunto.tamanho();
+        if (n == 0) {
+            return VAZIO;
+        }
+
+        List<Character> chavesLista = new ArrayList<>();
+        List<Conteiner> lista = new ArrayList<>();
+        char[] bloco = new char[Math.min(n, 65536)];
+
+        int i = 0;
+        while (i < n) {
+            int chave = semSinal(conjunto.valor(i)) >>> 16;
+            int quantidade = 0;
+            while (i < n && (semSinal(conjunto.valor(i)) >>> 16) == chave) {
+                bloco[quantidade++] = (char) semSinal(conjunto.valor(i));
+                i++;
+            }
+            chavesLista.add((char) chave);
+            lista.add(criarConteiner(bloco, quantidade));
+        }
+
+        char[] chaves = new char[chavesLista.size()];
+        for (int k = 0; k < chaves.length; k++) {
+            chaves[k] = chavesLista.get(k);
+        }
+        return new BitmapCompactado(chaves, lista.toArray(new Conteiner[0]));
+    }
+
+    /**
+     * Contêiner inicial para valores baixos ordenados (depois é otimizado)
+     */
+    private static Conteiner criarConteiner(char[] valores, int quantidade) {
+        if (quantidade <= LIMITE_ARRAY) {
+            return new ConteinerArray(Arrays.copyOf(valores, quantidade)).otimizar();
+        }
+        long[] palavras = new long[PALAVRAS];
+        for (int i = 0; i < quantidade; i++) {
+            palavras[valores[i] >>> 6] |= 1L << valores[i];
+        }
+        return new ConteinerBitmap(palavras, quantidade).otimizar();
+    }
+
+    /**
+     * Inverte o bit de sinal: a ordem sem sinal passa a ser a ordem numérica
+     */
+    private static int semSinal(int valor) {
+        return valor ^ Integer.MIN_VALUE;
+    }
+
+    // ===== CONSULTAS =====
+
+    public long cardinalidade() {
+        return cardinalidade;
+    }
+
+    public boolean estaVazio() {
+        return cardinalidade == 0;
+    }
+
+    public boolean contem(int valor) {
+        int u = semSinal(valor);
+        int pos = Arrays.binarySearch(chaves, (char) (u >>> 16));
+        return pos >= 0 && conteineres[pos].contem((char) u);
+    }
+
+    public int minimo() {
+        if (estaVazio()) {
+            throw new NoSuchElementException("Conjunto vazio");
+        }
+        return semSinal((chaves[0] << 16) | conteineres[0].minimo());
+    }
+
+    public int maximo() {
+        if (estaVazio()) {
+            throw new NoSuchElementException("Conjunto vazio");
+        }
+        int ultimo = chaves.length - 1;
+        return semSinal((chaves[ultimo] << 16) | conteineres[ultimo].maximo());
+    }
+
+    /**
+     * Percorre os valores em ordem crescente
+     */
+    public void paraCada(IntConsumer acao) {
+        for (int i = 0; i < chaves.length; i++) {
+            conteineres[i].paraCada(chaves[i] << 16, acao);
+        }
+    }
+
+    /**
+     * Percorre, em ordem crescente, só os valores das posições [de, ate).
+     * Blocos inteiros fora da faixa são pulados pela cardinalidade.
+     */
+    public void paraCadaEntre(long de, long ate, IntConsumer acao) {
+        long posicao = 0;
+        for (int i = 0; i < chaves.length && posicao < ate; i++) {
+            int n = conteineres[i].cardinalidade();
+            if (posicao + n > de) {
+                long[] atual = {posicao};
+                conteineres[i].paraCada(chaves[i] << 16, v -> {
+                    if (atual[0] >= de && atual[0] < ate) {
+                        acao.accept(v);
+                    }
+                    atual[0]++;
+                });
+            }
+            posicao += n;
+        }
+    }
+
+    /**
+     * Converte de volta para um conjunto de inteiros (int[])
+     */
+    public ConjuntoInteiros paraConjuntoInteiros() {
+        ConjuntoInteiros.Construtor construtor = new ConjuntoInteiros.Construtor();
+        paraCada(construtor::adicionar);
+        return construtor.construir();
+    }
+
+    /**
+     * Memória aproximada ocupada pelos contêineres (em bytes)
+     */
+    public long bytesEstimados() {
+        long total = chaves.length * 2L;
+        for (Conteiner c : conteineres) {
+            total += c.bytes() + 16;
+        }
+        return total;
+    }
+
+    /**
+     * Resumo dos tipos de contêiner usados, ex: "2 runs, 1 array"
+     */
+    public String descreverConteineres() {
+        int arrays = 0, bitmaps = 0, runs = 0;
+        for (Conteiner c : conteineres) {
+            if (c instanceof ConteinerArray) arrays++;
+            else if (c instanceof ConteinerBitmap) bitmaps++;
+            else runs++;
+        }
+        List<String> partes = new ArrayList<>();
+        if (runs > 0) partes.add(runs + " runs");
+        if (bitmaps > 0) partes.add(bitmaps + " bitmap");
+        if (arrays > 0) partes.add(arrays + " array");
+        return partes.isEmpty() ? "vazio" : String.join(", ", partes);
+    }
+
+    // ===== OPERAÇÕES =====
+
+    /**
+     * UNIÃO (A ∪ B) - OU bloco a bloco
+     */
+    public BitmapCompactado uniao(BitmapCompactado outro) {
+        if (outro.estaVazio()) return this;
+        if (estaVazio()) return outro;
+
+        char[] novasChaves = new char[chaves.length + outro.chaves.length];
+        Conteiner[] novos = new Conteiner[novasChaves.length];
+        int i = 0, j = 0, k = 0;
+
+        while (i < chaves.length && j < outro.chaves.length) {
+            if (chaves[i] < outro.chaves[j]) {
+                novasChaves[k] = chaves[i];
+                novos[k++] = conteineres[i++];
+            } else if (chaves[i] > outro.chaves[j]) {
+                novasChaves[k] = outro.chaves[j];
+                novos[k++] = outro.conteineres[j++];
+            } else {
+                novasChaves[k] = chaves[i];
+                novos[k++] = conteineres[i++].ou(outro.conteineres[j++]);
+            }
+        }
+        while (i < chaves.length) {
+            novasChaves[k] = chaves[i];
+            novos[k++] = conteineres[i++];
+        }
+        while (j < outro.chaves.length) {
+            novasChaves[k] = outro.chaves[j];
+            novos[k++] = outro.conteineres[j++];
+        }
+
+        return new BitmapCompactado(Arrays.copyOf(novasChaves, k), Arrays.copyOf(novos, k));
+    }
+
+    /**
+     * INTERSEÇÃO (A ∩ B) - E bloco a bloco, só nas chaves em comum
+     */
+    public BitmapCompactado intersecao(BitmapCompactado outro) {
+        int max = Math.min(chaves.length, outro.chaves.length);
+        char[] novasChaves = new char[max];
+        Conteiner[] novos = new Conteiner[max];
+        int i = 0, j = 0, k = 0;
+
+        while (i < chaves.length && j < outro.chaves.length) {
+            if (chaves[i] < outro.chaves[j]) {
+                i++;
+            } else if (chaves[i] > outro.chaves[j]) {
+                j++;
+            } else {
+                Conteiner resultado = conteineres[i].e(outro.conteineres[j]);
+                if (resultado.cardinalidade() > 0) {
+                    novasChaves[k] = chaves[i];
+                    novos[k++] = resultado;
+                }
+                i++;
+                j++;
+            }
+        }
+
+        return k == 0 ? VAZIO : new BitmapCompactado(Arrays.copyOf(novasChaves, k), Arrays.copyOf(novos, k));
+    }
+
+    /**
+     * DIFERENÇA (A - B) - E-NÃO bloco a bloco
+     */
+    public BitmapCompactado diferenca(BitmapCompactado outro) {
+        if (estaVazio() || outro.estaVazio()) return this;
+
+        char[] novasChaves = new char[chaves.length];
+        Conteiner[] novos = new Conteiner[chaves.length];
+        int i = 0, j = 0, k = 0;
+
+        while (i < chaves.length) {
+            while (j < outro.chaves.length && outro.chaves[j] < chaves[i]) {
+                j++;
+            }
+            Conteiner resultado = conteineres[i];
+            if (j < outro.chaves.length && outro.chaves[j] == chaves[i]) {
+                resultado = resultado.eNao(outro.conteineres[j]);
+            }
+            if (resultado.cardinalidade() > 0) {
+                novasChaves[k] = chaves[i];
+                novos[k++] = resultado;
+            }
+            i++;
+        }
+
+        return k == 0 ? VAZIO : new BitmapCompactado(Arrays.copyOf(novasChaves, k), Arrays.copyOf(novos, k));
+    }
+
+    /**
+     * |A ∩ B| sem construir o resultado
+     */
+    public long cardinalidadeIntersecao(BitmapCompactado outro) {
+        long total = 0;
+        int i = 0, j = 0;
+        while (i < chaves.length && j < outro.chaves.length) {
+            if (chaves[i] < outro.chaves[j]) {
+                i++;
+            } else if (chaves[i] > outro.chaves[j]) {
+                j++;
+            } else {
+                total += conteineres[i].cardinalidadeE(outro.conteineres[j]);
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    // ===== AUXILIARES =====
+
+    @Override
+    public boolean equals(Object outro) {
+        if (this == outro) return true;
+        if (!(outro instanceof BitmapCompactado)) return false;
+        BitmapCompactado b = (BitmapCompactado) outro;
+        return cardinalidade == b.cardinalidade && cardinalidadeIntersecao(b) == cardinalidade;
+    }
+
+    @Override
+    public int hashCode() {
+        int[] hash = {1};
+        paraCada(v -> hash[0] = 31 * hash[0] + v);
+        return hash[0];
+    }
+
+    /**
+     * Mesmo formato do toString de TreeSet: [1, 2, 3]
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        paraCada(v -> {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(v);
+        });
+        return sb.append(']').toString();
+    }
+
+    // ========================================================================
+    //                              CONTÊINERES
+    // ========================================================================
+
+    /**
+     * Um bloco de até 65.536 valores baixos (16 bits, sem sinal)
+     */
+    private abstract static class Conteiner {
+        abstract int cardinalidade();
+        abstract boolean contem(char valor);
+        abstract char minimo();
+        abstract char maximo();
+        abstract int bytes();
+        abstract void paraCada(int base, IntConsumer acao);
+
+        /** Cópia em palavras de 64 bits (sempre um array novo, pode ser alterado) */
+        abstract long[] paraPalavras();
+
+        Conteiner e(Conteiner outro) {
+            if (outro instanceof ConteinerArray) {
+                return outro.e(this);
+            }
+            long[] palavras = paraPalavras();
+            if (outro instanceof ConteinerBitmap) {
+                long[] b = ((ConteinerBitmap) outro).palavras;
+                for (int i = 0; i < PALAVRAS; i++) palavras[i] &= b[i];
+            } else {
+                long[] b = outro.paraPalavras();
+                for (int i = 0; i < PALAVRAS; i++) palavras[i] &= b[i];
+            }
+            return deBits(palavras);
+        }
+
+        Conteiner ou(Conteiner outro) {
+            long[] palavras = paraPalavras();
+            outro.ligarEm(palavras);
+            return deBits(palavras);
+        }
+
+        Conteiner eNao(Conteiner outro) {
+            long[] palavras = paraPalavras();
+            outro.desligarEm(palavras);
+            return deBits(palavras);
+        }
+
+        int cardinalidadeE(Conteiner outro) {
+            if (outro instanceof ConteinerArray) {
+                return outro.cardinalidadeE(this);
+            }
+            long[] a = paraPalavras();
+            long[] b = outro instanceof ConteinerBitmap ? ((ConteinerBitmap) outro).palavras : outro.paraPalavras();
+            int total = 0;
+            for (int i = 0; i < PALAVRAS; i++) total += Long.bitCount(a[i] & b[i]);
+            return total;
+        }
+
+        /** Liga em {@code palavras} os bits deste contêiner (OU) */
+        abstract void ligarEm(long[] palavras);
+
+        /** Desliga em {@code palavras} os bits deste contêiner (E-NÃO) */
+        abstract void desligarEm(long[] palavras);
+    }
+
+    /**
+     * ARRAY - valores ordenados, para blocos esparsos
+     */
+    private static final class ConteinerArray extends Conteiner {
+        final char[] valores;
+
+        ConteinerArray(char[] valores) {
+            this.valores = valores;
+        }
+
+        int cardinalidade() { return valores.length; }
+        char minimo() { return valores[0]; }
+        char maximo() { return valores[valores.length - 1]; }
+        int bytes() { return valores.length * 2; }
+
+        boolean contem(char valor) {
+            return Arrays.binarySearch(valores, valor) >= 0;
+        }
+
+        void paraCada(int base, IntConsumer acao) {
+            for (char v : valores) acao.accept(semSinal(base | v));
+        }
+
+        long[] paraPalavras() {
+            long[] palavras = new long[PALAVRAS];
+            ligarEm(palavras);
+            return palavras;
+        }
+
+        void ligarEm(long[] palavras) {
+            for (char v : valores) palavras[v >>> 6] |= 1L << v;
+        }
+
+        void desligarEm(long[] palavras) {
+            for (char v : valores) palavras[v >>> 6] &= ~(1L << v);
+        }
+
+        @Override
+        Conteiner e(Conteiner outro) {
+            char[] saida = new char[valores.length];
+            int k = 0;
+            if (outro instanceof ConteinerArray) {
+                char[] b = ((ConteinerArray) outro).valores;
+                int i = 0, j = 0;
+                while (i < valores.length && j < b.length) {
+                    if (valores[i] < b[j]) i++;
+                    else if (valores[i] > b[j]) j++;
+                    else { saida[k++] = valores[i++]; j++; }
+                }
+            } else {
+                for (char v : valores) {
+                    if (outro.contem(v)) saida[k++] = v;
+                }
+            }
+            return new ConteinerArray(Arrays.copyOf(saida, k));
+        }
+
+        @Override
+        Conteiner ou(Conteiner outro) {
+            if (outro instanceof ConteinerArray) {
+                char[] b = ((ConteinerArray) outro).valores;
+                if (valores.length + b.length <= LIMITE_ARRAY) {
+                    char[] saida = new char[valores.length + b.length];
+                    int i = 0, j = 0, k = 0;
+                    while (i < valores.length && j < b.length) {
+                        if (valores[i] < b[j]) saida[k++] = valores[i++];
+                        else if (valores[i] > b[j]) saida[k++] = b[j++];
+                        else { saida[k++] = valores[i++]; j++; }
+                    }
+                    while (i < valores.length) saida[k++] = valores[i++];
+                    while (j < b.length) saida[k++] = b[j++];
+                    return new ConteinerArray(Arrays.copyOf(saida, k)).otimizar();
+                }
+            }
+            return super.ou(outro);
+        }
+
+        @Override
+        Conteiner eNao(Conteiner outro) {
+            char[] saida = new char[valores.length];
+            int k = 0;
+            for (char v : valores) {
+                if (!outro.contem(v)) saida[k++] = v;
+            }
+            return new ConteinerArray(Arrays.copyOf(saida, k));
+        }
+
+        @Override
+        int cardinalidadeE(Conteiner outro) {
+            int total = 0;
+            for (char v : valores) {
+                if (outro.contem(v)) total++;
+            }
+            return total;
+        }
+
+        /**
+         * Troca por runs quando os valores formam poucas faixas contínuas
+         */
+        Conteiner otimizar() {
+            int faixas = valores.length == 0 ? 0 : 1;
+            for (int i = 1; i < valores.length; i++) {
+                if (valores[i] != valores[i - 1] + 1) faixas++;
+            }
+            if (faixas * 4 < bytes()) {
+                return deBits(paraPalavras());
+            }
+            return this;
+        }
+    }
+
+    /**
+     * BITMAP - 65.536 bits em 1.024 palavras, para blocos densos
+     */
+    private static final class ConteinerBitmap extends Conteiner {
+        final long[] palavras;
+        final int cardinalidade;
+
+        ConteinerBitmap(long[] palavras, int cardinalidade) {
+            this.palavras = palavras;
+            this.cardinalidade = cardinalidade;
+        }
+
+        int cardinalidade() { return cardinalidade; }
+        int bytes() { return BYTES_BITMAP; }
+
+        boolean contem(char valor) {
+            return (palavras[valor >>> 6] & (1L << valor)) != 0;
+        }
+
+        char minimo() {
+            return (char) proximoLigado(palavras, 0);
+        }
+
+        char maximo() {
+            for (int i = PALAVRAS - 1; i >= 0; i--) {
+                if (palavras[i] != 0) {
+                    return (char) (i * 64 + 63 - Long.numberOfLeadingZeros(palavras[i]));
+                }
+            }
+            throw new NoSuchElementException();
+        }
+
+        void paraCada(int base, IntConsumer acao) {
+            for (int i = 0; i < PALAVRAS; i++) {
+                long w = palavras[i];
+                while (w != 0) {
+                    int bit = Long.numberOfTrailingZeros(w);
+                    acao.accept(semSinal(base | (i * 64 + bit)));
+                    w &= w - 1;
+                }
+            }
+        }
+
+        long[] paraPalavras() {
+            return palavras.clone();
+        }
+
+        void ligarEm(long[] destino) {
+            for (int i = 0; i < PALAVRAS; i++) destino[i] |= palavras[i];
+        }
+
+        void desligarEm(long[] destino) {
+            for (int i = 0; i < PALAVRAS; i++) destino[i] &= ~palavras[i];
+        }
+
+        Conteiner otimizar() {
+            return deBits(palavras);
+        }
+    }
+
+    /**
+     * RUNS - faixas contínuas [inicio, inicio + comprimento]
+     */
+    private static final class ConteinerRuns extends Conteiner {
+        final char[] inicios;
+        final char[] comprimentos; // comprimento - 1 (cabe em 16 bits)
+        final int cardinalidade;
+
+        ConteinerRuns(char[] inicios, char[] comprimentos) {
+            this.inicios = inicios;
+            this.comprimentos = comprimentos;
+            int total = 0;
+            for (char c : comprimentos) total += c + 1;
+            this.cardinalidade = total;
+        }
+
+        int cardinalidade() { return cardinalidade; }
+        char minimo() { return inicios[0]; }
+        char maximo() { return (char) (inicios[inicios.length - 1] + comprimentos[comprimentos.length - 1]); }
+        int bytes() { return inicios.length * 4; }
+
+        boolean contem(char valor) {
+            int pos = Arrays.binarySearch(inicios, valor);
+            if (pos >= 0) return true;
+            int anterior = -pos - 2;
+            return anterior >= 0 && valor <= inicios[anterior] + comprimentos[anterior];
+        }
+
+        void paraCada(int base, IntConsumer acao) {
+            for (int r = 0; r < inicios.length; r++) {
+                int fim = inicios[r] + comprimentos[r];
+                for (int v = inicios[r]; v <= fim; v++) {
+                    acao.accept(semSinal(base | v));
+                }
+            }
+        }
+
+        long[] paraPalavras() {
+            long[] palavras = new long[PALAVRAS];
+            ligarEm(palavras);
+            return palavras;
+        }
+
+        void ligarEm(long[] palavras) {
+            for (int r = 0; r < inicios.length; r++) {
+                alterarIntervalo(palavras, inicios[r], inicios[r] + comprimentos[r], true);
+            }
+        }
+
+        void desligarEm(long[] palavras) {
+            for (int r = 0; r < inicios.length; r++) {
+                alterarIntervalo(palavras, inicios[r], inicios[r] + comprimentos[r], false);
+            }
+        }
+    }
+
+    // ===== ROTINAS SOBRE PALAVRAS DE 64 BITS =====
+
+    /**
+     * Escolhe o menor contêiner para os bits dados: array, bitmap ou runs
+     */
+    private static Conteiner deBits(long[] palavras) {
+        int cardinalidade = 0;
+        int faixas = 0;
+        long carry = 0;
+        for (int i = 0; i < PALAVRAS; i++) {
+            long w = palavras[i];
+            cardinalidade += Long.bitCount(w);
+            // Um bit ligado cujo antecessor está desligado inicia uma faixa
+            faixas += Long.bitCount(w & ~((w << 1) | carry));
+            carry = w >>> 63;
+        }
+
+        int bytesArray = cardinalidade * 2;
+        int bytesRuns = faixas * 4;
+
+        if (bytesRuns < Math.min(bytesArray, BYTES_BITMAP)) {
+            char[] inicios = new char[faixas];
+            char[] comprimentos = new char[faixas];
+            int r = 0;
+            int pos = proximoLigado(palavras, 0);
+            while (pos >= 0) {
+                int fim = proximoDesligado(palavras, pos);
+                inicios[r] = (char) pos;
+                comprimentos[r++] = (char) (fim - pos - 1);
+                pos = fim < 65536 ? proximoLigado(palavras, fim) : -1;
+            }
+            return new ConteinerRuns(inicios, comprimentos);
+        }
+
+        if (cardinalidade <= LIMITE_ARRAY) {
+            char[] valores = new char[cardinalidade];
+            int k = 0;
+            for (int i = 0; i < PALAVRAS; i++) {
+                long w = palavras[i];
+                while (w != 0) {
+                    valores[k++] = (char) (i * 64 + Long.numberOfTrailingZeros(w));
+                    w &= w - 1;
+                }
+            }
+            return new ConteinerArray(valores);
+        }
+
+        return new ConteinerBitmap(palavras, cardinalidade);
+    }
+
+    /**
+     * Liga ou desliga os bits de [inicio, fim] usando máscaras por palavra
+     */
+    private static void alterarIntervalo(long[] palavras, int inicio, int fim, boolean ligar) {
+        int primeira = inicio >>> 6;
+        int ultima = fim >>> 6;
+        for (int i = primeira; i <= ultima; i++) {
+            long mascara = -1L;
+            if (i == primeira) mascara &= -1L << inicio;
+            if (i == ultima) mascara &= -1L >>> (63 - (fim & 63));
+            if (ligar) {
+                palavras[i] |= mascara;
+            } else {
+                palavras[i] &= ~mascara;
+            }
+        }
+    }
+
+    private static int proximoLigado(long[] palavras, int desde) {
+        int i = desde >>> 6;
+        if (i >= PALAVRAS) return -1;
+        long w = palavras[i] & (-1L << desde);
+        while (true) {
+            if (w != 0) return i * 64 + Long.numberOfTrailingZeros(w);
+            if (++i == PALAVRAS) return -1;
+            w = palavras[i];
+        }
+    }
+
+    private static int proximoDesligado(long[] palavras, int desde) {
+        int i = desde >>> 6;
+        if (i >= PALAVRAS) return 65536;
+        long w = ~palavras[i] & (-1L << desde);
+        while (true) {
+            if (w != 0) return i * 64 + Long.numberOfTrailingZeros(w);
+            if (++i == PALAVRAS) return 65536;
+            w = ~palavras[i];
+        }
+    }
+}
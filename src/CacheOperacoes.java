@@ -0,0 +1,97 @@
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * ============================================================================
+ *                 CACHE DE RESULTADOS DE OPERAÇÕES (LRU)
+ * ============================================================================
+ *
+ * Guarda os últimos resultados de operações entre conjuntos nomeados para
+ * que repetir "A U B" não recalcule o conjunto. O resultado é imutável, então
+ * a mesma instância pode ser exibida quantas vezes for preciso.
+ *
+ * <h3>Como funciona:</h3>
+ * <ul>
+ *   <li>🔑 A chave é (operação, nome1, versão1, nome2, versão2)</li>
+ *   <li>🆕 Cada nome tem um contador de versão que sobe sempre que o
+ *       conjunto é substituído ou removido - uma entrada antiga nunca
+ *       volta a ser encontrada, mesmo que o nome seja reaproveitado</li>
+ *   <li>♻️ Capacidade fixa: ao encher, sai o resultado usado há mais tempo
+ *       (LinkedHashMap em ordem de acesso)</li>
+ *   <li>📊 Conta acertos e falhas para o usuário ver se o cache ajuda</li>
+ * </ul>
+ *
+ * @author Sistema TGC - Módulo Conjuntos
+ * @version 2.0 - Cache de Resultados
+ * @since 2025
+ * ============================================================================
+ */
+public final class CacheOperacoes {
+
+    private final int capacidade;
+    private final Map<List<Object>, ConjuntoNomeado> entradas;
+    private final Map<String, Long> versoes;
+    private long proximaVersao;
+    private long acertos;
+    private long falhas;
+
+    public CacheOperacoes(int capacidade) {
+        this.capacidade = capacidade;
+        this.entradas = new LinkedHashMap<List<Object>, ConjuntoNomeado>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, ConjuntoNomeado> maisAntiga) {
+                return size() > CacheOperacoes.this.capacidade;
+            }
+        };
+        this.versoes = new HashMap<>();
+    }
+
+    /**
+     * Resultado em cache, ou calculado (e guardado) se ainda não existir
+     */
+    public ConjuntoNomeado obter(String operacao, String nome1, String nome2, Supplier<ConjuntoNomeado> calculo) {
+        List<Object> chave = Arrays.asList(operacao, nome1, versao(nome1), nome2, versao(nome2));
+
+        ConjuntoNomeado resultado = entradas.get(chave);
+        if (resultado != null) {
+            acertos++;
+            return resultado;
+        }
+
+        falhas++;
+        resultado = calculo.get();
+        entradas.put(chave, resultado);
+        return resultado;
+    }
+
+    /**
+     * O conjunto com esse nome mudou (ou sumiu): nenhum resultado antigo
+     * envolvendo ele pode ser reaproveitado
+     */
+    public void invalidar(String nome) {
+        versoes.put(nome, ++proximaVersao);
+        entradas.keySet().removeIf(chave -> nome.equals(chave.get(1)) || nome.equals(chave.get(3)));
+    }
+
+    private long versao(String nome) {
+        return versoes.getOrDefault(nome, 0L);
+    }
+
+    // ===== ESTATÍSTICAS =====
+
+    public long acertos() {
+        return acertos;
+    }
+
+    public long falhas() {
+        return falhas;
+    }
+
+    public int tamanho() {
+        return entradas.size();
+    }
+
+    public int capacidade() {
+        return capacidade;
+    }
+}
@@ -0,0 +1,283 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * ============================================================================
+ *              CATÁLOGO DOS CONJUNTOS SALVOS (METADADOS EM UM ARQUIVO)
+ * ============================================================================
+ *
+ * Um único arquivo com os metadados de todos os .conjunto do diretório:
+ * nome do conjunto, tipo, cardinalidade, faixa (mínimo/máximo), tamanho
+ * e data de modificação. Listar e escolher arquivos lê só o catálogo -
+ * os arquivos de dados não são abertos.
+ *
+ * <h3>Sincronização:</h3>
+ * <ul>
+ *   <li>💾 Salvar, importar e excluir atualizam o catálogo na hora</li>
+ *   <li>🕵️ Mudanças feitas fora do sistema: o catálogo guarda a data de
+ *       modificação do DIRETÓRIO; se ela mudou (arquivos criados ou
+ *       apagados), o diretório é relido. Como sobrescrever um arquivo
+ *       existente não muda essa data, cada entrada também é conferida por
+ *       tamanho/data do próprio arquivo (só metadados do sistema de
+ *       arquivos) - só arquivos novos ou alterados são abertos</li>
+ *   <li>🛡️ Gravado em arquivo temporário + renomeação, com CRC no final;
+ *       catálogo ausente, corrompido ou de outra versão é reconstruído</li>
+ *   <li>🔤 Textos gravados como nos .conjunto (varint + UTF-8): um mínimo
+ *       ou máximo enorme não impede a gravação</li>
+ *   <li>🧵 Métodos sincronizados: atualizado pela thread de gravação
+ *       em segundo plano e lido pelo menu</li>
+ * </ul>
+ *
+ * @author Sistema TGC - Módulo Persistência
+ * @version 2.0 - Catálogo de Metadados
+ * @since 2025
+ * ============================================================================
+ */
+public final class CatalogoConjuntos {
+
+    private static final byte[] MAGICO = {'T', 'G', 'C', 'K'};
+    private static final byte VERSAO = 2;
+
+    /** Tipo de um arquivo cujo conteúdo não pôde ser lido */
+    public static final int TIPO_DESCONHECIDO = 0;
+
+    private final File diretorio;
+    private final File arquivo;
+    private final Map<String, Entrada> entradas = new TreeMap<>();
+    private long modificacaoDiretorio;
+
+    private CatalogoConjuntos(File diretorio, File arquivo) {
+        this.diretorio = diretorio;
+        this.arquivo = arquivo;
+    }
+
+    /**
+     * ABRIR o catálogo do diretório (criando ou atualizando se preciso)
+     */
+    public static CatalogoConjuntos abrir(File diretorio, File arquivo) throws IOException {
+        CatalogoConjuntos catalogo = new CatalogoConjuntos(diretorio, arquivo);
+        if (catalogo.ler()) {
+            catalogo.atualizarSeMudou();
+        } else {
+            catalogo.sincronizarComDiretorio();
+        }
+        return catalogo;
+    }
+
+    // ===== CONSULTAS =====
+
+    /**
+     * Entradas em ordem de nome de arquivo
+     */
+    public synchronized List<Entrada> entradas() {
+        return new ArrayList<>(entradas.values());
+    }
+
+    public synchronized int tamanho() {
+        return entradas.size();
+    }
+
+    // ===== ATUALIZAÇÕES =====
+
+    /**
+     * Um arquivo foi gravado (salvar/importar): lê só o cabeçalho dele
+     */
+    public synchronized void registrar(File arquivoConjunto) throws IOException {
+        entradas.put(arquivoConjunto.getName(), descrever(arquivoConjunto));
+        gravar();
+    }
+
+    /**
+     * Um arquivo foi excluído
+     */
+    public synchronized void remover(String nomeArquivo) throws IOException {
+        entradas.remove(nomeArquivo);
+        gravar();
+    }
+
+    /**
+     * Relê o diretório se a data de modificação dele mudou desde a última
+     * gravação do catálogo (arquivos criados ou apagados por fora); senão
+     * confere só tamanho e data de cada entrada (arquivos sobrescritos)
+     */
+    public synchronized void atualizarSeMudou() throws IOException {
+        if (diretorio.lastModified() != modificacaoDiretorio) {
+            sincronizarComDiretorio();
+            return;
+        }
+        boolean mudou = false;
+        for (Entrada atual : new ArrayList<>(entradas.values())) {
+            File arquivoConjunto = new File(diretorio, atual.arquivo);
+            if (!arquivoConjunto.isFile()) {
+                entradas.remove(atual.arquivo);
+                mudou = true;
+            } else if (desatualizada(atual, arquivoConjunto)) {
+                entradas.put(atual.arquivo, descrever(arquivoConjunto));
+                mudou = true;
+            }
+        }
+        if (mudou) {
+            gravar();
+        }
+    }
+
+    /**
+     * Confere o diretório: entra o que é novo ou mudou, sai o que sumiu
+     */
+    public synchronized void sincronizarComDiretorio() throws IOException {
+        String[] nomes = diretorio.list((d, nome) -> nome.endsWith(".conjunto"));
+        Set<String> presentes = new HashSet<>(Arrays.asList(nomes == null ? new String[0] : nomes));
+
+        entradas.keySet().retainAll(presentes);
+        for (String nome : presentes) {
+            File arquivoConjunto = new File(diretorio, nome);
+            Entrada atual = entradas.get(nome);
+            if (atual == null || desatualizada(atual, arquivoConjunto)) {
+                entradas.put(nome, descrever(arquivoConjunto));
+            }
+        }
+        gravar();
+    }
+
+    private static boolean desatualizada(Entrada entrada, File arquivoConjunto) {
+        return entrada.tamanho != arquivoConjunto.length() || entrada.modificado != arquivoConjunto.lastModified();
+    }
+
+    /**
+     * Metadados de um arquivo: cabeçalho do binário, ou linhas NOME=/TIPO=/
+     * ELEMENTOS= do formato texto antigo
+     */
+    private static Entrada descrever(File arquivoConjunto) {
+        long tamanho = arquivoConjunto.length();
+        long modificado = arquivoConjunto.lastModified();
+
+        if (ArquivoConjunto.eBinario(arquivoConjunto)) {
+            try {
+                ArquivoConjunto.Cabecalho cabecalho = ArquivoConjunto.lerCabecalho(arquivoConjunto);
+                return new Entrada(arquivoConjunto.getName(), cabecalho.nome, cabecalho.tipo, cabecalho.quantidade,
+                    cabecalho.minimo, cabecalho.maximo, tamanho, modificado);
+            } catch (IOException e) {
+                return new Entrada(arquivoConjunto.getName(), "", TIPO_DESCONHECIDO, -1, "", "", tamanho, modificado);
+            }
+        }
+
+        String nome = "";
+        int tipo = TIPO_DESCONHECIDO;
+        int quantidade = -1;
+        try (BufferedReader reader = new BufferedReader(new FileReader(arquivoConjunto))) {
+            String linha;
+            while ((linha = reader.readLine()) != null) {
+                if (linha.startsWith("NOME=")) {
+                    nome = linha.substring(5);
+                } else if (linha.startsWith("TIPO=")) {
+                    tipo = Integer.parseInt(linha.substring(5).trim());
+                } else if (linha.startsWith("ELEMENTOS=")) {
+                    String elementos = linha.substring(10).trim();
+                    quantidade = elementos.isEmpty() ? 0 : elementos.split("\\s*,\\s*|\\s+").length;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Fica com o que deu para ler
+        }
+        return new Entrada(arquivoConjunto.getName(), nome, tipo, quantidade, "", "", tamanho, modificado);
+    }
+
+    // ===== ARQUIVO DO CATÁLOGO =====
+
+    private void gravar() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream saida = new DataOutputStream(bytes);
+        saida.write(MAGICO);
+        saida.writeByte(VERSAO);
+        saida.writeLong(diretorio.lastModified());
+        saida.writeInt(entradas.size());
+        for (Entrada entrada : entradas.values()) {
+            ArquivoConjunto.escreverTexto(saida, entrada.arquivo);
+            ArquivoConjunto.escreverTexto(saida, entrada.nome);
+            saida.writeByte(entrada.tipo);
+            saida.writeInt(entrada.cardinalidade);
+            ArquivoConjunto.escreverTexto(saida, entrada.minimo);
+            ArquivoConjunto.escreverTexto(saida, entrada.maximo);
+            saida.writeLong(entrada.tamanho);
+            saida.writeLong(entrada.modificado);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        saida.writeInt((int) crc.getValue());
+        saida.flush();
+
+        File temporario = new File(arquivo.getPath() + ".tmp");
+        Files.write(temporario.toPath(), bytes.toByteArray());
+        Files.move(temporario.toPath(), arquivo.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        modificacaoDiretorio = diretorio.lastModified();
+    }
+
+    /**
+     * Lê o catálogo; false se não existir ou estiver corrompido
+     */
+    private boolean ler() {
+        if (!arquivo.exists()) {
+            return false;
+        }
+        try {
+            byte[] bytes = Files.readAllBytes(arquivo.toPath());
+            if (bytes.length < 4) {
+                return false;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes, 0, bytes.length - 4);
+            if ((int) crc.getValue() != ByteBuffer.wrap(bytes, bytes.length - 4, 4).getInt()) {
+                return false;
+            }
+
+            DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - 4));
+            byte[] magico = new byte[MAGICO.length];
+            entrada.readFully(magico);
+            if (!Arrays.equals(magico, MAGICO) || entrada.readByte() != VERSAO) {
+                return false;
+            }
+            modificacaoDiretorio = entrada.readLong();
+            for (int i = 0, n = entrada.readInt(); i < n; i++) {
+                Entrada lida = new Entrada(ArquivoConjunto.lerTexto(entrada, bytes.length),
+                    ArquivoConjunto.lerTexto(entrada, bytes.length), entrada.readByte(), entrada.readInt(),
+                    ArquivoConjunto.lerTexto(entrada, bytes.length), ArquivoConjunto.lerTexto(entrada, bytes.length),
+                    entrada.readLong(), entrada.readLong());
+                entradas.put(lida.arquivo, lida);
+            }
+            return true;
+        } catch (IOException e) {
+            entradas.clear();
+            return false;
+        }
+    }
+
+    /**
+     * Metadados de um arquivo .conjunto
+     */
+    public static final class Entrada {
+        public final String arquivo;       // nome do arquivo no diretório
+        public final String nome;          // nome do conjunto
+        public final int tipo;             // ArquivoConjunto.TIPO_* ou TIPO_DESCONHECIDO
+        public final int cardinalidade;    // -1 se desconhecida
+        public final String minimo;        // "" se desconhecido
+        public final String maximo;
+        public final long tamanho;         // bytes
+        public final long modificado;      // data de modificação (ms)
+
+        private Entrada(String arquivo, String nome, int tipo, int cardinalidade,
+                        String minimo, String maximo, long tamanho, long modificado) {
+            this.arquivo = arquivo;
+            this.nome = nome;
+            this.tipo = tipo;
+            this.cardinalidade = cardinalidade;
+            this.minimo = minimo;
+            this.maximo = maximo;
+            this.tamanho = tamanho;
+            this.modificado = modificado;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * ============================================================================
+ *                  CONJUNTO DE DECIMAIS PRIMITIVOS (double[])
+ * ============================================================================
+ *
+ * Conjunto imutável de números decimais guardado num {@code double[]}
+ * ordenado e sem repetições - 8 bytes por elemento, sem boxing.
+ *
+ * <h3>Semântica de igualdade e ordem (a mesma de {@link Double#compare}):</h3>
+ * <ul>
+ *   <li>-∞ &lt; ... &lt; -0.0 &lt; 0.0 &lt; ... &lt; +∞ &lt; NaN</li>
+ *   <li>-0.0 e 0.0 são elementos DIFERENTES (o conjunto pode ter os dois)</li>
+ *   <li>Todo NaN é o mesmo elemento: o conjunto guarda no máximo um NaN,
+ *       sempre na última posição</li>
+ * </ul>
+ * É o mesmo comportamento que um {@code TreeSet<Double>} já tinha.
+ *
+ * <h3>Estatísticas:</h3>
+ * Soma, média, mínimo e máximo numa única passada pelo array primitivo,
+ * IGNORANDO o NaN (que é informado à parte). A soma é compensada
+ * (Kahan-Neumaier) para não perder precisão com muitos valores.
+ *
+ * @author Sistema TGC - Módulo Multi-Tipo
+ * @version 2.0 - Decimais Primitivos
+ * @since 2025
+ * ============================================================================
+ */
+public final class ConjuntoDecimais {
+
+    private static final ConjuntoDecimais VAZIO = new ConjuntoDecimais(new double[0]);
+
+    // Valores na ordem de Double.compare, sem repetições - nunca é alterado
+    private final double[] valores;
+
+    private ConjuntoDecimais(double[] valores) {
+        this.valores = valores;
+    }
+
+    // ===== CRIAÇÃO =====
+
+    public static ConjuntoDecimais vazio() {
+        return VAZIO;
+    }
+
+    /**
+     * Cria a partir de valores quaisquer (o array é copiado)
+     */
+    public static ConjuntoDecimais de(double... valores) {
+        return deArrayProprio(Arrays.copyOf(valores, valores.length), valores.length);
+    }
+
+    /**
+     * Ordena e remove repetições dentro do próprio array recebido.
+     * Arrays.sort(double[]) já usa a ordem total de Double.compare.
+     */
+    private static ConjuntoDecimais deArrayProprio(double[] dados, int quantidade) {
+        if (quantidade == 0) {
+            return VAZIO;
+        }
+
+        Arrays.sort(dados, 0, quantidade);
+        int escrita = 1;
+        for (int i = 1; i < quantidade; i++) {
+            if (comparar(dados[i], dados[escrita - 1]) != 0) {
+                dados[escrita++] = dados[i];
+            }
+        }
+        // Qualquer NaN que sobrou vira o NaN canônico
+        if (Double.isNaN(dados[escrita - 1])) {
+            dados[escrita - 1] = Double.NaN;
+        }
+        return new ConjuntoDecimais(escrita == dados.length ? dados : Arrays.copyOf(dados, escrita));
+    }
+
+    /**
+     * LER de texto (elementos separados por espaço). Trechos inválidos são
+     * repassados a {@code aoIgnorar} para o chamador avisar o usuário.
+     */
+    public static ConjuntoDecimais lerDeTexto(String texto, Consumer<String> aoIgnorar) {
+        Construtor construtor = new Construtor();
+        int n = texto.length();
+        int i = 0;
+
+        while (i < n) {
+            while (i < n && texto.charAt(i) <= ' ') i++;
+            if (i >= n) break;
+
+            int inicio = i;
+            while (i < n && texto.charAt(i) > ' ') i++;
+
+            String trecho = texto.substring(inicio, i);
+            try {
+                construtor.adicionar(Double.parseDouble(trecho));
+            } catch (NumberFormatException e) {
+                aoIgnorar.accept(trecho);
+            }
+        }
+
+        return construtor.construir();
+    }
+
+    /**
+     * CONSTRUTOR incremental sobre um double[] que cresce sob demanda
+     */
+    public static final class Construtor {
+        private double[] dados;
+        private int quantidade;
+
+        public Construtor() {
+            this(16);
+        }
+
+        /**
+         * Já reserva espaço quando a quantidade é conhecida (ex: leitura de arquivo)
+         */
+        public Construtor(int capacidadeInicial) {
+            this.dados = new double[Math.max(capacidadeInicial, 16)];
+        }
+
+        public Construtor adicionar(double valor) {
+            if (quantidade == dados.length) {
+                dados = Arrays.copyOf(dados, dados.length * 2);
+            }
+            dados[quantidade++] = valor;
+            return this;
+        }
+
+        public ConjuntoDecimais construir() {
+            ConjuntoDecimais conjunto = deArrayProprio(dados, quantidade);
+            dados = new double[16];
+            quantidade = 0;
+            return conjunto;
+        }
+    }
+
+    // ===== CONSULTAS =====
+
+    public int tamanho() {
+        return valores.length;
+    }
+
+    public boolean estaVazio() {
+        return valores.length == 0;
+    }
+
+    public double valor(int indice) {
+        return valores[indice];
+    }
+
+    public boolean contemNaN() {
+        return valores.length > 0 && Double.isNaN(valores[valores.length - 1]);
+    }
+
+    /**
+     * Pertinência na mesma semântica de Double.compare (NaN ∈ A se houver NaN)
+     */
+    public boolean contem(double valor) {
+        return Arrays.binarySearch(valores, valor) >= 0;
+    }
+
+    /**
+     * SOMA, MÉDIA, MÍNIMO e MÁXIMO numa única passada (NaN fica de fora)
+     */
+    public Estatisticas estatisticas() {
+        int n = contemNaN() ? valores.length - 1 : valores.length;
+        double soma = 0.0;
+        double compensacao = 0.0;
+        double minimo = Double.NaN;
+        double maximo = Double.NaN;
+
+        for (int i = 0; i < n; i++) {
+            double v = valores[i];
+            if (i == 0) minimo = v;
+            maximo = v;
+
+            // Soma compensada de Neumaier
+            double t = soma + v;
+            if (Math.abs(soma) >= Math.abs(v)) {
+                compensacao += (soma - t) + v;
+            } else {
+                compensacao += (v - t) + soma;
+            }
+            soma = t;
+        }
+
+        double total = soma + compensacao;
+        if (Double.isNaN(total) && !Double.isNaN(soma)) {
+            total = soma; // +∞ e -∞ juntos: a compensação não faz sentido
+        }
+        return new Estatisticas(n, total, minimo, maximo, contemNaN());
+    }
+
+    /**
+     * Resultado de {@link #estatisticas()}
+     */
+    public static final class Estatisticas {
+        public final int quantidade;   // elementos considerados (sem NaN)
+        public final double soma;
+        public final double media;     // NaN se não houver elementos
+        public final double minimo;    // NaN se não houver elementos
+        public final double maximo;    // NaN se não houver elementos
+        public final boolean contemNaN;
+
+        private Estatisticas(int quantidade, double soma, double minimo, double maximo, boolean contemNaN) {
+            this.quantidade = quantidade;
+            this.soma = soma;
+            this.media = quantidade == 0 ? Double.NaN : soma / quantidade;
+            this.minimo = minimo;
+            this.maximo = maximo;
+            this.contemNaN = contemNaN;
+        }
+    }
+
+    // ===== OPERAÇÕES =====
+
+    public ConjuntoDecimais uniao(ConjuntoDecimais outro) {
+        if (outro.estaVazio()) return this;
+        if (estaVazio()) return outro;
+
+        double[] a = valores, b = outro.valores;
+        double[] saida = new double[a.length + b.length];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length && j < b.length) {
+            int cmp = comparar(a[i], b[j]);
+            if (cmp < 0) {
+                saida[k++] = a[i++];
+            } else if (cmp > 0) {
+                saida[k++] = b[j++];
+            } else {
+                saida[k++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) saida[k++] = a[i++];
+        while (j < b.length) saida[k++] = b[j++];
+        return new ConjuntoDecimais(k == saida.length ? saida : Arrays.copyOf(saida, k));
+    }
+
+    public ConjuntoDecimais intersecao(ConjuntoDecimais outro) {
+        double[] a = valores, b = outro.valores;
+        double[] saida = new double[Math.min(a.length, b.length)];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length && j < b.length) {
+            int cmp = comparar(a[i], b[j]);
+            if (cmp < 0) {
+                i++;
+            } else if (cmp > 0) {
+                j++;
+            } else {
+                saida[k++] = a[i++];
+                j++;
+            }
+        }
+        return k == 0 ? VAZIO : new ConjuntoDecimais(k == saida.length ? saida : Arrays.copyOf(saida, k));
+    }
+
+    public ConjuntoDecimais diferenca(ConjuntoDecimais outro) {
+        if (estaVazio() || outro.estaVazio()) return this;
+
+        double[] a = valores, b = outro.valores;
+        double[] saida = new double[a.length];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length && j < b.length) {
+            int cmp = comparar(a[i], b[j]);
+            if (cmp < 0) {
+                saida[k++] = a[i++];
+            } else if (cmp > 0) {
+                j++;
+            } else {
+                i++;
+                j++;
+            }
+        }
+        while (i < a.length) saida[k++] = a[i++];
+        return k == 0 ? VAZIO : new ConjuntoDecimais(k == saida.length ? saida : Arrays.copyOf(saida, k));
+    }
+
+    // ===== AUXILIARES =====
+
+    /**
+     * Double.compare com caminho rápido para o caso comum (valores
+     * distintos e não-NaN); empates, zeros e NaN caem na regra completa.
+     */
+    private static int comparar(double a, double b) {
+        if (a < b) return -1;
+        if (a > b) return 1;
+        return Double.compare(a, b);
+    }
+
+    @Override
+    public boolean equals(Object outro) {
+        if (this == outro) return true;
+        if (!(outro instanceof ConjuntoDecimais)) return false;
+        return Arrays.equals(valores, ((ConjuntoDecimais) outro).valores);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(valores);
+    }
+
+    /**
+     * Mesmo formato do toString de TreeSet: [1.5, 2.0]
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(valores.length * 6 + 2);
+        sb.append('[');
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(valores[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
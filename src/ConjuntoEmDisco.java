@@ -0,0 +1,328 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * ============================================================================
+ *        CONJUNTO SALVO CONSULTADO NO ARQUIVO (LEITURA POR BLOCOS)
+ * ============================================================================
+ *
+ * Abre um arquivo .conjunto binário, guarda só o cabeçalho e o índice de
+ * blocos e responde consultas lendo do arquivo apenas os blocos
+ * necessários: cada bloco é copiado para um buffer pequeno no heap e
+ * decodificado ali, sem carregar o conjunto em coleções Java.
+ *
+ * <h3>Consultas sobre o arquivo:</h3>
+ * <ul>
+ *   <li>📏 Cardinalidade, mínimo e máximo: lidos do cabeçalho</li>
+ *   <li>🔍 Pertinência: busca binária no índice de blocos e leitura e
+ *       decodificação de UM bloco (no máximo 4096 elementos); para
+ *       decimais, busca binária com leituras de 8 bytes</li>
+ *   <li>👀 Primeiros elementos: só os blocos do começo são lidos</li>
+ *   <li>🧾 {@link #conferirChecksum()}: o CRC de índice + dados é conferido
+ *       apenas quando pedido - ele obriga a ler o arquivo inteiro</li>
+ *   <li>📦 {@link #materializar()}: lê tudo numa passada, confere o CRC e
+ *       monta o conjunto completo no heap</li>
+ * </ul>
+ * As leituras são posicionais ({@code FileChannel.read(buffer, posição)})
+ * num {@link FileChannel} que fica aberto até {@link #close()}; depois
+ * disso nada segura o arquivo, que pode ser apagado ou sobrescrito (inclusive
+ * no Windows).
+ *
+ * @author Sistema TGC - Módulo Persistência
+ * @version 2.0 - Consulta em Disco
+ * @since 2025
+ * ============================================================================
+ */
+public final class ConjuntoEmDisco implements Closeable {
+
+    private static final int TAMANHO_LEITURA = 1 << 16;
+
+    private final FileChannel canal;
+    private final ArquivoConjunto.Cabecalho cabecalho;
+    private final long inicioIndice;
+    private final long inicioDados;
+
+    // Índice de blocos decodificado (um item a cada 4096 elementos)
+    private final int[] deslocamentos;
+    private final int[] primeirosInteiros;
+    private final String[] primeirosTextos;
+
+    private ConjuntoEmDisco(FileChannel canal, ArquivoConjunto.Cabecalho cabecalho, long inicioIndice,
+                            int[] deslocamentos, int[] primeirosInteiros, String[] primeirosTextos) {
+        this.canal = canal;
+        this.cabecalho = cabecalho;
+        this.inicioIndice = inicioIndice;
+        this.inicioDados = inicioIndice + cabecalho.bytesIndice;
+        this.deslocamentos = deslocamentos;
+        this.primeirosInteiros = primeirosInteiros;
+        this.primeirosTextos = primeirosTextos;
+    }
+
+    /**
+     * ABRIR um arquivo binário: lê cabeçalho e índice (o checksum não é
+     * conferido aqui - ver {@link #conferirChecksum()})
+     */
+    public static ConjuntoEmDisco abrir(File arquivo) throws IOException {
+        FileChannel canal = FileChannel.open(arquivo.toPath(), StandardOpenOption.READ);
+        try {
+            // Cabeçalho e índice são pequenos: lidos em sequência, contando os bytes
+            EntradaContada contagem = new EntradaContada(new BufferedInputStream(Channels.newInputStream(canal)));
+            DataInputStream entrada = new DataInputStream(contagem);
+            long tamanho = canal.size();
+            ArquivoConjunto.Cabecalho cabecalho = ArquivoConjunto.lerCabecalho(entrada, tamanho);
+            long inicioIndice = contagem.lidos;
+            if (inicioIndice + cabecalho.bytesIndice + cabecalho.bytesDados > tamanho) {
+                throw new IOException("arquivo corrompido (arquivo truncado)");
+            }
+
+            int blocos = cabecalho.blocos;
+            int[] deslocamentos = new int[blocos];
+            int[] primeirosInteiros = cabecalho.tipo == ArquivoConjunto.TIPO_INTEIROS ? new int[blocos] : null;
+            String[] primeirosTextos = cabecalho.tipo == ArquivoConjunto.TIPO_TEXTO ? new String[blocos] : null;
+            for (int b = 0; b < blocos; b++) {
+                deslocamentos[b] = entrada.readInt();
+                if (deslocamentos[b] < 0 || deslocamentos[b] > cabecalho.bytesDados
+                        || b > 0 && deslocamentos[b] < deslocamentos[b - 1]) {
+                    throw new IOException("arquivo corrompido (índice de blocos inválido)");
+                }
+                switch (cabecalho.tipo) {
+                    case ArquivoConjunto.TIPO_INTEIROS -> primeirosInteiros[b] = entrada.readInt();
+                    case ArquivoConjunto.TIPO_DECIMAIS -> entrada.readDouble();
+                    default -> primeirosTextos[b] = ArquivoConjunto.lerTexto(entrada, cabecalho.versao,
+                        cabecalho.bytesIndice);
+                }
+            }
+
+            return new ConjuntoEmDisco(canal, cabecalho, inicioIndice, deslocamentos, primeirosInteiros, primeirosTextos);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * CONFERIR o CRC32 de índice + dados (lê o arquivo inteiro, em pedaços)
+     */
+    public void conferirChecksum() throws IOException {
+        CRC32 crc = new CRC32();
+        ByteBuffer pedaco = ByteBuffer.allocate(TAMANHO_LEITURA);
+        long fim = inicioDados + cabecalho.bytesDados;
+        for (long posicao = inicioIndice; posicao < fim; ) {
+            pedaco.clear().limit((int) Math.min(pedaco.capacity(), fim - posicao));
+            lerCompleto(pedaco, posicao);
+            posicao += pedaco.limit();
+            crc.update(pedaco.flip());
+        }
+        if ((int) crc.getValue() != cabecalho.crc) {
+            throw new IOException("arquivo corrompido (checksum não confere)");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    // ===== CONSULTAS DIRETO NO ARQUIVO =====
+
+    public ArquivoConjunto.Cabecalho cabecalho() {
+        return cabecalho;
+    }
+
+    public int cardinalidade() {
+        return cabecalho.quantidade;
+    }
+
+    public String minimo() {
+        return cabecalho.minimo;
+    }
+
+    public String maximo() {
+        return cabecalho.maximo;
+    }
+
+    /**
+     * PERTINÊNCIA: o elemento (escrito como o usuário digitaria) está no conjunto?
+     * Um texto que não é número válido nunca pertence a um conjunto numérico.
+     */
+    public boolean contem(String elemento) throws IOException {
+        if (cabecalho.quantidade == 0) {
+            return false;
+        }
+        try {
+            return switch (cabecalho.tipo) {
+                case ArquivoConjunto.TIPO_INTEIROS -> contemInteiro(Integer.parseInt(elemento.trim()));
+                case ArquivoConjunto.TIPO_DECIMAIS -> contemDecimal(Double.parseDouble(elemento.trim()));
+                default -> contemTexto(elemento);
+            };
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private boolean contemInteiro(int valor) throws IOException {
+        int bloco = blocoDe(Arrays.binarySearch(primeirosInteiros, valor));
+        if (bloco < 0) {
+            return false;
+        }
+        ArquivoConjunto.Cursor cursor = cursorNoBloco(bloco);
+        for (int i = 0, n = elementosNoBloco(bloco); i < n; i++) {
+            int atual = cursor.proximoInteiro();
+            if (atual >= valor) {
+                return atual == valor;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Decimais têm tamanho fixo (8 bytes): busca binária lendo um double por passo
+     */
+    private boolean contemDecimal(double valor) throws IOException {
+        ByteBuffer oito = ByteBuffer.allocate(8);
+        int inicio = 0;
+        int fim = cabecalho.quantidade - 1;
+        while (inicio <= fim) {
+            int meio = (inicio + fim) >>> 1;
+            lerCompleto(oito.clear(), inicioDados + meio * 8L);
+            int cmp = Double.compare(Double.longBitsToDouble(oito.getLong(0)), valor);
+            if (cmp < 0) {
+                inicio = meio + 1;
+            } else if (cmp > 0) {
+                fim = meio - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean contemTexto(String texto) throws IOException {
+        int bloco = blocoDe(Arrays.binarySearch(primeirosTextos, texto));
+        if (bloco < 0) {
+            return false;
+        }
+        ArquivoConjunto.Cursor cursor = cursorNoBloco(bloco);
+        for (int i = 0, n = elementosNoBloco(bloco); i < n; i++) {
+            int cmp = cursor.proximoTexto().compareTo(texto);
+            if (cmp >= 0) {
+                return cmp == 0;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bloco que pode conter o valor, a partir do resultado de binarySearch
+     * sobre os primeiros elementos de cada bloco (-1 se nenhum)
+     */
+    private static int blocoDe(int posicao) {
+        return posicao >= 0 ? posicao : -posicao - 2;
+    }
+
+    /**
+     * PRIMEIROS elementos, decodificados um a um - só os blocos do começo
+     * são lidos do arquivo
+     */
+    public void paraCadaPrimeiros(int limite, Consumer<String> acao) throws IOException {
+        int n = Math.min(limite, cabecalho.quantidade);
+        ArquivoConjunto.Cursor cursor = null;
+        for (int i = 0; i < n; i++) {
+            if (i % cabecalho.porBloco == 0) {
+                cursor = cursorNoBloco(i / cabecalho.porBloco);
+            }
+            switch (cabecalho.tipo) {
+                case ArquivoConjunto.TIPO_INTEIROS -> acao.accept(Integer.toString(cursor.proximoInteiro()));
+                case ArquivoConjunto.TIPO_DECIMAIS -> acao.accept(Double.toString(cursor.proximoDecimal()));
+                default -> acao.accept(cursor.proximoTexto());
+            }
+        }
+    }
+
+    /**
+     * MATERIALIZAR: lê índice + dados numa passada, confere o checksum e
+     * decodifica todos os elementos para o heap
+     */
+    public ArquivoConjunto.Conteudo materializar() throws IOException {
+        ByteBuffer tudo = ByteBuffer.allocate(cabecalho.bytesIndice + cabecalho.bytesDados);
+        lerCompleto(tudo, inicioIndice);
+        CRC32 crc = new CRC32();
+        crc.update(tudo.flip().duplicate());
+        if ((int) crc.getValue() != cabecalho.crc) {
+            throw new IOException("arquivo corrompido (checksum não confere)");
+        }
+        return ArquivoConjunto.decodificar(cabecalho, tudo.position(cabecalho.bytesIndice).slice());
+    }
+
+    /**
+     * Bytes do arquivo ocupados por índice + elementos (o que
+     * {@link #materializar()} lê; as consultas leem só uma parte)
+     */
+    public long bytesEmDisco() {
+        return (long) cabecalho.bytesIndice + cabecalho.bytesDados;
+    }
+
+    // ===== AUXILIARES =====
+
+    /**
+     * Lê só os bytes de um bloco e posiciona um cursor no começo dele
+     */
+    private ArquivoConjunto.Cursor cursorNoBloco(int bloco) throws IOException {
+        int fim = bloco + 1 < deslocamentos.length ? deslocamentos[bloco + 1] : cabecalho.bytesDados;
+        ByteBuffer bytes = ByteBuffer.allocate(fim - deslocamentos[bloco]);
+        lerCompleto(bytes, inicioDados + deslocamentos[bloco]);
+        return new ArquivoConjunto.Cursor(cabecalho, bytes.flip(), bloco, 0);
+    }
+
+    private int elementosNoBloco(int bloco) {
+        return Math.min(cabecalho.porBloco, cabecalho.quantidade - bloco * cabecalho.porBloco);
+    }
+
+    /**
+     * Leitura posicional até encher o buffer (o canal não muda de posição)
+     */
+    private void lerCompleto(ByteBuffer destino, long posicao) throws IOException {
+        while (destino.hasRemaining()) {
+            int lidos = canal.read(destino, posicao);
+            if (lidos < 0) {
+                throw new IOException("arquivo corrompido (arquivo truncado)");
+            }
+            posicao += lidos;
+        }
+    }
+
+    /**
+     * InputStream que conta os bytes consumidos (para achar o fim do cabeçalho)
+     */
+    private static final class EntradaContada extends FilterInputStream {
+        long lidos;
+
+        EntradaContada(InputStream entrada) {
+            super(entrada);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                lidos++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] destino, int inicio, int quantidade) throws IOException {
+            int n = super.read(destino, inicio, quantidade);
+            if (n > 0) {
+                lidos += n;
+            }
+            return n;
+        }
+    }
+}
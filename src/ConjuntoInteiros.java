@@ -0,0 +1,327 @@
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * ============================================================================
+ *                   CONJUNTO DE INTEIROS PRIMITIVOS (int[])
+ * ============================================================================
+ *
+ * Conjunto imutável de números inteiros guardado num {@code int[]} ordenado
+ * e sem repetições. Cada elemento ocupa 4 bytes, contra 40+ bytes de um
+ * {@code Integer} dentro de um {@code TreeSet}: milhões de valores cabem
+ * num heap pequeno.
+ *
+ * <h3>Recursos:</h3>
+ * <ul>
+ *   <li>📥 Leitura direta do texto digitado, sem split nem boxing</li>
+ *   <li>⚡ União, interseção e diferença por intercalação em O(n + m)</li>
+ *   <li>♻️ Núcleos estáticos que escrevem num buffer do chamador
+ *       (nenhuma alocação por operação)</li>
+ *   <li>📏 Mínimo e máximo em O(1)</li>
+ * </ul>
+ *
+ * @author Sistema TGC - Módulo Multi-Tipo
+ * @version 2.0 - Inteiros Primitivos
+ * @since 2025
+ * ============================================================================
+ */
+public final class ConjuntoInteiros {
+
+    private static final ConjuntoInteiros VAZIO = new ConjuntoInteiros(new int[0]);
+
+    // Valores em ordem crescente, sem repetições - nunca é alterado
+    private final int[] valores;
+
+    private ConjuntoInteiros(int[] valores) {
+        this.valores = valores;
+    }
+
+    // ===== CRIAÇÃO =====
+
+    public static ConjuntoInteiros vazio() {
+        return VAZIO;
+    }
+
+    /**
+     * Cria a partir de valores quaisquer (o array é copiado)
+     */
+    public static ConjuntoInteiros de(int... valores) {
+        return deArrayProprio(Arrays.copyOf(valores, valores.length), valores.length);
+    }
+
+    /**
+     * Ordena e remove repetições dentro do próprio array recebido
+     */
+    private static ConjuntoInteiros deArrayProprio(int[] dados, int quantidade) {
+        if (quantidade == 0) {
+            return VAZIO;
+        }
+
+        Arrays.sort(dados, 0, quantidade);
+        int escrita = 1;
+        for (int i = 1; i < quantidade; i++) {
+            if (dados[i] != dados[escrita - 1]) {
+                dados[escrita++] = dados[i];
+            }
+        }
+        return new ConjuntoInteiros(escrita == dados.length ? dados : Arrays.copyOf(dados, escrita));
+    }
+
+    /**
+     * LER de texto (elementos separados por espaço).
+     *
+     * Percorre a string uma única vez e converte cada trecho direto para
+     * int, sem criar substrings para os números válidos. Trechos inválidos
+     * são repassados a {@code aoIgnorar} para o chamador avisar o usuário.
+     */
+    public static ConjuntoInteiros lerDeTexto(String texto, Consumer<String> aoIgnorar) {
+        Construtor construtor = new Construtor();
+        int n = texto.length();
+        int i = 0;
+
+        while (i < n) {
+            // Pular separadores (espaço e demais caracteres que o trim removeria)
+            while (i < n && texto.charAt(i) <= ' ') i++;
+            if (i >= n) break;
+
+            int inicio = i;
+            while (i < n && texto.charAt(i) > ' ') i++;
+
+            try {
+                construtor.adicionar(Integer.parseInt(texto, inicio, i, 10));
+            } catch (NumberFormatException e) {
+                aoIgnorar.accept(texto.substring(inicio, i));
+            }
+        }
+
+        return construtor.construir();
+    }
+
+    /**
+     * CONSTRUTOR incremental: acumula valores num int[] que cresce sob
+     * demanda e ordena tudo uma vez só no final.
+     */
+    public static final class Construtor {
+        private int[] dados;
+        private int quantidade;
+
+        public Construtor() {
+            this(16);
+        }
+
+        /**
+         * Já reserva espaço quando a quantidade é conhecida (ex: leitura de arquivo)
+         */
+        public Construtor(int capacidadeInicial) {
+            this.dados = new int[Math.max(capacidadeInicial, 16)];
+        }
+
+        public Construtor adicionar(int valor) {
+            if (quantidade == dados.length) {
+                dados = Arrays.copyOf(dados, dados.length * 2);
+            }
+            dados[quantidade++] = valor;
+            return this;
+        }
+
+        public ConjuntoInteiros construir() {
+            ConjuntoInteiros conjunto = deArrayProprio(dados, quantidade);
+            dados = new int[16];
+            quantidade = 0;
+            return conjunto;
+        }
+    }
+
+    // ===== CONSULTAS =====
+
+    public int tamanho() {
+        return valores.length;
+    }
+
+    public boolean estaVazio() {
+        return valores.length == 0;
+    }
+
+    public int minimo() {
+        if (valores.length == 0) {
+            throw new NoSuchElementException("Conjunto vazio");
+        }
+        return valores[0];
+    }
+
+    public int maximo() {
+        if (valores.length == 0) {
+            throw new NoSuchElementException("Conjunto vazio");
+        }
+        return valores[valores.length - 1];
+    }
+
+    public int valor(int indice) {
+        return valores[indice];
+    }
+
+    public boolean contem(int valor) {
+        return Arrays.binarySearch(valores, valor) >= 0;
+    }
+
+    /**
+     * Soma em long (não estoura com milhões de valores)
+     */
+    public long soma() {
+        long soma = 0;
+        for (int v : valores) {
+            soma += v;
+        }
+        return soma;
+    }
+
+    /**
+     * Cópia dos valores ordenados
+     */
+    public int[] paraArray() {
+        return valores.clone();
+    }
+
+    // ===== OPERAÇÕES =====
+
+    public ConjuntoInteiros uniao(ConjuntoInteiros outro) {
+        if (outro.estaVazio()) return this;
+        if (estaVazio()) return outro;
+
+        int[] destino = new int[valores.length + outro.valores.length];
+        int k = uniao(valores, valores.length, outro.valores, outro.valores.length, destino);
+        return new ConjuntoInteiros(k == destino.length ? destino : Arrays.copyOf(destino, k));
+    }
+
+    public ConjuntoInteiros intersecao(ConjuntoInteiros outro) {
+        int[] destino = new int[Math.min(valores.length, outro.valores.length)];
+        int k = intersecao(valores, valores.length, outro.valores, outro.valores.length, destino);
+        return k == 0 ? VAZIO : new ConjuntoInteiros(k == destino.length ? destino : Arrays.copyOf(destino, k));
+    }
+
+    public ConjuntoInteiros diferenca(ConjuntoInteiros outro) {
+        if (estaVazio() || outro.estaVazio()) return this;
+
+        int[] destino = new int[valores.length];
+        int k = diferenca(valores, valores.length, outro.valores, outro.valores.length, destino);
+        return k == 0 ? VAZIO : new ConjuntoInteiros(k == destino.length ? destino : Arrays.copyOf(destino, k));
+    }
+
+    /**
+     * |A ∩ B| sem construir o resultado
+     */
+    public int cardinalidadeIntersecao(ConjuntoInteiros outro) {
+        int[] a = valores;
+        int[] b = outro.valores;
+        int i = 0, j = 0, comuns = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                comuns++;
+                i++;
+                j++;
+            }
+        }
+        return comuns;
+    }
+
+    // ===== NÚCLEOS SEM ALOCAÇÃO =====
+    // Entradas: arrays ordenados sem repetição (a[0..na), b[0..nb)).
+    // O destino precisa ter espaço suficiente; o retorno é quantos valores foram escritos.
+
+    /**
+     * União em {@code destino} (capacidade mínima: na + nb)
+     */
+    public static int uniao(int[] a, int na, int[] b, int nb, int[] destino) {
+        int i = 0, j = 0, k = 0;
+        while (i < na && j < nb) {
+            int x = a[i], y = b[j];
+            if (x < y) {
+                destino[k++] = x;
+                i++;
+            } else if (x > y) {
+                destino[k++] = y;
+                j++;
+            } else {
+                destino[k++] = x;
+                i++;
+                j++;
+            }
+        }
+        while (i < na) destino[k++] = a[i++];
+        while (j < nb) destino[k++] = b[j++];
+        return k;
+    }
+
+    /**
+     * Interseção em {@code destino} (capacidade mínima: min(na, nb))
+     */
+    public static int intersecao(int[] a, int na, int[] b, int nb, int[] destino) {
+        int i = 0, j = 0, k = 0;
+        while (i < na && j < nb) {
+            int x = a[i], y = b[j];
+            if (x < y) {
+                i++;
+            } else if (x > y) {
+                j++;
+            } else {
+                destino[k++] = x;
+                i++;
+                j++;
+            }
+        }
+        return k;
+    }
+
+    /**
+     * Diferença (a - b) em {@code destino} (capacidade mínima: na)
+     */
+    public static int diferenca(int[] a, int na, int[] b, int nb, int[] destino) {
+        int i = 0, j = 0, k = 0;
+        while (i < na && j < nb) {
+            int x = a[i], y = b[j];
+            if (x < y) {
+                destino[k++] = x;
+                i++;
+            } else if (x > y) {
+                j++;
+            } else {
+                i++;
+                j++;
+            }
+        }
+        while (i < na) destino[k++] = a[i++];
+        return k;
+    }
+
+    // ===== AUXILIARES =====
+
+    @Override
+    public boolean equals(Object outro) {
+        if (this == outro) return true;
+        if (!(outro instanceof ConjuntoInteiros)) return false;
+        return Arrays.equals(valores, ((ConjuntoInteiros) outro).valores);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(valores);
+    }
+
+    /**
+     * Mesmo formato do toString de TreeSet: [1, 2, 3]
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(valores.length * 4 + 2);
+        sb.append('[');
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(valores[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,240 @@
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * ============================================================================
+ *                  CONJUNTO NOMEADO COM REPRESENTAÇÃO AUTOMÁTICA
+ * ============================================================================
+ *
+ * Conteúdo imutável de um conjunto do Gerenciador, sempre guardado como um
+ * {@link BitmapCompactado} de inteiros. O significado desses inteiros é
+ * escolhido automaticamente na criação:
+ *
+ * <ul>
+ *   <li>🔢 NUMÉRICO - todos os elementos são inteiros escritos na forma
+ *       canônica ("7", "-12"): o bitmap guarda os próprios valores</li>
+ *   <li>🔤 TEXTUAL  - qualquer outro caso: o bitmap guarda os ids dos
+ *       elementos no {@link DicionarioElementos} compartilhado</li>
+ * </ul>
+ *
+ * Só a forma canônica vira número, para que "007" ou "+5" continuem sendo
+ * exibidos exatamente como foram digitados. Operações entre conjuntos do
+ * mesmo tipo rodam direto sobre os inteiros; os textos só são decodificados
+ * para exibição. Operações mistas comparam elemento a elemento, sem
+ * cadastrar os números no dicionário compartilhado - a união mista guarda
+ * os textos num dicionário só dela.
+ *
+ * @author Sistema TGC - Módulo Conjuntos
+ * @version 2.0 - Representação Automática
+ * @since 2025
+ * ============================================================================
+ */
+public final class ConjuntoNomeado {
+
+    private final BitmapCompactado valores;      // valores (numérico) ou ids (textual)
+    private final boolean numerico;
+    private final DicionarioElementos dicionario;
+
+    // Textual: referências aos textos do dicionário em ordem alfabética,
+    // montadas só na primeira exibição parcial
+    private String[] textosOrdenados;
+
+    private ConjuntoNomeado(BitmapCompactado valores, boolean numerico, DicionarioElementos dicionario) {
+        this.valores = valores;
+        this.numerico = numerico;
+        this.dicionario = dicionario;
+    }
+
+    // ===== CRIAÇÃO =====
+
+    /**
+     * Cria a partir de elementos já limpos (sem espaços extras nem vazios)
+     */
+    public static ConjuntoNomeado de(Collection<String> elementos, DicionarioElementos dicionario) {
+        boolean numerico = true;
+        for (String elem : elementos) {
+            if (inteiroCanonico(elem) == null) {
+                numerico = false;
+                break;
+            }
+        }
+
+        ConjuntoInteiros.Construtor construtor = new ConjuntoInteiros.Construtor();
+        for (String elem : elementos) {
+            construtor.adicionar(numerico ? inteiroCanonico(elem) : dicionario.codificar(elem));
+        }
+
+        return new ConjuntoNomeado(BitmapCompactado.de(construtor.construir()), numerico, dicionario);
+    }
+
+    /**
+     * Cria a partir de inteiros já ordenados (ex.: lidos de um arquivo salvo)
+     */
+    public static ConjuntoNomeado deInteiros(ConjuntoInteiros inteiros, DicionarioElementos dicionario) {
+        return new ConjuntoNomeado(BitmapCompactado.de(inteiros), true, dicionario);
+    }
+
+    /**
+     * Lê uma linha digitada (elementos separados por espaço)
+     */
+    public static ConjuntoNomeado lerDeTexto(String entrada, DicionarioElementos dicionario) {
+        List<String> elementos = new ArrayList<>();
+        for (String elem : entrada.split(" ")) {
+            if (!elem.trim().isEmpty()) {
+                elementos.add(elem.trim());
+            }
+        }
+        return de(elementos, dicionario);
+    }
+
+    /**
+     * Valor do inteiro se o texto for sua forma canônica, senão null
+     */
+    private static Integer inteiroCanonico(String texto) {
+        int n = texto.length();
+        if (n == 0 || n > 11) {
+            return null;
+        }
+        for (int i = 0; i < n; i++) {
+            char c = texto.charAt(i);
+            if (!(c >= '0' && c <= '9') && !(i == 0 && c == '-')) {
+                return null;
+            }
+        }
+        try {
+            int valor = Integer.parseInt(texto);
+            return Integer.toString(valor).equals(texto) ? valor : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // ===== CONSULTAS =====
+
+    public boolean eNumerico() {
+        return numerico;
+    }
+
+    public int tamanho() {
+        return (int) valores.cardinalidade();
+    }
+
+    public boolean estaVazio() {
+        return valores.estaVazio();
+    }
+
+    /**
+     * Elementos na ordem de exibição (numérica ou alfabética).
+     * É aqui, e só aqui, que os ids voltam a ser texto.
+     */
+    public List<String> elementos() {
+        List<String> lista = new ArrayList<>(tamanho());
+        if (numerico) {
+            valores.paraCada(v -> lista.add(Integer.toString(v)));
+        } else {
+            lista.addAll(Arrays.asList(textosOrdenados()));
+        }
+        return lista;
+    }
+
+    /**
+     * Percorre, na ordem de exibição, só os elementos das posições [de, ate).
+     * Nenhum texto com o conjunto inteiro é montado: os numéricos são
+     * convertidos um a um e os textuais reaproveitam as Strings do dicionário.
+     */
+    public void paraCadaEntre(int de, int ate, Consumer<String> acao) {
+        if (numerico) {
+            valores.paraCadaEntre(de, ate, v -> acao.accept(Integer.toString(v)));
+            return;
+        }
+        String[] ordenados = textosOrdenados();
+        for (int i = Math.max(de, 0); i < Math.min(ate, ordenados.length); i++) {
+            acao.accept(ordenados[i]);
+        }
+    }
+
+    private String[] textosOrdenados() {
+        if (textosOrdenados == null) {
+            String[] textos = new String[tamanho()];
+            int[] posicao = {0};
+            valores.paraCada(id -> textos[posicao[0]++] = dicionario.decodificar(id));
+            Arrays.sort(textos);
+            textosOrdenados = textos;
+        }
+        return textosOrdenados;
+    }
+
+    /**
+     * Descrição da representação usada, para o usuário
+     */
+    public String descreverRepresentacao() {
+        String conteineres = valores.descreverConteineres() + ", ~" + valores.bytesEstimados() + " bytes";
+        return numerico
+            ? "bitmap compactado de valores (" + conteineres + ")"
+            : "ids do dicionário (" + conteineres + ")";
+    }
+
+    // ===== OPERAÇÕES =====
+
+    public ConjuntoNomeado uniao(ConjuntoNomeado outro) {
+        if (mesmaBase(outro)) {
+            return new ConjuntoNomeado(valores.uniao(outro.valores), numerico, dicionario);
+        }
+        // Dicionário só do resultado: os números do lado numérico não
+        // entram no compartilhado (que nunca encolhe)
+        List<String> elementos = elementos();
+        elementos.addAll(outro.elementos());
+        return de(elementos, new DicionarioElementos());
+    }
+
+    public ConjuntoNomeado intersecao(ConjuntoNomeado outro) {
+        if (mesmaBase(outro)) {
+            return new ConjuntoNomeado(valores.intersecao(outro.valores), numerico, dicionario);
+        }
+        // Percorre o menor; um resultado textual só tem elementos que já
+        // estão no dicionário de qualquer lado textual
+        ConjuntoNomeado menor = tamanho() <= outro.tamanho() ? this : outro;
+        ConjuntoNomeado maior = menor == this ? outro : this;
+        List<String> elementos = new ArrayList<>();
+        menor.paraCadaEntre(0, menor.tamanho(), elem -> {
+            if (maior.contem(elem)) {
+                elementos.add(elem);
+            }
+        });
+        return de(elementos, numerico ? outro.dicionario : dicionario);
+    }
+
+    public ConjuntoNomeado diferenca(ConjuntoNomeado outro) {
+        if (mesmaBase(outro)) {
+            return new ConjuntoNomeado(valores.diferenca(outro.valores), numerico, dicionario);
+        }
+        // Resultado contido neste conjunto: o próprio dicionário já tem tudo
+        List<String> elementos = new ArrayList<>();
+        paraCadaEntre(0, tamanho(), elem -> {
+            if (!outro.contem(elem)) {
+                elementos.add(elem);
+            }
+        });
+        return de(elementos, dicionario);
+    }
+
+    /**
+     * Operação direta sobre os inteiros: mesmo tipo e, se textual, mesmo
+     * dicionário (resultados de união mista têm o seu)
+     */
+    private boolean mesmaBase(ConjuntoNomeado outro) {
+        return numerico == outro.numerico && (numerico || dicionario == outro.dicionario);
+    }
+
+    /**
+     * Pertinência de um elemento em texto, sem cadastrar nada no dicionário
+     */
+    private boolean contem(String elemento) {
+        if (numerico) {
+            Integer valor = inteiroCanonico(elemento);
+            return valor != null && valores.contem(valor);
+        }
+        int id = dicionario.idDe(elemento);
+        return id >= 0 && valores.contem(id);
+    }
+}
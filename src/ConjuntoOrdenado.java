@@ -0,0 +1,286 @@
+import java.util.*;
+
+/**
+ * ============================================================================
+ *                  CONJUNTO ORDENADO IMUTÁVEL (ARRAY ORDENADO)
+ * ============================================================================
+ *
+ * Representação compacta de um conjunto como um array ordenado e sem
+ * repetições. Substitui o padrão {@code new TreeSet<>(a); x.addAll(b)} usado
+ * nas operações entre conjuntos dos módulos.
+ *
+ * <h3>Vantagens:</h3>
+ * <ul>
+ *   <li>🧱 Imutável: pode ser compartilhado entre relatórios sem cópias</li>
+ *   <li>⚡ União, interseção e diferença por intercalação em O(n + m)</li>
+ *   <li>🔢 Cardinalidades calculadas SEM construir o resultado</li>
+ *   <li>🔍 Pertinência por busca binária em O(log n)</li>
+ * </ul>
+ *
+ * @param <T> tipo dos elementos (ordem natural)
+ *
+ * @author Sistema TGC - Módulo Conjuntos
+ * @version 2.0 - Motor de Intercalação
+ * @since 2025
+ * ============================================================================
+ */
+public final class ConjuntoOrdenado<T extends Comparable<? super T>> implements Iterable<T> {
+
+    private static final Object[] SEM_ELEMENTOS = new Object[0];
+
+    // Elementos em ordem crescente, sem repetições - nunca é alterado
+    private final Object[] elementos;
+
+    private ConjuntoOrdenado(Object[] elementos) {
+        this.elementos = elementos;
+    }
+
+    // ===== CRIAÇÃO =====
+
+    /**
+     * Conjunto vazio
+     */
+    public static <T extends Comparable<? super T>> ConjuntoOrdenado<T> vazio() {
+        return new ConjuntoOrdenado<>(SEM_ELEMENTOS);
+    }
+
+    /**
+     * Cria a partir de qualquer coleção. Um SortedSet em ordem natural
+     * (como TreeSet) é copiado direto, sem reordenar.
+     */
+    public static <T extends Comparable<? super T>> ConjuntoOrdenado<T> de(Collection<? extends T> origem) {
+        if (origem.isEmpty()) {
+            return vazio();
+        }
+
+        Object[] copia = origem.toArray();
+        if (origem instanceof SortedSet && ((SortedSet<?>) origem).comparator() == null) {
+            return new ConjuntoOrdenado<>(copia);
+        }
+
+        Arrays.sort(copia);
+        return new ConjuntoOrdenado<>(removerRepetidos(copia));
+    }
+
+    /**
+     * Remove repetições de um array já ordenado (reaproveita o próprio array)
+     */
+    private static Object[] removerRepetidos(Object[] ordenado) {
+        int escrita = 0;
+        for (int i = 0; i < ordenado.length; i++) {
+            if (escrita == 0 || comparar(ordenado[escrita - 1], ordenado[i]) != 0) {
+                ordenado[escrita++] = ordenado[i];
+            }
+        }
+        return escrita == ordenado.length ? ordenado : Arrays.copyOf(ordenado, escrita);
+    }
+
+    // ===== CONSULTAS =====
+
+    public int tamanho() {
+        return elementos.length;
+    }
+
+    public boolean estaVazio() {
+        return elementos.length == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T primeiro() {
+        if (elementos.length == 0) {
+            throw new NoSuchElementException("Conjunto vazio");
+        }
+        return (T) elementos[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    public T ultimo() {
+        if (elementos.length == 0) {
+            throw new NoSuchElementException("Conjunto vazio");
+        }
+        return (T) elementos[elementos.length - 1];
+    }
+
+    @SuppressWarnings("unchecked")
+    public T elemento(int indice) {
+        return (T) elementos[indice];
+    }
+
+    /**
+     * Pertinência (x ∈ A) por busca binária
+     */
+    public boolean contem(T elemento) {
+        return Arrays.binarySearch(elementos, elemento) >= 0;
+    }
+
+    /**
+     * Inclusão (outro ⊆ this) por intercalação, sem construir nada
+     */
+    public boolean contemTodos(ConjuntoOrdenado<T> outro) {
+        if (outro.tamanho() > tamanho()) {
+            return false;
+        }
+        return cardinalidadeIntersecao(outro) == outro.tamanho();
+    }
+
+    /**
+     * Visão somente leitura dos elementos em ordem
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> elementos() {
+        return (List<T>) (List<?>) Collections.unmodifiableList(Arrays.asList(elementos));
+    }
+
+    // ===== OPERAÇÕES (constroem o resultado) =====
+
+    /**
+     * UNIÃO (A ∪ B)
+     */
+    public ConjuntoOrdenado<T> uniao(ConjuntoOrdenado<T> outro) {
+        if (outro.estaVazio()) return this;
+        if (estaVazio()) return outro;
+
+        Object[] x = elementos;
+        Object[] y = outro.elementos;
+        Object[] saida = new Object[x.length + y.length];
+        int i = 0, j = 0, k = 0;
+
+        while (i < x.length && j < y.length) {
+            int cmp = comparar(x[i], y[j]);
+            if (cmp < 0) {
+                saida[k++] = x[i++];
+            } else if (cmp > 0) {
+                saida[k++] = y[j++];
+            } else {
+                saida[k++] = x[i++];
+                j++;
+            }
+        }
+        while (i < x.length) saida[k++] = x[i++];
+        while (j < y.length) saida[k++] = y[j++];
+
+        return new ConjuntoOrdenado<>(k == saida.length ? saida : Arrays.copyOf(saida, k));
+    }
+
+    /**
+     * INTERSEÇÃO (A ∩ B)
+     */
+    public ConjuntoOrdenado<T> intersecao(ConjuntoOrdenado<T> outro) {
+        Object[] x = elementos;
+        Object[] y = outro.elementos;
+        Object[] saida = new Object[Math.min(x.length, y.length)];
+        int i = 0, j = 0, k = 0;
+
+        while (i < x.length && j < y.length) {
+            int cmp = comparar(x[i], y[j]);
+            if (cmp < 0) {
+                i++;
+            } else if (cmp > 0) {
+                j++;
+            } else {
+                saida[k++] = x[i++];
+                j++;
+            }
+        }
+
+        return k == 0 ? vazio() : new ConjuntoOrdenado<>(k == saida.length ? saida : Arrays.copyOf(saida, k));
+    }
+
+    /**
+     * DIFERENÇA (A - B)
+     */
+    public ConjuntoOrdenado<T> diferenca(ConjuntoOrdenado<T> outro) {
+        if (estaVazio() || outro.estaVazio()) return this;
+
+        Object[] x = elementos;
+        Object[] y = outro.elementos;
+        Object[] saida = new Object[x.length];
+        int i = 0, j = 0, k = 0;
+
+        while (i < x.length && j < y.length) {
+            int cmp = comparar(x[i], y[j]);
+            if (cmp < 0) {
+                saida[k++] = x[i++];
+            } else if (cmp > 0) {
+                j++;
+            } else {
+                i++;
+                j++;
+            }
+        }
+        while (i < x.length) saida[k++] = x[i++];
+
+        return k == 0 ? vazio() : new ConjuntoOrdenado<>(k == saida.length ? saida : Arrays.copyOf(saida, k));
+    }
+
+    // ===== CARDINALIDADES (sem construir o resultado) =====
+
+    /**
+     * |A ∩ B| - apenas conta os elementos em comum
+     */
+    public int cardinalidadeIntersecao(ConjuntoOrdenado<T> outro) {
+        Object[] x = elementos;
+        Object[] y = outro.elementos;
+        int i = 0, j = 0, comuns = 0;
+
+        while (i < x.length && j < y.length) {
+            int cmp = comparar(x[i], y[j]);
+            if (cmp < 0) {
+                i++;
+            } else if (cmp > 0) {
+                j++;
+            } else {
+                comuns++;
+                i++;
+                j++;
+            }
+        }
+        return comuns;
+    }
+
+    /**
+     * |A ∪ B| = |A| + |B| - |A ∩ B|
+     */
+    public int cardinalidadeUniao(ConjuntoOrdenado<T> outro) {
+        return tamanho() + outro.tamanho() - cardinalidadeIntersecao(outro);
+    }
+
+    /**
+     * |A - B| = |A| - |A ∩ B|
+     */
+    public int cardinalidadeDiferenca(ConjuntoOrdenado<T> outro) {
+        return tamanho() - cardinalidadeIntersecao(outro);
+    }
+
+    // ===== AUXILIARES =====
+
+    @SuppressWarnings("unchecked")
+    private static int comparar(Object a, Object b) {
+        return ((Comparable<Object>) a).compareTo(b);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return elementos().iterator();
+    }
+
+    @Override
+    public boolean equals(Object outro) {
+        if (this == outro) return true;
+        if (!(outro instanceof ConjuntoOrdenado)) return false;
+        return Arrays.equals(elementos, ((ConjuntoOrdenado<?>) outro).elementos);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(elementos);
+    }
+
+    /**
+     * Mesmo formato do toString de TreeSet: [a, b, c]
+     */
+    @Override
+    public String toString() {
+        return Arrays.toString(elementos);
+    }
+}
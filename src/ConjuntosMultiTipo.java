@@ -81,9 +81,9 @@ public class ConjuntosMultiTipo {
         System.out.println("\n** CONJUNTOS DE NÚMEROS INTEIROS **");
         System.out.println();
         
-        // Criar dois conjuntos de inteiros
-        TreeSet<Integer> conjunto1 = lerConjuntoInteiro("primeiro");
-        TreeSet<Integer> conjunto2 = lerConjuntoInteiro("segundo");
+        // Criar dois conjuntos de inteiros (int[] primitivo, sem boxing)
+        ConjuntoInteiros conjunto1 = lerConjuntoInteiro("primeiro");
+        ConjuntoInteiros conjunto2 = lerConjuntoInteiro("segundo");
         
         // Mostrar conjuntos
         System.out.println();
@@ -92,15 +92,38 @@ public class ConjuntosMultiTipo {
         System.out.println("B = " + conjunto2);
         System.out.println();
         
-        // Calcular operações
-        TreeSet<Integer> uniao = new TreeSet<>(conjunto1);
-        uniao.addAll(conjunto2);
-        
-        TreeSet<Integer> intersecao = new TreeSet<>(conjunto1);
-        intersecao.retainAll(conjunto2);
-        
-        TreeSet<Integer> diferenca = new TreeSet<>(conjunto1);
-        diferenca.removeAll(conjunto2);
+        // Escolher a representação: faixas densas ficam bem menores como
+        // bitmap compactado; conjuntos esparsos continuam como int[]
+        BitmapCompactado bitmap1 = BitmapCompactado.de(conjunto1);
+        BitmapCompactado bitmap2 = BitmapCompactado.de(conjunto2);
+        boolean usarBitmap = bitmap1.bytesEstimados() + bitmap2.bytesEstimados()
+            < (conjunto1.tamanho() + conjunto2.tamanho()) * 4L;
+        
+        String uniao, intersecao, diferenca;
+        long tamanhoUniao, tamanhoIntersecao;
+        
+        if (usarBitmap) {
+            System.out.println("Representação: bitmap compactado (A: " + bitmap1.descreverConteineres()
+                + ", B: " + bitmap2.descreverConteineres() + ")");
+            BitmapCompactado u = bitmap1.uniao(bitmap2);
+            BitmapCompactado i = bitmap1.intersecao(bitmap2);
+            uniao = u.toString();
+            intersecao = i.toString();
+            diferenca = bitmap1.diferenca(bitmap2).toString();
+            tamanhoUniao = u.cardinalidade();
+            tamanhoIntersecao = i.cardinalidade();
+        } else {
+            System.out.println("Representação: int[] ordenado");
+            // Intercalação linear dos arrays ordenados
+            ConjuntoInteiros u = conjunto1.uniao(conjunto2);
+            ConjuntoInteiros i = conjunto1.intersecao(conjunto2);
+            uniao = u.toString();
+            intersecao = i.toString();
+            diferenca = conjunto1.diferenca(conjunto2).toString();
+            tamanhoUniao = u.tamanho();
+            tamanhoIntersecao = i.tamanho();
+        }
+        System.out.println();
         
         // Mostrar resultados
         System.out.println("** RESULTADOS DAS OPERAÇÕES: **");
@@ -111,14 +134,14 @@ public class ConjuntosMultiTipo {
         // Análises matemáticas
         System.out.println();
         System.out.println("** ANÁLISES MATEMÁTICAS: **");
-        System.out.println("Quantidade de elementos em A: " + conjunto1.size());
-        System.out.println("Quantidade de elementos em B: " + conjunto2.size());
-        System.out.println("Quantidade na União: " + uniao.size());
-        System.out.println("Quantidade na Interseção: " + intersecao.size());
-        
-        if (!conjunto1.isEmpty()) {
-            System.out.println("Menor elemento de A: " + conjunto1.first());
-            System.out.println("Maior elemento de A: " + conjunto1.last());
+        System.out.println("Quantidade de elementos em A: " + conjunto1.tamanho());
+        System.out.println("Quantidade de elementos em B: " + conjunto2.tamanho());
+        System.out.println("Quantidade na União: " + tamanhoUniao);
+        System.out.println("Quantidade na Interseção: " + tamanhoIntersecao);
+        
+        if (!conjunto1.estaVazio()) {
+            System.out.println("Menor elemento de A: " + conjunto1.minimo());
+            System.out.println("Maior elemento de A: " + conjunto1.maximo());
         }
         
         ui.pausar();
@@ -127,24 +150,12 @@ public class ConjuntosMultiTipo {
     /**
      * Ler conjunto de números inteiros
      */
-    private TreeSet<Integer> lerConjuntoInteiro(String nome) {
+    private ConjuntoInteiros lerConjuntoInteiro(String nome) {
         System.out.print("Digite números inteiros para o " + nome + " conjunto (separados por espaço): ");
         String entrada = ui.lerTexto();
-        String[] elementos = entrada.split(" ");
-        
-        TreeSet<Integer> conjunto = new TreeSet<>();
-        
-        for (String elem : elementos) {
-            try {
-                if (!elem.trim().isEmpty()) {
-                    conjunto.add(Integer.parseInt(elem.trim()));
-                }
-            } catch (NumberFormatException e) {
-                System.out.println("AVISO: '" + elem + "' não é um número inteiro válido. Ignorado.");
-            }
-        }
         
-        return conjunto;
+        return ConjuntoInteiros.lerDeTexto(entrada, elem ->
+            System.out.println("AVISO: '" + elem + "' não é um número inteiro válido. Ignorado."));
     }
     
     // ===== TRABALHAR COM DECIMAIS =====
@@ -157,9 +168,9 @@ public class ConjuntosMultiTipo {
         System.out.println("(Use ponto para separar decimais, ex: 3.14)");
         System.out.println();
         
-        // Criar dois conjuntos de decimais
-        TreeSet<Double> conjunto1 = lerConjuntoDecimal("primeiro");
-        TreeSet<Double> conjunto2 = lerConjuntoDecimal("segundo");
+        // Criar dois conjuntos de decimais (double[] primitivo, sem boxing)
+        ConjuntoDecimais conjunto1 = lerConjuntoDecimal("primeiro");
+        ConjuntoDecimais conjunto2 = lerConjuntoDecimal("segundo");
         
         // Mostrar conjuntos formatados
         System.out.println();
@@ -168,15 +179,10 @@ public class ConjuntosMultiTipo {
         System.out.println("B = " + formatarConjuntoDouble(conjunto2));
         System.out.println();
         
-        // Calcular operações
-        TreeSet<Double> uniao = new TreeSet<>(conjunto1);
-        uniao.addAll(conjunto2);
-        
-        TreeSet<Double> intersecao = new TreeSet<>(conjunto1);
-        intersecao.retainAll(conjunto2);
-        
-        TreeSet<Double> diferenca = new TreeSet<>(conjunto1);
-        diferenca.removeAll(conjunto2);
+        // Calcular operações (intercalação linear dos arrays ordenados)
+        ConjuntoDecimais uniao = conjunto1.uniao(conjunto2);
+        ConjuntoDecimais intersecao = conjunto1.intersecao(conjunto2);
+        ConjuntoDecimais diferenca = conjunto1.diferenca(conjunto2);
         
         // Mostrar resultados
         System.out.println("** RESULTADOS DAS OPERAÇÕES: **");
@@ -187,13 +193,16 @@ public class ConjuntosMultiTipo {
         // Análises estatísticas
         System.out.println();
         System.out.println("** ANÁLISES ESTATÍSTICAS: **");
-        if (!conjunto1.isEmpty()) {
-            double soma = conjunto1.stream().mapToDouble(Double::doubleValue).sum();
-            double media = soma / conjunto1.size();
-            System.out.println("Soma dos elementos de A: " + formatoDecimal.format(soma));
-            System.out.println("Média dos elementos de A: " + formatoDecimal.format(media));
-            System.out.println("Menor valor em A: " + formatoDecimal.format(conjunto1.first()));
-            System.out.println("Maior valor em A: " + formatoDecimal.format(conjunto1.last()));
+        // Uma passada só pelo double[] (o NaN, se houver, fica de fora)
+        ConjuntoDecimais.Estatisticas estatisticas = conjunto1.estatisticas();
+        if (estatisticas.quantidade > 0) {
+            System.out.println("Soma dos elementos de A: " + formatarDecimal(estatisticas.soma));
+            System.out.println("Média dos elementos de A: " + formatarDecimal(estatisticas.media));
+            System.out.println("Menor valor em A: " + formatarDecimal(estatisticas.minimo));
+            System.out.println("Maior valor em A: " + formatarDecimal(estatisticas.maximo));
+        }
+        if (estatisticas.contemNaN) {
+            System.out.println("Observação: A contém NaN, que não entra na soma, média, mínimo e máximo.");
         }
         
         ui.pausar();
@@ -202,42 +211,37 @@ public class ConjuntosMultiTipo {
     /**
      * Ler conjunto de números decimais
      */
-    private TreeSet<Double> lerConjuntoDecimal(String nome) {
+    private ConjuntoDecimais lerConjuntoDecimal(String nome) {
         System.out.print("Digite números decimais para o " + nome + " conjunto (ex: 1.5 2.7 3.14): ");
         String entrada = ui.lerTexto();
-        String[] elementos = entrada.split(" ");
-        
-        TreeSet<Double> conjunto = new TreeSet<>();
-        
-        for (String elem : elementos) {
-            try {
-                if (!elem.trim().isEmpty()) {
-                    conjunto.add(Double.parseDouble(elem.trim()));
-                }
-            } catch (NumberFormatException e) {
-                System.out.println("AVISO: '" + elem + "' não é um número decimal válido. Ignorado.");
-            }
-        }
         
-        return conjunto;
+        return ConjuntoDecimais.lerDeTexto(entrada, elem ->
+            System.out.println("AVISO: '" + elem + "' não é um número decimal válido. Ignorado."));
     }
     
     /**
      * Formatar conjunto de doubles para exibição
      */
-    private String formatarConjuntoDouble(TreeSet<Double> conjunto) {
-        if (conjunto.isEmpty()) {
+    private String formatarConjuntoDouble(ConjuntoDecimais conjunto) {
+        if (conjunto.estaVazio()) {
             return "{}";
         }
         
-        List<String> formatados = new ArrayList<>();
-        for (Double d : conjunto) {
-            formatados.add(formatoDecimal.format(d));
+        List<String> formatados = new ArrayList<>(conjunto.tamanho());
+        for (int i = 0; i < conjunto.tamanho(); i++) {
+            formatados.add(formatarDecimal(conjunto.valor(i)));
         }
         
         return "{" + String.join(", ", formatados) + "}";
     }
     
+    /**
+     * Formatar um decimal (NaN aparece escrito, não como símbolo)
+     */
+    private String formatarDecimal(double valor) {
+        return Double.isNaN(valor) ? "NaN" : formatoDecimal.format(valor);
+    }
+    
     // ===== TRABALHAR COM PALAVRAS =====
     
     /**
@@ -258,15 +262,13 @@ public class ConjuntosMultiTipo {
         System.out.println("B = {" + String.join(", ", conjunto2) + "}");
         System.out.println();
         
-        // Calcular operações
-        TreeSet<String> uniao = new TreeSet<>(conjunto1);
-        uniao.addAll(conjunto2);
+        // Calcular operações (intercalação linear dos arrays ordenados)
+        ConjuntoOrdenado<String> a = ConjuntoOrdenado.de(conjunto1);
+        ConjuntoOrdenado<String> b = ConjuntoOrdenado.de(conjunto2);
         
-        TreeSet<String> intersecao = new TreeSet<>(conjunto1);
-        intersecao.retainAll(conjunto2);
-        
-        TreeSet<String> diferenca = new TreeSet<>(conjunto1);
-        diferenca.removeAll(conjunto2);
+        ConjuntoOrdenado<String> uniao = a.uniao(b);
+        ConjuntoOrdenado<String> intersecao = a.intersecao(b);
+        ConjuntoOrdenado<String> diferenca = a.diferenca(b);
         
         // Mostrar resultados
         System.out.println("** RESULTADOS DAS OPERAÇÕES: **");
@@ -347,7 +349,7 @@ public class ConjuntosMultiTipo {
         
         // Tentar converter para números
         TreeSet<Integer> inteiros = new TreeSet<>();
-        TreeSet<Double> decimais = new TreeSet<>();
+        ConjuntoDecimais.Construtor construtorDecimais = new ConjuntoDecimais.Construtor();
         TreeSet<String> naoNumericos = new TreeSet<>();
         
         for (String s : palavras) {
@@ -357,7 +359,7 @@ public class ConjuntosMultiTipo {
             } catch (NumberFormatException e1) {
                 try {
                     // Tentar como decimal
-                    decimais.add(Double.parseDouble(s));
+                    construtorDecimais.adicionar(Double.parseDouble(s));
                 } catch (NumberFormatException e2) {
                     // Não é número
                     naoNumericos.add(s);
@@ -365,6 +367,8 @@ public class ConjuntosMultiTipo {
             }
         }
         
+        ConjuntoDecimais decimais = construtorDecimais.construir();
+        
         // Mostrar resultados
         System.out.println("** RESULTADOS DA CONVERSÃO: **");
         System.out.println("Inteiros encontrados: " + inteiros);
@@ -379,9 +383,8 @@ public class ConjuntosMultiTipo {
             System.out.println("Soma dos inteiros: " + soma);
         }
         
-        if (!decimais.isEmpty()) {
-            double soma = decimais.stream().mapToDouble(Double::doubleValue).sum();
-            System.out.println("Soma dos decimais: " + formatoDecimal.format(soma));
+        if (!decimais.estaVazio()) {
+            System.out.println("Soma dos decimais: " + formatarDecimal(decimais.estatisticas().soma));
         }
         
         ui.pausar();
@@ -398,7 +401,7 @@ public class ConjuntosMultiTipo {
         
         // Criar conjuntos de exemplo
         TreeSet<Integer> numeros = new TreeSet<>(Arrays.asList(1, 2, 3, 4, 5));
-        TreeSet<Double> decimais = new TreeSet<>(Arrays.asList(1.1, 2.2, 3.3, 4.4));
+        ConjuntoDecimais decimais = ConjuntoDecimais.de(1.1, 2.2, 3.3, 4.4);
         TreeSet<String> frutas = new TreeSet<>(Arrays.asList("maçã", "banana", "laranja", "uva"));
         TreeSet<String> cores = new TreeSet<>(Arrays.asList("azul", "verde", "amarelo", "vermelho"));
         
@@ -410,11 +413,11 @@ public class ConjuntosMultiTipo {
         System.out.println();
         
         // Operações entre frutas e cores
-        TreeSet<String> uniaoPalavras = new TreeSet<>(frutas);
-        uniaoPalavras.addAll(cores);
+        ConjuntoOrdenado<String> conjuntoFrutas = ConjuntoOrdenado.de(frutas);
+        ConjuntoOrdenado<String> conjuntoCores = ConjuntoOrdenado.de(cores);
         
-        TreeSet<String> intersecaoPalavras = new TreeSet<>(frutas);
-        intersecaoPalavras.retainAll(cores);
+        ConjuntoOrdenado<String> uniaoPalavras = conjuntoFrutas.uniao(conjuntoCores);
+        ConjuntoOrdenado<String> intersecaoPalavras = conjuntoFrutas.intersecao(conjuntoCores);
         
         System.out.println("=== OPERAÇÕES COM PALAVRAS ===");
         System.out.println("Frutas U Cores = {" + String.join(", ", uniaoPalavras) + "}");
@@ -424,9 +427,9 @@ public class ConjuntosMultiTipo {
         
         // Estatísticas gerais
         System.out.println("=== ESTATÍSTICAS GERAIS ===");
-        System.out.println("Total de elementos únicos: " + (numeros.size() + decimais.size() + uniaoPalavras.size()));
+        System.out.println("Total de elementos únicos: " + (numeros.size() + decimais.tamanho() + uniaoPalavras.tamanho()));
         System.out.println("Tipos diferentes utilizados: 3 (Integer, Double, String)");
-        System.out.println("Maior conjunto: " + (uniaoPalavras.size() > numeros.size() ? "Palavras" : "Números"));
+        System.out.println("Maior conjunto: " + (uniaoPalavras.tamanho() > numeros.size() ? "Palavras" : "Números"));
         
         ui.pausar();
     }
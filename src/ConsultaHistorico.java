@@ -0,0 +1,219 @@
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * ============================================================================
+ *               CONSULTA PAGINADA AO HISTÓRICO (USANDO OS ÍNDICES)
+ * ============================================================================
+ *
+ * Responde perguntas como "operações no conjunto X na última semana" sem
+ * ler o log inteiro. Os resultados saem do MAIS RECENTE para o mais
+ * antigo, uma página por vez.
+ *
+ * <h3>Como cada segmento é lido:</h3>
+ * <ul>
+ *   <li>📅 Período do segmento fora do filtro: pulado sem abrir o arquivo</li>
+ *   <li>⏱️ Índice esparso de tempo: limita a faixa de bytes que pode ter
+ *       registros do período</li>
+ *   <li>🔎 Com filtro de tipo/conjunto: só as posições do índice invertido
+ *       (interseção, se houver os dois) dentro dessa faixa são lidas</li>
+ *   <li>📄 Sem filtro: a faixa é lida bloco a bloco, do fim para o início</li>
+ * </ul>
+ * A consulta guarda onde parou: pedir a próxima página continua dali. Ela
+ * trabalha sobre os índices como estavam na criação (o do segmento ativo
+ * é copiado): registros gravados depois ficam de fora, e o log pode
+ * continuar gravando enquanto o usuário pagina.
+ *
+ * @author Sistema TGC - Módulo Persistência
+ * @version 2.0 - Histórico Indexado
+ * @since 2025
+ * ============================================================================
+ */
+public final class ConsultaHistorico {
+
+    private final LogHistorico log;
+    private final long desde;
+    private final long ate;
+    private final String tipo;       // null = qualquer
+    private final String conjunto;   // null = qualquer
+
+    // Onde a consulta parou
+    private final List<LogHistorico.Segmento> segmentos;
+    private int proximoSegmento;
+    private LogHistorico.Segmento segmento;
+    private int[] candidatos;        // com filtro de termos: posições em ordem crescente
+    private int restantes;           // candidatos ainda não lidos (do fim para o início)
+    private int proximoBloco;        // sem filtro de termos: próximo bloco a ler (decrescente)
+    private int blocoInicial;
+    private int limiteFaixa;
+    private final Deque<LogHistorico.Registro> prontos = new ArrayDeque<>();
+    private long lidos;
+
+    /**
+     * @param desde    menor instante aceito (Long.MIN_VALUE = sem limite)
+     * @param ate      maior instante aceito (Long.MAX_VALUE = sem limite)
+     * @param tipo     tipo da operação, ou null
+     * @param conjunto nome do conjunto, ou null
+     */
+    public ConsultaHistorico(LogHistorico log, long desde, long ate, String tipo, String conjunto) throws IOException {
+        this.log = log;
+        this.desde = desde;
+        this.ate = ate;
+        this.tipo = tipo == null || tipo.isBlank() ? null : "T:" + LogHistorico.normalizarTipo(tipo);
+        this.conjunto = conjunto == null || conjunto.isBlank() ? null : "C:" + LogHistorico.normalizarConjunto(conjunto);
+
+        // Registros ainda no lote entram na consulta
+        log.sincronizar();
+        this.segmentos = log.segmentos();
+        this.proximoSegmento = segmentos.size() - 1;
+    }
+
+    /**
+     * PRÓXIMA PÁGINA: até {@code limite} registros (vazia = acabou)
+     */
+    public List<LogHistorico.Registro> proximaPagina(int limite) throws IOException {
+        List<LogHistorico.Registro> pagina = new ArrayList<>(limite);
+        while (pagina.size() < limite) {
+            LogHistorico.Registro registro;
+            if (!prontos.isEmpty()) {
+                registro = prontos.pop();
+            } else if (restantes > 0) {
+                registro = log.ler(segmento, candidatos[--restantes]);
+                lidos++;
+            } else if (segmento != null && candidatos == null && proximoBloco >= blocoInicial) {
+                carregarBloco();
+                continue;
+            } else if (avancarSegmento()) {
+                continue;
+            } else {
+                break;
+            }
+            if (noPeriodo(registro)) {
+                pagina.add(registro);
+            }
+        }
+        return pagina;
+    }
+
+    /**
+     * Registros lidos do disco até agora (para mostrar o ganho do índice)
+     */
+    public long registrosLidos() {
+        return lidos;
+    }
+
+    private boolean noPeriodo(LogHistorico.Registro registro) {
+        return registro.instante >= desde && registro.instante <= ate;
+    }
+
+    /**
+     * Prepara o próximo segmento (mais antigo) que pode ter resultados
+     */
+    private boolean avancarSegmento() {
+        segmento = null;
+        candidatos = null;
+        restantes = 0;
+
+        while (proximoSegmento >= 0) {
+            LogHistorico.Segmento atual = segmentos.get(proximoSegmento--);
+            if (atual.registros == 0 || atual.maiorInstante < desde || atual.menorInstante > ate) {
+                continue;
+            }
+
+            // Faixa de blocos [primeiro, ultimo) que pode ter registros do período
+            int primeiro = 0;
+            while (primeiro < atual.blocos && atual.maiorAteBloco[primeiro] < desde) {
+                primeiro++;
+            }
+            int ultimo = atual.blocos;
+            long menorDepois = Long.MAX_VALUE;
+            for (int b = atual.blocos - 1; b >= primeiro; b--) {
+                menorDepois = Math.min(menorDepois, atual.menorNoBloco[b]);
+                if (menorDepois > ate) {
+                    ultimo = b;
+                }
+            }
+            if (primeiro >= ultimo) {
+                continue;
+            }
+            int inicioFaixa = atual.inicioBloco[primeiro];
+            int fimFaixa = ultimo < atual.blocos ? atual.inicioBloco[ultimo] : (int) atual.fim;
+
+            segmento = atual;
+            if (tipo == null && conjunto == null) {
+                blocoInicial = primeiro;
+                proximoBloco = ultimo - 1;
+                limiteFaixa = fimFaixa;
+                return true;
+            }
+
+            int[] posicoes = intersecao(atual);
+            candidatos = Arrays.copyOfRange(posicoes,
+                primeiraMaiorOuIgual(posicoes, inicioFaixa), primeiraMaiorOuIgual(posicoes, fimFaixa));
+            restantes = candidatos.length;
+            if (restantes > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sem filtro de termos: lê o próximo bloco (do fim para o início)
+     */
+    private void carregarBloco() throws IOException {
+        int bloco = proximoBloco--;
+        int inicio = segmento.inicioBloco[bloco];
+        int fim = bloco + 1 < segmento.blocos ? segmento.inicioBloco[bloco + 1] : (int) segmento.fim;
+        fim = Math.min(fim, limiteFaixa);
+
+        // Lidos em ordem; empilhados para sair do mais recente ao mais antigo
+        log.lerEntre(segmento, inicio, fim, (registro, posicao) -> {
+            prontos.push(registro);
+            lidos++;
+        });
+    }
+
+    /**
+     * Posições com todos os termos pedidos (listas em ordem crescente)
+     */
+    private int[] intersecao(LogHistorico.Segmento atual) {
+        int[] resultado = null;
+        for (String termo : new String[]{tipo, conjunto}) {
+            if (termo == null) {
+                continue;
+            }
+            LogHistorico.ListaPosicoes lista = atual.termos.get(termo);
+            if (lista == null) {
+                return new int[0];
+            }
+            int[] posicoes = Arrays.copyOf(lista.posicoes, lista.tamanho);
+            resultado = resultado == null ? posicoes : intersecao(resultado, posicoes);
+        }
+        return resultado;
+    }
+
+    private static int[] intersecao(int[] a, int[] b) {
+        int[] comum = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                comum[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(comum, n);
+    }
+
+    private static int primeiraMaiorOuIgual(int[] ordenado, int valor) {
+        int posicao = Arrays.binarySearch(ordenado, valor);
+        return posicao >= 0 ? posicao : -posicao - 1;
+    }
+}
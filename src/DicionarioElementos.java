@@ -0,0 +1,70 @@
+import java.util.*;
+
+/**
+ * ============================================================================
+ *                    DICIONÁRIO DE ELEMENTOS (STRING → ID)
+ * ============================================================================
+ *
+ * Guarda cada elemento de texto UMA única vez e atribui a ele um número
+ * inteiro (id). Os conjuntos nomeados passam a guardar apenas os ids, num
+ * conjunto compacto de inteiros; um mesmo elemento presente em dez
+ * conjuntos ocupa memória uma vez só.
+ *
+ * <h3>Características:</h3>
+ * <ul>
+ *   <li>🔢 Ids densos (0, 1, 2, ...) na ordem em que aparecem</li>
+ *   <li>➕ Só cresce: um id nunca muda nem é reaproveitado, então conjuntos
+ *       antigos continuam válidos</li>
+ *   <li>🔤 Decodificação em O(1), feita apenas na hora de exibir</li>
+ * </ul>
+ *
+ * @author Sistema TGC - Módulo Conjuntos
+ * @version 2.0 - Codificação por Dicionário
+ * @since 2025
+ * ============================================================================
+ */
+public final class DicionarioElementos {
+
+    private final Map<String, Integer> ids;
+    private final List<String> elementos;
+
+    public DicionarioElementos() {
+        this.ids = new HashMap<>();
+        this.elementos = new ArrayList<>();
+    }
+
+    /**
+     * Id do elemento, cadastrando-o se ainda não existir
+     */
+    public int codificar(String elemento) {
+        Integer id = ids.get(elemento);
+        if (id == null) {
+            id = elementos.size();
+            ids.put(elemento, id);
+            elementos.add(elemento);
+        }
+        return id;
+    }
+
+    /**
+     * Id do elemento, ou -1 se ele nunca foi cadastrado
+     */
+    public int idDe(String elemento) {
+        Integer id = ids.get(elemento);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Texto correspondente a um id
+     */
+    public String decodificar(int id) {
+        return elementos.get(id);
+    }
+
+    /**
+     * Quantidade de elementos distintos cadastrados
+     */
+    public int tamanho() {
+        return elementos.size();
+    }
+}
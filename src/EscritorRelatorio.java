@@ -0,0 +1,194 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+import java.util.Formatter;
+
+/**
+ * ============================================================================
+ *            ESCRITOR DE RELATÓRIOS EM FLUXO (MEMÓRIA LIMITADA)
+ * ============================================================================
+ *
+ * Saída comum de todas as exportações. O texto passa por um buffer de
+ * caracteres, é codificado por UM {@link CharsetEncoder} reaproveitado em
+ * todas as escritas e vai para o arquivo em blocos grandes.
+ *
+ * <h3>Características:</h3>
+ * <ul>
+ *   <li>🧱 Memória fixa: 64K caracteres + 256 KB de bytes, qualquer que
+ *       seja o tamanho do relatório</li>
+ *   <li>🌊 {@link #escreverElementos}: listas de elementos escritas uma a
+ *       uma - um conjunto de um milhão de elementos nunca vira uma String</li>
+ *   <li>🧮 {@link #formatar}: um {@link Formatter} ligado ao próprio
+ *       escritor - formatos sem String intermediária</li>
+ *   <li>⚠️ Erros de disco viram {@link IOException} (o PrintWriter os
+ *       escondia)</li>
+ * </ul>
+ * Mesmo charset e quebra de linha do {@code PrintWriter(FileWriter)} de
+ * antes: os arquivos gerados são idênticos.
+ *
+ * @author Sistema TGC - Módulo Exportação
+ * @version 2.0 - Relatórios em Fluxo
+ * @since 2025
+ * ============================================================================
+ */
+public final class EscritorRelatorio implements Appendable, Closeable {
+
+    private static final int TAMANHO_CARACTERES = 1 << 16;
+    private static final int TAMANHO_BYTES = 1 << 18;
+    private static final String QUEBRA_LINHA = System.lineSeparator();
+
+    private final FileChannel canal;
+    private final CharsetEncoder codificador;
+    private final CharBuffer caracteres = CharBuffer.allocate(TAMANHO_CARACTERES);
+    private final ByteBuffer bytes = ByteBuffer.allocate(TAMANHO_BYTES);
+    private Formatter formatador;
+    private long escritos;
+
+    public EscritorRelatorio(File arquivo) throws IOException {
+        this(arquivo, Charset.defaultCharset());
+    }
+
+    public EscritorRelatorio(File arquivo, Charset charset) throws IOException {
+        this.canal = FileChannel.open(arquivo.toPath(), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        // Como o FileWriter: caractere sem representação vira o substituto do charset
+        this.codificador = charset.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    // ===== ESCRITA =====
+
+    public EscritorRelatorio escrever(CharSequence texto) throws IOException {
+        String valor = texto == null ? "null" : texto.toString();
+        int posicao = 0;
+        while (posicao < valor.length()) {
+            if (!caracteres.hasRemaining()) {
+                codificar(false);
+            }
+            int quantos = Math.min(caracteres.remaining(), valor.length() - posicao);
+            caracteres.put(valor, posicao, posicao + quantos);
+            posicao += quantos;
+        }
+        return this;
+    }
+
+    public EscritorRelatorio escrever(char c) throws IOException {
+        if (!caracteres.hasRemaining()) {
+            codificar(false);
+        }
+        caracteres.put(c);
+        return this;
+    }
+
+    public EscritorRelatorio escreverLinha(CharSequence texto) throws IOException {
+        return escrever(texto).escrever(QUEBRA_LINHA);
+    }
+
+    public EscritorRelatorio escreverLinha() throws IOException {
+        return escrever(QUEBRA_LINHA);
+    }
+
+    /**
+     * FORMATAR direto no buffer (mesmas regras de {@link String#format};
+     * use %n para quebrar a linha)
+     */
+    public EscritorRelatorio formatar(String formato, Object... argumentos) throws IOException {
+        if (formatador == null) {
+            formatador = new Formatter(this);
+        }
+        formatador.format(formato, argumentos);
+        IOException erro = formatador.ioException();
+        if (erro != null) {
+            throw erro;
+        }
+        return this;
+    }
+
+    /**
+     * ELEMENTOS separados por {@code separador}, escritos um a um
+     */
+    public EscritorRelatorio escreverElementos(Iterable<?> elementos, String separador) throws IOException {
+        boolean primeiro = true;
+        for (Object elemento : elementos) {
+            if (!primeiro) {
+                escrever(separador);
+            }
+            escrever(String.valueOf(elemento));
+            primeiro = false;
+        }
+        return this;
+    }
+
+    // ===== APPENDABLE (usado pelo Formatter) =====
+
+    @Override
+    public EscritorRelatorio append(CharSequence texto) throws IOException {
+        return escrever(texto);
+    }
+
+    @Override
+    public EscritorRelatorio append(CharSequence texto, int inicio, int fim) throws IOException {
+        return escrever(texto == null ? "null".subSequence(inicio, fim) : texto.subSequence(inicio, fim));
+    }
+
+    @Override
+    public EscritorRelatorio append(char c) throws IOException {
+        return escrever(c);
+    }
+
+    // ===== CODIFICAÇÃO =====
+
+    /**
+     * Caracteres → bytes. Um par surrogate cortado no fim do buffer fica
+     * para a próxima vez (compact) - nunca é codificado pela metade.
+     */
+    private void codificar(boolean fim) throws IOException {
+        caracteres.flip();
+        while (true) {
+            CoderResult resultado = codificador.encode(caracteres, bytes, fim);
+            if (resultado.isOverflow()) {
+                gravarBytes();
+            } else if (resultado.isUnderflow()) {
+                break;
+            } else {
+                resultado.throwException();
+            }
+        }
+        caracteres.compact();
+    }
+
+    private void gravarBytes() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            escritos += canal.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    /**
+     * Bytes gravados no arquivo até agora
+     */
+    public long bytesEscritos() {
+        return escritos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            codificar(true);
+            while (codificador.flush(bytes).isOverflow()) {
+                gravarBytes();
+            }
+            gravarBytes();
+        } finally {
+            canal.close();
+        }
+    }
+}
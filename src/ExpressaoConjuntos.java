@@ -0,0 +1,426 @@
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * ============================================================================
+ *              AVALIADOR DE EXPRESSÕES ENTRE CONJUNTOS NOMEADOS
+ * ============================================================================
+ *
+ * Interpreta expressões como {@code (A ∪ B) ∩ C - D} sobre os conjuntos do
+ * Gerenciador, monta um PLANO de execução e o avalia.
+ *
+ * <h3>Sintaxe:</h3>
+ * <pre>
+ *   União ........ ∪   U   |
+ *   Interseção ... ∩   INT &amp;
+ *   Diferença .... -
+ *   Agrupamento .. ( )
+ *   Nomes com espaço ou símbolos: "Meu Conjunto"
+ * </pre>
+ * A interseção tem precedência maior que união e diferença, que são
+ * avaliadas da esquerda para a direita (como na notação matemática usual).
+ *
+ * <h3>Planejamento:</h3>
+ * <ul>
+ *   <li>🧩 Uniões e interseções encadeadas viram operações n-árias</li>
+ *   <li>📉 Cada diferença vira um operando "negado" da interseção
+ *       ((A ∩ B) - D = A ∩ B ∩ D'), aplicado depois das interseções,
+ *       quando o resultado parcial já está no menor tamanho</li>
+ *   <li>🔢 Interseções começam pelo operando de menor cardinalidade e param
+ *       assim que o resultado fica vazio (o resto nem é calculado)</li>
+ *   <li>🧮 Tudo roda sobre {@link ConjuntoNomeado} (bitmaps), sem TreeSets
+ *       intermediários</li>
+ * </ul>
+ *
+ * @author Sistema TGC - Módulo Conjuntos
+ * @version 2.0 - Expressões N-árias
+ * @since 2025
+ * ============================================================================
+ */
+public final class ExpressaoConjuntos {
+
+    private final String texto;
+    private final No raiz;
+
+    private ExpressaoConjuntos(String texto, No raiz) {
+        this.texto = texto;
+        this.raiz = raiz;
+    }
+
+    /**
+     * Analisa a expressão e monta o plano otimizado.
+     *
+     * @param resolver devolve o conjunto de um nome (ou null se não existir)
+     * @throws IllegalArgumentException se a expressão for inválida ou citar
+     *         um conjunto inexistente
+     */
+    public static ExpressaoConjuntos planejar(String texto, Function<String, ConjuntoNomeado> resolver) {
+        Analisador analisador = new Analisador(texto, resolver);
+        No raiz = analisador.analisar();
+        raiz.otimizar();
+        return new ExpressaoConjuntos(texto.trim(), raiz);
+    }
+
+    /**
+     * Texto original da expressão
+     */
+    public String texto() {
+        return texto;
+    }
+
+    /**
+     * Plano escolhido, uma linha por nó, com as cardinalidades estimadas
+     */
+    public List<String> descreverPlano() {
+        List<String> linhas = new ArrayList<>();
+        raiz.descrever(linhas, "");
+        return linhas;
+    }
+
+    /**
+     * Avalia o plano, registrando em {@code passos} cada operação executada
+     * com a cardinalidade real do resultado parcial
+     */
+    public ConjuntoNomeado avaliar(List<String> passos) {
+        return raiz.avaliar(passos);
+    }
+
+    // ========================================================================
+    //                             NÓS DO PLANO
+    // ========================================================================
+
+    private abstract static class No {
+        /** Limite superior da cardinalidade do resultado */
+        abstract long estimativa();
+        abstract String texto();
+        abstract void otimizar();
+        abstract void descrever(List<String> linhas, String recuo);
+        abstract ConjuntoNomeado avaliar(List<String> passos);
+
+        /** Texto entre parênteses quando o nó não é um nome simples */
+        String comoOperando() {
+            return "(" + texto() + ")";
+        }
+    }
+
+    /**
+     * Conjunto nomeado (folha)
+     */
+    private static final class Folha extends No {
+        final String nome;
+        final ConjuntoNomeado conjunto;
+
+        Folha(String nome, ConjuntoNomeado conjunto) {
+            this.nome = nome;
+            this.conjunto = conjunto;
+        }
+
+        long estimativa() { return conjunto.tamanho(); }
+        String texto() { return nome; }
+        String comoOperando() { return nome; }
+        void otimizar() { }
+
+        void descrever(List<String> linhas, String recuo) {
+            linhas.add(recuo + nome + "  [|" + nome + "| = " + conjunto.tamanho() + "]");
+        }
+
+        ConjuntoNomeado avaliar(List<String> passos) {
+            return conjunto;
+        }
+    }
+
+    /**
+     * União n-ária
+     */
+    private static final class NoUniao extends No {
+        final List<No> operandos = new ArrayList<>();
+
+        long estimativa() {
+            long soma = 0;
+            for (No no : operandos) soma += no.estimativa();
+            return soma;
+        }
+
+        String texto() {
+            return juntar(operandos, " ∪ ");
+        }
+
+        void otimizar() {
+            for (No no : operandos) no.otimizar();
+            // Menores primeiro: os resultados parciais crescem o mais tarde possível
+            operandos.sort(Comparator.comparingLong(No::estimativa));
+        }
+
+        void descrever(List<String> linhas, String recuo) {
+            linhas.add(recuo + "∪ UNIÃO de " + operandos.size() + " operandos  [estimativa ≤ " + estimativa() + "]");
+            for (No no : operandos) no.descrever(linhas, recuo + "    ");
+        }
+
+        ConjuntoNomeado avaliar(List<String> passos) {
+            ConjuntoNomeado resultado = operandos.get(0).avaliar(passos);
+            String parcial = operandos.get(0).comoOperando();
+            for (int i = 1; i < operandos.size(); i++) {
+                No operando = operandos.get(i);
+                resultado = resultado.uniao(operando.avaliar(passos));
+                parcial = parcial + " ∪ " + operando.comoOperando();
+                registrar(passos, parcial, resultado);
+            }
+            return resultado;
+        }
+    }
+
+    /**
+     * Interseção n-ária com operandos negados (as diferenças)
+     */
+    private static final class NoIntersecao extends No {
+        final List<No> positivos = new ArrayList<>();
+        final List<No> negativos = new ArrayList<>();
+
+        long estimativa() {
+            long menor = Long.MAX_VALUE;
+            for (No no : positivos) menor = Math.min(menor, no.estimativa());
+            return menor;
+        }
+
+        String texto() {
+            String base = positivos.size() == 1 ? positivos.get(0).comoOperando() : juntar(positivos, " ∩ ");
+            return negativos.isEmpty() ? base : base + " - " + juntar(negativos, " - ");
+        }
+
+        void otimizar() {
+            for (No no : positivos) no.otimizar();
+            for (No no : negativos) no.otimizar();
+            // Interseções: do menor para o maior
+            positivos.sort(Comparator.comparingLong(No::estimativa));
+            // Diferenças: as maiores primeiro, que tendem a remover mais
+            negativos.sort(Comparator.comparingLong(No::estimativa).reversed());
+        }
+
+        void descrever(List<String> linhas, String recuo) {
+            if (positivos.size() > 1) {
+                linhas.add(recuo + "∩ INTERSEÇÃO de " + positivos.size()
+                    + " operandos, menor primeiro  [estimativa ≤ " + estimativa() + "]");
+                for (No no : positivos) no.descrever(linhas, recuo + "    ");
+            } else {
+                positivos.get(0).descrever(linhas, recuo);
+            }
+            for (No no : negativos) {
+                linhas.add(recuo + "- DIFERENÇA aplicada por último, sobre o menor resultado parcial:");
+                no.descrever(linhas, recuo + "    ");
+            }
+        }
+
+        ConjuntoNomeado avaliar(List<String> passos) {
+            ConjuntoNomeado resultado = positivos.get(0).avaliar(passos);
+            String parcial = positivos.get(0).comoOperando();
+
+            for (int i = 1; i < positivos.size(); i++) {
+                if (resultado.estaVazio()) {
+                    passos.add("Resultado parcial vazio: " + (positivos.size() - i)
+                        + " interseção(ões) restante(s) não precisaram ser calculadas");
+                    return resultado;
+                }
+                No operando = positivos.get(i);
+                resultado = resultado.intersecao(operando.avaliar(passos));
+                parcial = parcial + " ∩ " + operando.comoOperando();
+                registrar(passos, parcial, resultado);
+            }
+
+            for (No operando : negativos) {
+                if (resultado.estaVazio()) {
+                    break;
+                }
+                resultado = resultado.diferenca(operando.avaliar(passos));
+                parcial = parcial + " - " + operando.comoOperando();
+                registrar(passos, parcial, resultado);
+            }
+            return resultado;
+        }
+    }
+
+    private static void registrar(List<String> passos, String parcial, ConjuntoNomeado resultado) {
+        passos.add("Passo " + (passos.size() + 1) + ": " + parcial + "  →  " + resultado.tamanho() + " elemento(s)");
+    }
+
+    private static String juntar(List<No> nos, String operador) {
+        StringBuilder sb = new StringBuilder();
+        for (No no : nos) {
+            if (sb.length() > 0) sb.append(operador);
+            sb.append(no.comoOperando());
+        }
+        return sb.toString();
+    }
+
+    // ========================================================================
+    //                      ANALISADOR (DESCIDA RECURSIVA)
+    // ========================================================================
+
+    /**
+     * expressao := termo (('∪' | '-') termo)*
+     * termo     := fator ('∩' fator)*
+     * fator     := NOME | '(' expressao ')'
+     */
+    private static final class Analisador {
+        private final String texto;
+        private final Function<String, ConjuntoNomeado> resolver;
+        private int pos;
+
+        Analisador(String texto, Function<String, ConjuntoNomeado> resolver) {
+            this.texto = texto;
+            this.resolver = resolver;
+        }
+
+        No analisar() {
+            No raiz = expressao();
+            pularEspacos();
+            if (pos < texto.length()) {
+                throw new IllegalArgumentException("Símbolo inesperado na posição " + (pos + 1) + ": '" + texto.charAt(pos) + "'");
+            }
+            return raiz;
+        }
+
+        private No expressao() {
+            No esquerda = termo();
+            while (true) {
+                if (consumirUniao()) {
+                    esquerda = unir(esquerda, termo());
+                } else if (consumir('-')) {
+                    esquerda = subtrair(esquerda, termo());
+                } else {
+                    return esquerda;
+                }
+            }
+        }
+
+        private No termo() {
+            No esquerda = fator();
+            while (consumirIntersecao()) {
+                esquerda = intersectar(esquerda, fator());
+            }
+            return esquerda;
+        }
+
+        private No fator() {
+            pularEspacos();
+            if (consumir('(')) {
+                No interno = expressao();
+                if (!consumir(')')) {
+                    throw new IllegalArgumentException("Parêntese ')' esperado na posição " + (pos + 1));
+                }
+                return interno;
+            }
+
+            String nome = lerNome();
+            ConjuntoNomeado conjunto = resolver.apply(nome);
+            if (conjunto == null) {
+                throw new IllegalArgumentException("Conjunto não encontrado: " + nome);
+            }
+            return new Folha(nome, conjunto);
+        }
+
+        // ----- construção já normalizada (achatamento n-ário) -----
+
+        private static No unir(No a, No b) {
+            NoUniao uniao = new NoUniao();
+            for (No no : new No[] {a, b}) {
+                if (no instanceof NoUniao) {
+                    uniao.operandos.addAll(((NoUniao) no).operandos);
+                } else {
+                    uniao.operandos.add(no);
+                }
+            }
+            return uniao;
+        }
+
+        private static No intersectar(No a, No b) {
+            NoIntersecao intersecao = new NoIntersecao();
+            for (No no : new No[] {a, b}) {
+                if (no instanceof NoIntersecao) {
+                    intersecao.positivos.addAll(((NoIntersecao) no).positivos);
+                    intersecao.negativos.addAll(((NoIntersecao) no).negativos);
+                } else {
+                    intersecao.positivos.add(no);
+                }
+            }
+            return intersecao;
+        }
+
+        private static No subtrair(No a, No b) {
+            NoIntersecao intersecao;
+            if (a instanceof NoIntersecao) {
+                intersecao = (NoIntersecao) a;
+            } else {
+                intersecao = new NoIntersecao();
+                intersecao.positivos.add(a);
+            }
+            intersecao.negativos.add(b);
+            return intersecao;
+        }
+
+        // ----- leitura de símbolos -----
+
+        private void pularEspacos() {
+            while (pos < texto.length() && Character.isWhitespace(texto.charAt(pos))) pos++;
+        }
+
+        private boolean consumir(char c) {
+            pularEspacos();
+            if (pos < texto.length() && texto.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean consumirUniao() {
+            return consumir('∪') || consumir('|') || consumirPalavra("U");
+        }
+
+        private boolean consumirIntersecao() {
+            return consumir('∩') || consumir('&') || consumirPalavra("INT");
+        }
+
+        /**
+         * Operador escrito como palavra ("U", "INT"), que precisa estar isolado
+         */
+        private boolean consumirPalavra(String palavra) {
+            pularEspacos();
+            int fim = pos + palavra.length();
+            if (fim <= texto.length()
+                    && texto.regionMatches(true, pos, palavra, 0, palavra.length())
+                    && (fim == texto.length() || !parteDeNome(texto.charAt(fim)))) {
+                pos = fim;
+                return true;
+            }
+            return false;
+        }
+
+        private String lerNome() {
+            pularEspacos();
+            if (pos >= texto.length()) {
+                throw new IllegalArgumentException("Nome de conjunto esperado no fim da expressão");
+            }
+
+            if (texto.charAt(pos) == '"') {
+                int fim = texto.indexOf('"', pos + 1);
+                if (fim < 0) {
+                    throw new IllegalArgumentException("Aspas não fechadas na posição " + (pos + 1));
+                }
+                String nome = texto.substring(pos + 1, fim);
+                pos = fim + 1;
+                return nome;
+            }
+
+            int inicio = pos;
+            while (pos < texto.length() && parteDeNome(texto.charAt(pos))) pos++;
+            if (inicio == pos) {
+                throw new IllegalArgumentException("Nome de conjunto esperado na posição " + (pos + 1) + ": '" + texto.charAt(pos) + "'");
+            }
+            return texto.substring(inicio, pos);
+        }
+
+        private static boolean parteDeNome(char c) {
+            return !Character.isWhitespace(c) && "()∪∩|&-\"".indexOf(c) < 0;
+        }
+    }
+}
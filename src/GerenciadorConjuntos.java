@@ -1,3 +1,4 @@
+import java.io.IOException;
 import java.util.*;
 
 /**
@@ -12,6 +13,8 @@ import java.util.*;
  * <ul>
  *   <li>🏷️ Conjuntos nomeados personalizados</li>
  *   <li>💾 Persistência em memória durante a sessão</li>
+ *   <li>📂 Conjuntos salvos em disco usados pelo nome, sempre atualizados
+ *       ({@link RegistroConjuntosSalvos})</li>
  *   <li>🔄 Operações entre conjuntos salvos</li>
  *   <li>📋 Histórico completo de operações</li>
  *   <li>🎯 Interface intuitiva de gerenciamento</li>
@@ -25,20 +28,48 @@ import java.util.*;
 public class GerenciadorConjuntos {
     
     // Dicionário para guardar conjuntos com nomes
-    private final Map<String, TreeSet<String>> conjuntosSalvos;
+    // (conjuntos só de inteiros viram bitmap compactado automaticamente)
+    private final Map<String, ConjuntoNomeado> conjuntosSalvos;
     
-    // Lista para histórico de operações
-    private final List<String> historico;
+    // Cada elemento de texto guardado uma única vez, compartilhado por todos os conjuntos
+    private final DicionarioElementos dicionario;
+    
+    // Histórico das últimas operações (os mais antigos vão para arquivo)
+    private final HistoricoCircular historico;
+    
+    // Últimos resultados de operações, para não recalcular repetições
+    private final CacheOperacoes cache;
+    
+    // Exibição resumida/paginada, sem montar Strings gigantes
+    private final RenderizadorConjuntos renderizador;
     
     // Interface para conversar com usuário
     private final InterfaceEducacionalASCII ui;
     
+    // Conjuntos salvos em disco (null = só os da sessão); os da sessão
+    // têm prioridade quando o nome se repete
+    private final RegistroConjuntosSalvos registro;
+    
+    // Versão de cada conjunto do disco já usada (mudou = cache invalidado)
+    private final Map<String, Long> versoesVistas = new HashMap<>();
+    
     /**
      * CONSTRUTOR - Inicializa o gerenciador
      */
     public GerenciadorConjuntos(InterfaceEducacionalASCII ui) {
+        this(ui, null);
+    }
+    
+    /**
+     * CONSTRUTOR - Com acesso aos conjuntos salvos em disco
+     */
+    public GerenciadorConjuntos(InterfaceEducacionalASCII ui, RegistroConjuntosSalvos registro) {
         this.conjuntosSalvos = new HashMap<>();
-        this.historico = new ArrayList<>();
+        this.registro = registro;
+        this.dicionario = new DicionarioElementos();
+        this.historico = new HistoricoCircular(100, 10, "historico_gerenciador.txt");
+        this.cache = new CacheOperacoes(64);
+        this.renderizador = new RenderizadorConjuntos(10, 100);
         this.ui = ui;
         
         // Criar alguns conjuntos de exemplo
@@ -72,13 +103,17 @@ public class GerenciadorConjuntos {
                     removerConjunto();
                     break;
                 case 6:
+                    avaliarExpressao();
+                    break;
+                case 7:
                     continuar = false;
                     break;
                 default:
-                    ui.exibirErro("Opção inválida! Digite 1-6.");
+                    ui.exibirErro("Opção inválida! Digite 1-7.");
                     ui.pausar();
             }
         }
+        historico.close();
     }
     
     /**
@@ -90,15 +125,21 @@ public class GerenciadorConjuntos {
         System.out.println("          ** GERENCIADOR DE CONJUNTOS AVANÇADO **");
         System.out.println("================================================================");
         System.out.println();
-        System.out.println("** CONJUNTOS SALVOS: " + conjuntosSalvos.size());
-        System.out.println("** OPERAÇÕES NO HISTÓRICO: " + historico.size());
+        System.out.println("** CONJUNTOS SALVOS: " + conjuntosSalvos.size()
+            + " (" + dicionario.tamanho() + " elementos de texto distintos no dicionário)");
+        if (registro != null) {
+            System.out.println("** CONJUNTOS EM DISCO: " + registro.nomes().size()
+                + " (" + registro.carregamentos() + " leitura(s) de arquivo)");
+        }
+        System.out.println("** OPERAÇÕES NO HISTÓRICO: " + historico.total());
         System.out.println();
         System.out.println("  [1] Criar Novo Conjunto");
         System.out.println("  [2] Listar Todos os Conjuntos");
         System.out.println("  [3] Fazer Operação entre Conjuntos");
         System.out.println("  [4] Ver Histórico de Operações");
         System.out.println("  [5] Remover Conjunto");
-        System.out.println("  [6] Voltar ao Menu Principal");
+        System.out.println("  [6] Avaliar Expressão (ex: (A ∪ B) ∩ C - D)");
+        System.out.println("  [7] Voltar ao Menu Principal");
         System.out.println();
         System.out.println("================================================================");
         System.out.print(">> Sua escolha: ");
@@ -130,26 +171,22 @@ public class GerenciadorConjuntos {
         // Pedir elementos
         System.out.print("Digite os elementos (separados por espaço): ");
         String entrada = ui.lerTexto();
-        String[] elementos = entrada.split(" ");
         
-        // Criar conjunto ordenado
-        TreeSet<String> novoConjunto = new TreeSet<>();
-        for (String elem : elementos) {
-            if (!elem.trim().isEmpty()) {
-                novoConjunto.add(elem.trim());
-            }
-        }
+        // Criar conjunto (a representação é escolhida automaticamente)
+        ConjuntoNomeado novoConjunto = ConjuntoNomeado.lerDeTexto(entrada, dicionario);
         
-        // Salvar
+        // Salvar (resultados antigos com esse nome deixam de valer)
         conjuntosSalvos.put(nome, novoConjunto);
+        cache.invalidar(nome);
         
         // Mostrar resultado
         System.out.println();
         System.out.println("** CONJUNTO CRIADO COM SUCESSO! **");
-        System.out.println(nome + " = {" + String.join(", ", novoConjunto) + "}");
+        renderizador.imprimirResumo(nome + " = ", novoConjunto);
+        System.out.println("Representação: " + novoConjunto.descreverRepresentacao());
         
         // Adicionar ao histórico
-        historico.add("CRIADO: " + nome + " = {" + String.join(", ", novoConjunto) + "}");
+        historico.registrar("CRIADO", null, novoConjunto, nome);
         
         ui.pausar();
     }
@@ -161,15 +198,32 @@ public class GerenciadorConjuntos {
         System.out.println("\n** SEUS CONJUNTOS SALVOS **");
         System.out.println();
         
-        if (conjuntosSalvos.isEmpty()) {
+        String[] nomes = nomesDisponiveis();
+        if (nomes.length == 0) {
             System.out.println("Nenhum conjunto salvo ainda.");
         } else {
-            int contador = 1;
-            for (Map.Entry<String, TreeSet<String>> entry : conjuntosSalvos.entrySet()) {
-                String nome = entry.getKey();
-                TreeSet<String> conjunto = entry.getValue();
-                System.out.println(contador + ". " + nome + " = {" + String.join(", ", conjunto) + "}");
-                contador++;
+            for (int i = 0; i < nomes.length; i++) {
+                imprimirResumo(i, nomes[i]);
+            }
+            
+            // Conjuntos grandes podem ser vistos por inteiro, página a página
+            System.out.println();
+            System.out.print("Ver um conjunto completo? Número (1-" + nomes.length + ") ou ENTER para voltar: ");
+            String escolha = ui.lerTexto().trim();
+            if (!escolha.isEmpty()) {
+                try {
+                    int idx = Integer.parseInt(escolha) - 1;
+                    ConjuntoNomeado escolhido = idx >= 0 && idx < nomes.length ? buscar(nomes[idx]) : null;
+                    if (escolhido != null) {
+                        renderizador.paginar(nomes[idx], escolhido, ui);
+                    } else if (idx < 0 || idx >= nomes.length) {
+                        System.out.println("Índice inválido!");
+                    }
+                } catch (NumberFormatException e) {
+                    System.out.println("Índice inválido!");
+                }
+            } else {
+                return;
             }
         }
         
@@ -181,7 +235,8 @@ public class GerenciadorConjuntos {
      * OPERAR ENTRE CONJUNTOS - União, interseção, diferença
      */
     private void operarEntreConjuntos() {
-        if (conjuntosSalvos.size() < 2) {
+        String[] nomes = nomesDisponiveis();
+        if (nomes.length < 2) {
             System.out.println("\nVocê precisa de pelo menos 2 conjuntos para fazer operações!");
             System.out.println("Crie mais conjuntos primeiro.");
             ui.pausar();
@@ -193,9 +248,8 @@ public class GerenciadorConjuntos {
         
         // Listar conjuntos disponíveis
         System.out.println("Conjuntos disponíveis:");
-        String[] nomes = conjuntosSalvos.keySet().toArray(String[]::new);
         for (int i = 0; i < nomes.length; i++) {
-            System.out.println((i + 1) + ". " + nomes[i] + " = {" + String.join(", ", conjuntosSalvos.get(nomes[i])) + "}");
+            imprimirResumo(i, nomes[i]);
         }
         System.out.println();
         
@@ -219,8 +273,12 @@ public class GerenciadorConjuntos {
         
         String nome1 = nomes[idx1];
         String nome2 = nomes[idx2];
-        TreeSet<String> conjunto1 = conjuntosSalvos.get(nome1);
-        TreeSet<String> conjunto2 = conjuntosSalvos.get(nome2);
+        ConjuntoNomeado conjunto1 = buscar(nome1);
+        ConjuntoNomeado conjunto2 = buscar(nome2);
+        if (conjunto1 == null || conjunto2 == null) {
+            ui.pausar();
+            return;
+        }
         
         // Escolher operação
         System.out.println();
@@ -256,6 +314,55 @@ public class GerenciadorConjuntos {
         ui.pausar();
     }
     
+    /**
+     * AVALIAR EXPRESSÃO - Várias operações de uma vez, com plano otimizado
+     */
+    private void avaliarExpressao() {
+        System.out.println("\n** AVALIAR EXPRESSÃO ENTRE CONJUNTOS **");
+        System.out.println();
+        System.out.println("Conjuntos disponíveis: " + String.join(", ", nomesDisponiveis()));
+        System.out.println("Operadores: ∪ ou U (união), ∩ ou INT (interseção), - (diferença), ( )");
+        System.out.println("Nomes com espaço vão entre aspas: \"Meu Conjunto\"");
+        System.out.println();
+        System.out.print("Expressão: ");
+        String entrada = ui.lerTexto();
+        
+        ExpressaoConjuntos expressao;
+        try {
+            expressao = ExpressaoConjuntos.planejar(entrada, this::buscar);
+        } catch (IllegalArgumentException e) {
+            ui.exibirErro("Expressão inválida: " + e.getMessage());
+            ui.pausar();
+            return;
+        }
+        
+        // Mostrar plano escolhido
+        System.out.println();
+        System.out.println("** PLANO DE EXECUÇÃO **");
+        for (String linha : expressao.descreverPlano()) {
+            System.out.println("  " + linha);
+        }
+        
+        // Executar e mostrar cada passo
+        List<String> passos = new ArrayList<>();
+        ConjuntoNomeado resultado = expressao.avaliar(passos);
+        System.out.println();
+        System.out.println("** EXECUÇÃO **");
+        if (passos.isEmpty()) {
+            System.out.println("  (nenhuma operação necessária)");
+        }
+        for (String passo : passos) {
+            System.out.println("  " + passo);
+        }
+        
+        System.out.println();
+        renderizador.imprimirResumo("** RESULTADO: " + expressao.texto() + " = ", resultado);
+        System.out.println("Cardinalidade: " + resultado.tamanho());
+        historico.registrar("EXPRESSÃO", null, resultado, expressao.texto());
+        
+        ui.pausar();
+    }
+    
     /**
      * VER HISTÓRICO de todas as operações
      */
@@ -263,14 +370,21 @@ public class GerenciadorConjuntos {
         System.out.println("\n** HISTÓRICO DE OPERAÇÕES **");
         System.out.println();
         
-        if (historico.isEmpty()) {
+        if (historico.estaVazio()) {
             System.out.println("Nenhuma operação realizada ainda.");
         } else {
-            for (int i = 0; i < historico.size(); i++) {
-                System.out.println((i + 1) + ". " + historico.get(i));
+            if (historico.transbordados() > 0) {
+                System.out.println("(" + historico.transbordados() + " operação(ões) mais antiga(s) em '"
+                    + historico.arquivoTransbordo() + "')");
+            }
+            for (HistoricoCircular.Registro registro : historico.recentes()) {
+                System.out.println(registro.numero + ". " + registro.renderizar());
             }
         }
         
+        System.out.println();
+        System.out.println("** CACHE DE RESULTADOS: " + cache.acertos() + " acerto(s), "
+            + cache.falhas() + " falha(s), " + cache.tamanho() + "/" + cache.capacidade() + " entradas");
         System.out.println();
         ui.pausar();
     }
@@ -300,7 +414,8 @@ public class GerenciadorConjuntos {
         if (idx >= 0 && idx < nomes.length) {
             String nomeRemovido = nomes[idx];
             conjuntosSalvos.remove(nomeRemovido);
-            historico.add("REMOVIDO: " + nomeRemovido);
+            cache.invalidar(nomeRemovido);
+            historico.registrar("REMOVIDO", null, null, nomeRemovido);
             System.out.println("Conjunto '" + nomeRemovido + "' removido!");
         } else {
             System.out.println("Índice inválido!");
@@ -311,49 +426,93 @@ public class GerenciadorConjuntos {
     
     // ===== OPERAÇÕES COM CONJUNTOS NOMEADOS =====
     
-    private void calcularUniaoNomeada(String nome1, TreeSet<String> conjunto1, String nome2, TreeSet<String> conjunto2) {
-        TreeSet<String> resultado = new TreeSet<>(conjunto1);
-        resultado.addAll(conjunto2);
+    /**
+     * Nomes da sessão seguidos dos conjuntos em disco que não repetem um deles
+     */
+    private String[] nomesDisponiveis() {
+        List<String> nomes = new ArrayList<>(conjuntosSalvos.keySet());
+        if (registro != null) {
+            for (String nome : registro.nomes()) {
+                if (!conjuntosSalvos.containsKey(nome)) {
+                    nomes.add(nome);
+                }
+            }
+        }
+        return nomes.toArray(String[]::new);
+    }
+
+    /**
+     * BUSCAR um conjunto pelo nome: primeiro os da sessão, depois o disco
+     * (lido uma vez e reaproveitado até o arquivo mudar)
+     *
+     * @return o conjunto, ou null se não existir ou não puder ser lido
+     */
+    private ConjuntoNomeado buscar(String nome) {
+        ConjuntoNomeado conjunto = conjuntosSalvos.get(nome);
+        if (conjunto != null || registro == null) {
+            return conjunto;
+        }
+        try {
+            // Conjunto e versão vêm juntos: uma troca do arquivo entre as duas
+            // consultas deixaria conteúdo novo marcado com a versão antiga
+            RegistroConjuntosSalvos.Carregado carregado = registro.obter(nome, dicionario);
+            if (carregado == null) {
+                return null;
+            }
+            // Arquivo alterado desde o último uso: resultados antigos não valem mais
+            Long vista = versoesVistas.put(nome, carregado.versao);
+            if (vista != null && vista != carregado.versao) {
+                cache.invalidar(nome);
+            }
+            return carregado.conjunto;
+        } catch (IOException e) {
+            System.out.println("ERRO ao ler conjunto salvo '" + nome + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Linha de resumo; conjuntos em disco ainda não lidos mostram só o cabeçalho
+     */
+    private void imprimirResumo(int indice, String nome) {
+        ConjuntoNomeado conjunto = conjuntosSalvos.get(nome);
+        if (conjunto != null) {
+            renderizador.imprimirResumo((indice + 1) + ". " + nome + " = ", conjunto);
+        } else {
+            System.out.println((indice + 1) + ". " + nome + " = [em disco, "
+                + registro.cardinalidade(nome) + " elemento(s)]");
+        }
+    }
+
+    private void calcularUniaoNomeada(String nome1, ConjuntoNomeado conjunto1, String nome2, ConjuntoNomeado conjunto2) {
+        ConjuntoNomeado resultado = cache.obter("UNIÃO", nome1, nome2, () -> conjunto1.uniao(conjunto2));
         
-        String operacao = nome1 + " U " + nome2 + " = {" + String.join(", ", resultado) + "}";
-        System.out.println("** UNIÃO: " + operacao);
-        historico.add("UNIÃO: " + operacao);
+        renderizador.imprimirResumo("** UNIÃO: " + nome1 + " U " + nome2 + " = ", resultado);
+        historico.registrar("UNIÃO", "U", resultado, nome1, nome2);
     }
     
-    private void calcularIntersecaoNomeada(String nome1, TreeSet<String> conjunto1, String nome2, TreeSet<String> conjunto2) {
-        TreeSet<String> resultado = new TreeSet<>(conjunto1);
-        resultado.retainAll(conjunto2);
+    private void calcularIntersecaoNomeada(String nome1, ConjuntoNomeado conjunto1, String nome2, ConjuntoNomeado conjunto2) {
+        ConjuntoNomeado resultado = cache.obter("INTERSEÇÃO", nome1, nome2, () -> conjunto1.intersecao(conjunto2));
         
-        String operacao = nome1 + " INT " + nome2 + " = {" + String.join(", ", resultado) + "}";
-        System.out.println("** INTERSEÇÃO: " + operacao);
-        historico.add("INTERSEÇÃO: " + operacao);
+        renderizador.imprimirResumo("** INTERSEÇÃO: " + nome1 + " INT " + nome2 + " = ", resultado);
+        historico.registrar("INTERSEÇÃO", "INT", resultado, nome1, nome2);
     }
     
-    private void calcularDiferencaNomeada(String nome1, TreeSet<String> conjunto1, String nome2, TreeSet<String> conjunto2) {
-        TreeSet<String> resultado = new TreeSet<>(conjunto1);
-        resultado.removeAll(conjunto2);
+    private void calcularDiferencaNomeada(String nome1, ConjuntoNomeado conjunto1, String nome2, ConjuntoNomeado conjunto2) {
+        ConjuntoNomeado resultado = cache.obter("DIFERENÇA", nome1, nome2, () -> conjunto1.diferenca(conjunto2));
         
-        String operacao = nome1 + " - " + nome2 + " = {" + String.join(", ", resultado) + "}";
-        System.out.println("** DIFERENÇA: " + operacao);
-        historico.add("DIFERENÇA: " + operacao);
+        renderizador.imprimirResumo("** DIFERENÇA: " + nome1 + " - " + nome2 + " = ", resultado);
+        historico.registrar("DIFERENÇA", "-", resultado, nome1, nome2);
     }
     
     /**
      * Criar alguns conjuntos de exemplo para demonstração
      */
     private void criarConjuntosExemplo() {
-        TreeSet<String> naturais = new TreeSet<>();
-        naturais.addAll(Arrays.asList("1", "2", "3", "4", "5"));
-        conjuntosSalvos.put("Naturais", naturais);
-        
-        TreeSet<String> pares = new TreeSet<>();
-        pares.addAll(Arrays.asList("2", "4", "6", "8"));
-        conjuntosSalvos.put("Pares", pares);
-        
-        TreeSet<String> vogais = new TreeSet<>();
-        vogais.addAll(Arrays.asList("a", "e", "i", "o", "u"));
-        conjuntosSalvos.put("Vogais", vogais);
+        conjuntosSalvos.put("Naturais", ConjuntoNomeado.de(Arrays.asList("1", "2", "3", "4", "5"), dicionario));
+        conjuntosSalvos.put("Pares", ConjuntoNomeado.de(Arrays.asList("2", "4", "6", "8"), dicionario));
+        conjuntosSalvos.put("Vogais", ConjuntoNomeado.de(Arrays.asList("a", "e", "i", "o", "u"), dicionario));
         
-        historico.add("SISTEMA: Conjuntos de exemplo criados");
+        historico.registrar("SISTEMA", null, null, "Conjuntos de exemplo criados");
     }
 }
@@ -0,0 +1,204 @@
+import java.io.*;
+import java.util.*;
+
+/**
+ * ============================================================================
+ *              HISTÓRICO CIRCULAR DE OPERAÇÕES (MEMÓRIA LIMITADA)
+ * ============================================================================
+ *
+ * Guarda as últimas operações do Gerenciador num buffer circular de
+ * capacidade fixa. Cada registro é ESTRUTURADO (tipo, operador, nomes dos
+ * operandos, cardinalidade e uma AMOSTRA do resultado: os primeiros e os
+ * últimos elementos) - o conjunto resultado em si não fica preso ao histórico.
+ *
+ * <h3>Características:</h3>
+ * <ul>
+ *   <li>🔁 Buffer circular: memória limitada, não importa o tamanho da sessão
+ *       nem dos resultados</li>
+ *   <li>💤 Texto montado sob demanda ({@link Registro#renderizar()})</li>
+ *   <li>💾 Ao encher, o registro mais antigo é gravado no arquivo de
+ *       transbordo antes de sair da memória, por um único escritor aberto
+ *       na primeira vez e fechado em {@link #close()}</li>
+ * </ul>
+ *
+ * @author Sistema TGC - Módulo Conjuntos
+ * @version 2.0 - Histórico Circular
+ * @since 2025
+ * ============================================================================
+ */
+public final class HistoricoCircular implements Closeable {
+
+    private final Registro[] registros;
+    private final int amostra;
+    private final File arquivoTransbordo;
+    private PrintWriter transbordo;  // aberto no primeiro transbordo
+    private int inicio;          // posição do registro mais antigo
+    private int quantidade;      // registros em memória
+    private long total;          // registros desde o início da sessão
+    private long transbordados;  // registros enviados ao arquivo
+
+    /**
+     * @param amostra elementos guardados em cada ponta de um resultado
+     */
+    public HistoricoCircular(int capacidade, int amostra, String arquivoTransbordo) {
+        this.registros = new Registro[capacidade];
+        this.amostra = amostra;
+        this.arquivoTransbordo = new File(arquivoTransbordo).getAbsoluteFile();
+    }
+
+    /**
+     * REGISTRAR uma operação
+     *
+     * @param operador  símbolo entre os operandos ("U", "INT", "-") ou null
+     * @param resultado conjunto resultante, ou null se não houver
+     */
+    public void registrar(String tipo, String operador, ConjuntoNomeado resultado, String... operandos) {
+        Registro registro = new Registro(++total, tipo, operador, operandos, resultado, amostra);
+
+        if (quantidade == registros.length) {
+            transbordar(registros[inicio]);
+            registros[inicio] = registro;
+            inicio = (inicio + 1) % registros.length;
+        } else {
+            registros[(inicio + quantidade) % registros.length] = registro;
+            quantidade++;
+        }
+    }
+
+    /**
+     * Grava o registro mais antigo no arquivo antes de descartá-lo
+     */
+    private void transbordar(Registro registro) {
+        try {
+            if (transbordo == null) {
+                transbordo = new PrintWriter(new BufferedWriter(new FileWriter(arquivoTransbordo, true)));
+            }
+            transbordo.println(registro.numero + ". " + registro.renderizar());
+            transbordo.flush();
+            if (transbordo.checkError()) {
+                throw new IOException("falha de escrita em " + arquivoTransbordo);
+            }
+            transbordados++;
+        } catch (IOException e) {
+            System.out.println("ERRO ao gravar histórico antigo: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Fecha o arquivo de transbordo (se chegou a ser aberto)
+     */
+    @Override
+    public void close() {
+        if (transbordo != null) {
+            transbordo.close();
+            transbordo = null;
+        }
+    }
+
+    // ===== CONSULTAS =====
+
+    /**
+     * Registros em memória, do mais antigo para o mais recente
+     */
+    public List<Registro> recentes() {
+        List<Registro> lista = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            lista.add(registros[(inicio + i) % registros.length]);
+        }
+        return lista;
+    }
+
+    public boolean estaVazio() {
+        return total == 0;
+    }
+
+    public int tamanho() {
+        return quantidade;
+    }
+
+    public int capacidade() {
+        return registros.length;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public long transbordados() {
+        return transbordados;
+    }
+
+    public String arquivoTransbordo() {
+        return arquivoTransbordo.getPath();
+    }
+
+    /**
+     * Uma operação do histórico
+     */
+    public static final class Registro {
+        public final long numero;
+        public final String tipo;             // "UNIÃO", "CRIADO", ...
+        public final String operador;         // null se não for operação binária
+        public final String[] operandos;      // nomes dos conjuntos (ou texto livre)
+        public final int cardinalidade;       // -1 se não houver resultado
+        private final String[] primeiros;     // null se não houver resultado
+        private final String[] ultimos;       // vazio se o resultado coube em primeiros
+
+        private Registro(long numero, String tipo, String operador, String[] operandos,
+                         ConjuntoNomeado resultado, int amostra) {
+            this.numero = numero;
+            this.tipo = tipo;
+            this.operador = operador;
+            this.operandos = operandos;
+            if (resultado == null) {
+                this.cardinalidade = -1;
+                this.primeiros = null;
+                this.ultimos = null;
+            } else {
+                int n = resultado.tamanho();
+                this.cardinalidade = n;
+                this.primeiros = amostrar(resultado, 0, n <= 2 * amostra ? n : amostra);
+                this.ultimos = amostrar(resultado, n <= 2 * amostra ? n : n - amostra, n);
+            }
+        }
+
+        private static String[] amostrar(ConjuntoNomeado conjunto, int de, int ate) {
+            String[] elementos = new String[ate - de];
+            int[] posicao = {0};
+            conjunto.paraCadaEntre(de, ate, elem -> elementos[posicao[0]++] = elem);
+            return elementos;
+        }
+
+        /**
+         * true se a operação gerou um conjunto
+         */
+        public boolean temResultado() {
+            return primeiros != null;
+        }
+
+        /**
+         * Só a operação, sem os elementos: "UNIÃO: A U B"
+         */
+        public String cabecalho() {
+            return tipo + ": " + String.join(operador == null ? " " : " " + operador + " ", operandos);
+        }
+
+        /**
+         * Texto com a amostra, como "UNIÃO: A U B = {1, 2, 3}" ou, para
+         * resultados grandes, "... = {1, 2, ..., 999, 1000} (1000 elementos)"
+         */
+        public String renderizar() {
+            if (primeiros == null) {
+                return cabecalho();
+            }
+            StringBuilder texto = new StringBuilder(cabecalho()).append(" = {");
+            texto.append(String.join(", ", primeiros));
+            if (cardinalidade == primeiros.length) {
+                return texto.append('}').toString();
+            }
+            return texto.append(primeiros.length == 0 ? "..., " : ", ..., ")
+                .append(String.join(", ", ultimos))
+                .append("} (").append(cardinalidade).append(" elementos)").toString();
+        }
+    }
+}
@@ -0,0 +1,489 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * ============================================================================
+ *             IMPORTADOR DE TEXTO EM FLUXO (ARQUIVOS DE VÁRIOS GB)
+ * ============================================================================
+ *
+ * Lê um arquivo de texto por um {@link CharBuffer} de tamanho fixo e separa
+ * as palavras nos espaços em branco SEM expressão regular, colocando cada
+ * uma direto no conjunto. O texto bruto nunca fica inteiro na memória: só
+ * o buffer atual e as palavras distintas encontradas.
+ *
+ * <h3>Características:</h3>
+ * <ul>
+ *   <li>📦 Buffer fixo de 64 K caracteres, reaproveitado a cada leitura</li>
+ *   <li>✂️ Palavras cortadas entre dois buffers são emendadas</li>
+ *   <li>🧹 Repetições descartadas na hora, sem criar String para elas
+ *       (tabela hash sobre os próprios chars do buffer)</li>
+ *   <li>📈 Progresso (%, MB lidos) e vazão (MB/s) durante a leitura</li>
+ * </ul>
+ *
+ * <h3>Modo paralelo:</h3>
+ * O arquivo é dividido em faixas de bytes que terminam sempre num espaço
+ * ASCII (espaço, tab, quebra de linha) - assim nenhuma palavra é cortada,
+ * e em UTF-8 esses bytes nunca aparecem no meio de um caractere. Cada
+ * faixa é lida e separada numa tarefa do ForkJoinPool, com sua própria
+ * tabela de palavras; as tabelas são juntadas duas a duas no final.
+ * O nível de paralelismo vem da propriedade
+ * {@code -Dtgc.importacao.paralelismo=N} (padrão: número de núcleos).
+ *
+ * @author Sistema TGC - Módulo Persistência
+ * @version 2.0 - Importação em Fluxo
+ * @since 2025
+ * ============================================================================
+ */
+public final class ImportadorTexto {
+
+    private static final int TAMANHO_BUFFER = 1 << 16;
+    private static final long INTERVALO_PROGRESSO_NS = 500_000_000L;
+
+    // Faixas menores que isso não compensam uma tarefa separada
+    private static final long FAIXA_MINIMA = 1 << 20;
+    private static final int FAIXAS_POR_THREAD = 4;
+
+    private ImportadorTexto() {
+    }
+
+    /**
+     * IMPORTAR o arquivo, mostrando o progresso em {@code aoProgresso}
+     */
+    public static Resultado importar(File arquivo, Consumer<String> aoProgresso) throws IOException {
+        long inicio = System.nanoTime();
+        long tamanho = arquivo.length();
+        TabelaPalavras distintos = new TabelaPalavras();
+
+        try (EntradaContada contada = new EntradaContada(new FileInputStream(arquivo));
+             Reader leitor = new InputStreamReader(contada, Charset.defaultCharset())) {
+
+            long[] ultimoAviso = {inicio};
+            tokenizar(leitor, distintos, () -> {
+                long agora = System.nanoTime();
+                if (agora - ultimoAviso[0] >= INTERVALO_PROGRESSO_NS) {
+                    ultimoAviso[0] = agora;
+                    aoProgresso.accept(descreverProgresso(contada.lidos, tamanho, agora - inicio, distintos.tamanho()));
+                }
+            });
+        }
+
+        return new Resultado(distintos.ordenados(), distintos.tokens(), tamanho, System.nanoTime() - inicio);
+    }
+
+    /**
+     * Paralelismo configurado (-Dtgc.importacao.paralelismo=N)
+     */
+    public static int paralelismoPadrao() {
+        int padrao = Runtime.getRuntime().availableProcessors();
+        try {
+            int valor = Integer.parseInt(System.getProperty("tgc.importacao.paralelismo", Integer.toString(padrao)));
+            return Math.max(1, valor);
+        } catch (NumberFormatException e) {
+            return padrao;
+        }
+    }
+
+    /**
+     * IMPORTAR EM PARALELO: faixas alinhadas em espaços, uma tabela por
+     * faixa, juntadas no final. Com paralelismo 1 é o mesmo que
+     * {@link #importar}.
+     */
+    public static Resultado importarParalelo(File arquivo, int paralelismo, Consumer<String> aoProgresso) throws IOException {
+        if (paralelismo <= 1) {
+            return importar(arquivo, aoProgresso);
+        }
+
+        long inicio = System.nanoTime();
+        long tamanho = arquivo.length();
+        AtomicLong lidos = new AtomicLong();
+
+        try (FileChannel canal = FileChannel.open(arquivo.toPath(), StandardOpenOption.READ)) {
+            long[] limites = dividirEmFaixas(canal, tamanho, paralelismo * FAIXAS_POR_THREAD);
+
+            ForkJoinPool pool = new ForkJoinPool(paralelismo);
+            try {
+                ForkJoinTask<TabelaPalavras> tarefa = pool.submit(new TarefaFaixas(canal, limites, 0, limites.length - 1, lidos));
+
+                // Enquanto as tarefas rodam, esta thread só mostra o progresso
+                while (true) {
+                    try {
+                        TabelaPalavras distintos = tarefa.get(INTERVALO_PROGRESSO_NS, TimeUnit.NANOSECONDS);
+                        return new Resultado(distintos.ordenados(), distintos.tokens(), tamanho, System.nanoTime() - inicio);
+                    } catch (TimeoutException e) {
+                        aoProgresso.accept(descreverProgresso(lidos.get(), tamanho, System.nanoTime() - inicio, -1));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("importação interrompida");
+            } catch (ExecutionException e) {
+                Throwable causa = e.getCause();
+                if (causa instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) causa).getCause();
+                }
+                throw new IOException("falha na importação paralela: " + causa, causa);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Limites das faixas: cada corte é adiantado até o próximo espaço ASCII
+     * (o espaço fica no fim da faixa anterior)
+     */
+    private static long[] dividirEmFaixas(FileChannel canal, long tamanho, int desejadas) throws IOException {
+        int faixas = (int) Math.max(1, Math.min(desejadas, tamanho / FAIXA_MINIMA));
+        List<Long> limites = new ArrayList<>();
+        limites.add(0L);
+
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        for (int k = 1; k < faixas; k++) {
+            long corte = Math.max(tamanho * k / faixas, limites.get(limites.size() - 1));
+            while (corte < tamanho) {
+                buffer.clear();
+                int n = canal.read(buffer, corte);
+                int i = 0;
+                while (i < n && !espacoAscii(buffer.get(i))) i++;
+                corte += i;
+                if (i < n) {
+                    corte++;   // inclui o espaço na faixa anterior
+                    break;
+                }
+            }
+            if (corte > limites.get(limites.size() - 1) && corte < tamanho) {
+                limites.add(corte);
+            }
+        }
+        limites.add(tamanho);
+
+        long[] resultado = new long[limites.size()];
+        for (int i = 0; i < resultado.length; i++) {
+            resultado[i] = limites.get(i);
+        }
+        return resultado;
+    }
+
+    private static boolean espacoAscii(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0x0B;
+    }
+
+    /**
+     * Tarefa sobre as faixas [de, ate): separa uma faixa, ou divide ao meio
+     * e junta as tabelas das duas metades
+     */
+    private static final class TarefaFaixas extends RecursiveTask<TabelaPalavras> {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel canal;
+        private final long[] limites;
+        private final int de;
+        private final int ate;
+        private final AtomicLong lidos;
+
+        TarefaFaixas(FileChannel canal, long[] limites, int de, int ate, AtomicLong lidos) {
+            this.canal = canal;
+            this.limites = limites;
+            this.de = de;
+            this.ate = ate;
+            this.lidos = lidos;
+        }
+
+        @Override
+        protected TabelaPalavras compute() {
+            if (ate - de == 1) {
+                TabelaPalavras tabela = new TabelaPalavras();
+                try (Reader leitor = new InputStreamReader(
+                        new EntradaFaixa(canal, limites[de], limites[ate], lidos), Charset.defaultCharset())) {
+                    tokenizar(leitor, tabela, () -> { });
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return tabela;
+            }
+
+            int meio = (de + ate) >>> 1;
+            TarefaFaixas esquerda = new TarefaFaixas(canal, limites, de, meio, lidos);
+            esquerda.fork();
+            TabelaPalavras direita = new TarefaFaixas(canal, limites, meio, ate, lidos).compute();
+            TabelaPalavras resultado = esquerda.join();
+
+            // A maior recebe a menor: menos palavras para reinserir
+            if (resultado.tamanho() < direita.tamanho()) {
+                direita.juntar(resultado);
+                return direita;
+            }
+            resultado.juntar(direita);
+            return resultado;
+        }
+    }
+
+    /**
+     * Lê só os bytes [inicio, fim) do canal (leituras posicionais: várias
+     * faixas podem ler o mesmo canal ao mesmo tempo)
+     */
+    private static final class EntradaFaixa extends InputStream {
+        private final FileChannel canal;
+        private final AtomicLong lidos;
+        private long posicao;
+        private final long fim;
+
+        EntradaFaixa(FileChannel canal, long inicio, long fim, AtomicLong lidos) {
+            this.canal = canal;
+            this.posicao = inicio;
+            this.fim = fim;
+            this.lidos = lidos;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] um = new byte[1];
+            return read(um, 0, 1) == -1 ? -1 : um[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] destino, int inicio, int quantidade) throws IOException {
+            if (posicao >= fim) {
+                return -1;
+            }
+            int maximo = (int) Math.min(quantidade, fim - posicao);
+            int n = canal.read(ByteBuffer.wrap(destino, inicio, maximo), posicao);
+            if (n <= 0) {
+                return -1;
+            }
+            posicao += n;
+            lidos.addAndGet(n);
+            return n;
+        }
+    }
+
+    /**
+     * Recebe cada palavra como um trecho de char[] (sem criar String)
+     */
+    interface ReceptorPalavras {
+        void aceitar(char[] chars, int inicio, int fim);
+    }
+
+    /**
+     * Separa as palavras de {@code leitor} (qualquer espaço em branco é
+     * separador). {@code aposBuffer} é chamado depois de cada buffer lido.
+     */
+    static void tokenizar(Reader leitor, ReceptorPalavras receptor, Runnable aposBuffer) throws IOException {
+        CharBuffer buffer = CharBuffer.allocate(TAMANHO_BUFFER);
+        char[] chars = buffer.array();
+        char[] pendente = new char[64];   // palavra cortada no fim do buffer
+        int tamanhoPendente = 0;
+
+        int lidos;
+        while ((lidos = leitor.read(chars, 0, chars.length)) != -1) {
+            int inicioPalavra = -1;
+            for (int i = 0; i < lidos; i++) {
+                if (Character.isWhitespace(chars[i])) {
+                    if (tamanhoPendente > 0) {
+                        // Emenda o pedaço do buffer anterior com o começo deste
+                        int resto = inicioPalavra < 0 ? 0 : i - inicioPalavra;
+                        pendente = garantir(pendente, tamanhoPendente + resto);
+                        System.arraycopy(chars, Math.max(inicioPalavra, 0), pendente, tamanhoPendente, resto);
+                        receptor.aceitar(pendente, 0, tamanhoPendente + resto);
+                        tamanhoPendente = 0;
+                        inicioPalavra = -1;
+                    } else if (inicioPalavra >= 0) {
+                        receptor.aceitar(chars, inicioPalavra, i);
+                        inicioPalavra = -1;
+                    }
+                } else if (inicioPalavra < 0) {
+                    inicioPalavra = i;
+                }
+            }
+            if (inicioPalavra >= 0) {
+                int resto = lidos - inicioPalavra;
+                pendente = garantir(pendente, tamanhoPendente + resto);
+                System.arraycopy(chars, inicioPalavra, pendente, tamanhoPendente, resto);
+                tamanhoPendente += resto;
+            }
+            aposBuffer.run();
+        }
+
+        if (tamanhoPendente > 0) {
+            receptor.aceitar(pendente, 0, tamanhoPendente);
+        }
+    }
+
+    private static char[] garantir(char[] array, int tamanho) {
+        return tamanho <= array.length ? array : Arrays.copyOf(array, Math.max(array.length * 2, tamanho));
+    }
+
+    /**
+     * Linha de progresso; {@code distintos} negativo = ainda desconhecido
+     * (modo paralelo, antes de juntar as tabelas)
+     */
+    private static String descreverProgresso(long lidos, long total, long nanos, int distintos) {
+        double segundos = nanos / 1e9;
+        String linha = String.format("  %5.1f%%  %,.1f de %,.1f MB  (%,.1f MB/s",
+            total == 0 ? 100.0 : 100.0 * lidos / total, lidos / 1e6, total / 1e6,
+            segundos == 0 ? 0.0 : lidos / 1e6 / segundos);
+        return distintos < 0 ? linha + ")" : linha + String.format(", %,d distintos)", distintos);
+    }
+
+    /**
+     * CONJUNTO DE PALAVRAS com endereçamento aberto: o hash é calculado
+     * direto sobre os chars do buffer e só palavras NOVAS viram String -
+     * uma repetição não aloca nada.
+     */
+    static final class TabelaPalavras implements ReceptorPalavras {
+        private String[] palavras = new String[1 << 12];
+        private int[] hashes = new int[1 << 12];
+        private int quantidade;
+        private long tokens;
+
+        @Override
+        public void aceitar(char[] chars, int inicio, int fim) {
+            tokens++;
+            int hash = 0;
+            for (int i = inicio; i < fim; i++) {
+                hash = 31 * hash + chars[i];
+            }
+
+            int mascara = palavras.length - 1;
+            int pos = espalhar(hash) & mascara;
+            String existente;
+            while ((existente = palavras[pos]) != null) {
+                if (hashes[pos] == hash && iguais(existente, chars, inicio, fim)) {
+                    return;
+                }
+                pos = (pos + 1) & mascara;
+            }
+
+            palavras[pos] = new String(chars, inicio, fim - inicio);
+            hashes[pos] = hash;
+            if (++quantidade * 2 > palavras.length) {
+                crescer();
+            }
+        }
+
+        /**
+         * Junta as palavras de outra tabela a esta
+         */
+        void juntar(TabelaPalavras outra) {
+            tokens += outra.tokens - outra.quantidade;
+            for (String palavra : outra.palavras) {
+                if (palavra != null) {
+                    char[] chars = palavra.toCharArray();
+                    aceitar(chars, 0, chars.length);
+                }
+            }
+        }
+
+        private static boolean iguais(String palavra, char[] chars, int inicio, int fim) {
+            if (palavra.length() != fim - inicio) {
+                return false;
+            }
+            for (int i = 0; i < palavra.length(); i++) {
+                if (palavra.charAt(i) != chars[inicio + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int espalhar(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+        private void crescer() {
+            String[] antigas = palavras;
+            int[] hashesAntigos = hashes;
+            palavras = new String[antigas.length * 2];
+            hashes = new int[antigas.length * 2];
+            int mascara = palavras.length - 1;
+            for (int i = 0; i < antigas.length; i++) {
+                if (antigas[i] != null) {
+                    int pos = espalhar(hashesAntigos[i]) & mascara;
+                    while (palavras[pos] != null) {
+                        pos = (pos + 1) & mascara;
+                    }
+                    palavras[pos] = antigas[i];
+                    hashes[pos] = hashesAntigos[i];
+                }
+            }
+        }
+
+        int tamanho() {
+            return quantidade;
+        }
+
+        long tokens() {
+            return tokens;
+        }
+
+        List<String> ordenados() {
+            String[] lista = new String[quantidade];
+            int k = 0;
+            for (String palavra : palavras) {
+                if (palavra != null) {
+                    lista[k++] = palavra;
+                }
+            }
+            Arrays.sort(lista);
+            return Arrays.asList(lista);
+        }
+    }
+
+    /**
+     * Resultado da importação
+     */
+    public static final class Resultado {
+        public final List<String> elementos;   // distintos, em ordem alfabética
+        public final long tokens;               // palavras lidas (com repetições)
+        public final long bytes;
+        public final long nanos;
+
+        Resultado(List<String> elementos, long tokens, long bytes, long nanos) {
+            this.elementos = elementos;
+            this.tokens = tokens;
+            this.bytes = bytes;
+            this.nanos = nanos;
+        }
+
+        public double segundos() {
+            return nanos / 1e9;
+        }
+
+        public double megabytesPorSegundo() {
+            return nanos == 0 ? 0.0 : bytes / 1e6 / segundos();
+        }
+    }
+
+    /**
+     * Conta os bytes lidos do arquivo (para o percentual de progresso)
+     */
+    private static final class EntradaContada extends FilterInputStream {
+        long lidos;
+
+        EntradaContada(InputStream entrada) {
+            super(entrada);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) lidos++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] destino, int inicio, int quantidade) throws IOException {
+            int n = super.read(destino, inicio, quantidade);
+            if (n > 0) lidos += n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+import java.util.*;
+
+/**
+ * ============================================================================
+ *                    NÚCLEO DE OPERAÇÕES ENTRE CONJUNTOS
+ * ============================================================================
+ *
+ * Kernel compartilhado para união, interseção e diferença de conjuntos
+ * digitados pelo usuário como texto.
+ *
+ * <h3>Como funciona:</h3>
+ * <ul>
+ *   <li>🧹 Cada entrada é normalizada UMA única vez (trim, vazios, duplicatas)</li>
+ *   <li>#️⃣ Um índice hash permite testar pertinência em O(1)</li>
+ *   <li>📑 Os elementos ficam também num array ordenado para exibição</li>
+ *   <li>⚡ União por intercalação, interseção e diferença por consulta hash:
+ *       todas em tempo linear O(n + m)</li>
+ * </ul>
+ *
+ * Os resultados já saem ordenados, sem precisar de um TreeSet intermediário.
+ *
+ * @author Sistema TGC - Módulo Conjuntos
+ * @version 2.0 - Kernel Linear
+ * @since 2025
+ * ============================================================================
+ */
+public final class KernelConjuntos {
+
+    private KernelConjuntos() {
+        // Classe utilitária - não instanciar
+    }
+
+    /**
+     * Conjunto normalizado: elementos únicos, sem espaços extras, ordenados
+     * e com índice hash para consultas de pertinência.
+     */
+    public static final class Normalizado {
+        private final String[] ordenados;
+        private final Set<String> indice;
+
+        private Normalizado(String[] ordenados, Set<String> indice) {
+            this.ordenados = ordenados;
+            this.indice = indice;
+        }
+
+        /** Elementos em ordem crescente (visão somente leitura) */
+        public List<String> elementos() {
+            return Collections.unmodifiableList(Arrays.asList(ordenados));
+        }
+
+        public boolean contem(String elemento) {
+            return indice.contains(elemento);
+        }
+
+        public int tamanho() {
+            return ordenados.length;
+        }
+
+        public boolean estaVazio() {
+            return ordenados.length == 0;
+        }
+    }
+
+    /**
+     * Normaliza uma linha digitada (elementos separados por espaço)
+     */
+    public static Normalizado normalizar(String entrada) {
+        return normalizar(entrada.split(" "));
+    }
+
+    /**
+     * Normaliza elementos brutos: aplica trim uma vez por elemento,
+     * descarta vazios e remove duplicatas.
+     */
+    public static Normalizado normalizar(String[] elementos) {
+        Set<String> indice = new HashSet<>(Math.max(16, elementos.length * 4 / 3 + 1));
+        for (String elem : elementos) {
+            String limpo = elem.trim();
+            if (!limpo.isEmpty()) {
+                indice.add(limpo);
+            }
+        }
+
+        String[] ordenados = indice.toArray(new String[0]);
+        Arrays.sort(ordenados);
+        return new Normalizado(ordenados, indice);
+    }
+
+    /**
+     * UNIÃO - intercala os dois arrays ordenados em O(n + m)
+     */
+    public static List<String> uniao(Normalizado a, Normalizado b) {
+        String[] x = a.ordenados;
+        String[] y = b.ordenados;
+        List<String> resultado = new ArrayList<>(x.length + y.length);
+
+        int i = 0, j = 0;
+        while (i < x.length && j < y.length) {
+            int cmp = x[i].compareTo(y[j]);
+            if (cmp < 0) {
+                resultado.add(x[i++]);
+            } else if (cmp > 0) {
+                resultado.add(y[j++]);
+            } else {
+                resultado.add(x[i++]);
+                j++;
+            }
+        }
+        while (i < x.length) resultado.add(x[i++]);
+        while (j < y.length) resultado.add(y[j++]);
+
+        return resultado;
+    }
+
+    /**
+     * INTERSEÇÃO - percorre o menor conjunto e consulta o índice do maior
+     */
+    public static List<String> intersecao(Normalizado a, Normalizado b) {
+        Normalizado menor = a.tamanho() <= b.tamanho() ? a : b;
+        Normalizado maior = menor == a ? b : a;
+
+        List<String> resultado = new ArrayList<>(menor.tamanho());
+        for (String elem : menor.ordenados) {
+            if (maior.indice.contains(elem)) {
+                resultado.add(elem);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * DIFERENÇA (A - B) - elementos de A cuja consulta em B falha
+     */
+    public static List<String> diferenca(Normalizado a, Normalizado b) {
+        List<String> resultado = new ArrayList<>(a.tamanho());
+        for (String elem : a.ordenados) {
+            if (!b.indice.contains(elem)) {
+                resultado.add(elem);
+            }
+        }
+        return resultado;
+    }
+}
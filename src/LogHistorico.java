@@ -0,0 +1,839 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * ============================================================================
+ *       LOG DE HISTÓRICO SEGMENTADO (SÓ ACRÉSCIMO, COM GRAVAÇÃO EM GRUPO)
+ * ============================================================================
+ *
+ * Histórico persistente de operações guardado num diretório de SEGMENTOS.
+ * Só o último segmento recebe gravações; o canal dele fica aberto durante
+ * a sessão. Cada operação vira um registro:
+ * <pre>
+ *   [tamanho int][crc32 int][instante long][tipo UTF][conjunto UTF][texto UTF-8]
+ * </pre>
+ * O CRC cobre tudo depois dele; cada segmento começa com "TGCH" + versão.
+ *
+ * <h3>Gravação em grupo:</h3>
+ * <ul>
+ *   <li>📥 Registros novos vão para um buffer em memória; só entram no
+ *       índice depois que o lote chega ao arquivo</li>
+ *   <li>📦 O buffer é gravado de uma vez quando passa de
+ *       {@link #LIMITE_LOTE} bytes ou pela thread de fundo, a cada
+ *       intervalo configurado</li>
+ *   <li>💽 Política de fsync ({@code -Dtgc.historico.sync}):
+ *       {@code registro} = grava e força cada registro;
+ *       {@code lote} = força a cada gravação em grupo (padrão);
+ *       {@code nunca} = deixa o sistema operacional decidir</li>
+ * </ul>
+ *
+ * <h3>Segmentos e índices:</h3>
+ * <ul>
+ *   <li>✂️ Ao passar do tamanho máximo, o segmento é FECHADO e ganha um
+ *       arquivo .idx ao lado</li>
+ *   <li>⏱️ Índice esparso de tempo: um item a cada
+ *       {@link #REGISTROS_POR_BLOCO} registros (posição, menor instante,
+ *       maior instante até ali) - uma consulta por período pula direto
+ *       para os blocos certos</li>
+ *   <li>🔎 Índice invertido: tipo da operação e nome do conjunto → posições
+ *       dos registros (ver {@link ConsultaHistorico})</li>
+ *   <li>📅 Cada segmento guarda seu período; segmentos fora do período
+ *       consultado nem são abertos</li>
+ * </ul>
+ *
+ * <h3>Recuperação:</h3>
+ * Ao abrir, só o segmento ativo é conferido registro a registro. Um final
+ * incompleto ou com CRC errado (queda no meio de uma gravação) é cortado;
+ * tudo antes dele é preservado. Um segmento fechado sem .idx válido tem
+ * o índice reconstruído.
+ *
+ * @author Sistema TGC - Módulo Persistência
+ * @version 2.0 - Log Segmentado e Indexado
+ * @since 2025
+ * ============================================================================
+ */
+public final class LogHistorico implements Closeable {
+
+    private static final byte[] MAGICO = {'T', 'G', 'C', 'H'};
+    private static final byte[] MAGICO_INDICE = {'T', 'G', 'C', 'I'};
+    private static final byte VERSAO = 2;
+    private static final int TAMANHO_CABECALHO = MAGICO.length + 1;
+    private static final int CABECALHO_REGISTRO = 4 + 4 + 8;
+    private static final int TEXTO_MAXIMO = 1 << 20;
+
+    /** Bytes pendentes que disparam a gravação do lote */
+    public static final int LIMITE_LOTE = 64 * 1024;
+
+    /** Registros por item do índice esparso de tempo */
+    public static final int REGISTROS_POR_BLOCO = 64;
+
+    /** Tamanho a partir do qual o segmento ativo é fechado */
+    public static final int TAMANHO_SEGMENTO = 1 << 20;
+
+    private static final DateTimeFormatter FORMATO_DATA =
+        DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    /**
+     * Quando forçar os dados até o disco (fsync)
+     */
+    public enum PoliticaSync {
+        REGISTRO, LOTE, NUNCA;
+
+        static PoliticaSync daPropriedade() {
+            String valor = System.getProperty("tgc.historico.sync", "lote").trim();
+            for (PoliticaSync politica : values()) {
+                if (politica.name().equalsIgnoreCase(valor)) {
+                    return politica;
+                }
+            }
+            return LOTE;
+        }
+    }
+
+    private final File diretorio;
+    private final PoliticaSync politica;
+    private final int tamanhoSegmento;
+    private final ScheduledExecutorService temporizador;
+    private final long bytesDescartados;
+
+    // Do mais antigo ao ativo (o último)
+    private final List<Segmento> segmentos;
+    private FileChannel canal;
+
+    private ByteBuffer pendente = ByteBuffer.allocate(LIMITE_LOTE * 2);
+    private int registrosPendentes;
+    // Entradas de índice do lote: só entram no segmento depois de gravadas
+    private final List<IndicePendente> indicesPendentes = new ArrayList<>();
+    private long registros;
+    private long lotes;
+    private IOException erroEmFundo;
+
+    private LogHistorico(File diretorio, PoliticaSync politica, long intervaloMs, int tamanhoSegmento,
+                         List<Segmento> segmentos, FileChannel canal, long bytesDescartados) {
+        this.diretorio = diretorio;
+        this.politica = politica;
+        this.tamanhoSegmento = tamanhoSegmento;
+        this.segmentos = segmentos;
+        this.canal = canal;
+        this.bytesDescartados = bytesDescartados;
+        for (Segmento segmento : segmentos) {
+            registros += segmento.registros;
+        }
+
+        if (politica == PoliticaSync.REGISTRO) {
+            this.temporizador = null;
+        } else {
+            this.temporizador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+                Thread thread = new Thread(tarefa, "tgc-historico");
+                thread.setDaemon(true);
+                return thread;
+            });
+            temporizador.scheduleWithFixedDelay(this::gravarLoteEmFundo, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * ABRIR com a política de {@code -Dtgc.historico.sync}, lotes de até
+     * 200 ms e segmentos de 1 MB
+     */
+    public static LogHistorico abrir(File diretorio) throws IOException {
+        return abrir(diretorio, PoliticaSync.daPropriedade(), 200, TAMANHO_SEGMENTO);
+    }
+
+    /**
+     * ABRIR (ou criar) o diretório do log, recuperando um final cortado
+     */
+    public static LogHistorico abrir(File diretorio, PoliticaSync politica, long intervaloMs,
+                                     int tamanhoSegmento) throws IOException {
+        if (!diretorio.isDirectory() && !diretorio.mkdirs()) {
+            throw new IOException("não foi possível criar " + diretorio);
+        }
+
+        String[] nomes = diretorio.list((d, nome) -> nome.matches("segmento-\\d+\\.log"));
+        Arrays.sort(nomes);
+        List<Segmento> segmentos = new ArrayList<>();
+        for (int i = 0; i < nomes.length; i++) {
+            int numero = Integer.parseInt(nomes[i].replaceAll("\\D", ""));
+            Segmento segmento = new Segmento(diretorio, numero);
+            // Fechados: índice do .idx (ou reconstruído); o ativo é sempre conferido
+            if (i == nomes.length - 1 || !segmento.lerIndice()) {
+                segmento.reconstruir();
+                if (i < nomes.length - 1) {
+                    segmento.gravarIndice();
+                }
+            }
+            segmentos.add(segmento);
+        }
+        if (segmentos.isEmpty()) {
+            segmentos.add(new Segmento(diretorio, 1));
+        }
+
+        Segmento ativo = segmentos.get(segmentos.size() - 1);
+        FileChannel canal = abrirParaGravar(ativo);
+        try {
+            long descartados = canal.size() - ativo.fim;
+            if (descartados > 0) {
+                canal.truncate(ativo.fim);
+                canal.force(true);
+            }
+            return new LogHistorico(diretorio, politica, intervaloMs, tamanhoSegmento, segmentos, canal, descartados);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    private static FileChannel abrirParaGravar(Segmento segmento) throws IOException {
+        FileChannel canal = FileChannel.open(segmento.dados.toPath(),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (canal.size() < TAMANHO_CABECALHO) {
+            canal.truncate(0);
+            ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO);
+            cabecalho.put(MAGICO).put(VERSAO).flip();
+            escreverTudo(canal, cabecalho, 0);
+            canal.force(true);
+            segmento.fim = TAMANHO_CABECALHO;
+        }
+        return canal;
+    }
+
+    // ===== GRAVAÇÃO =====
+
+    /**
+     * REGISTRAR uma operação (vai para o lote; gravada conforme a política)
+     *
+     * @param tipo     tipo da operação ("SALVO", "CARREGADO", ...)
+     * @param conjunto nome do conjunto envolvido (ou null)
+     * @param texto    descrição completa, como mostrada ao usuário
+     */
+    public synchronized void registrar(String tipo, String conjunto, String texto) throws IOException {
+        relatarErroEmFundo();
+        anexar(System.currentTimeMillis(), tipo, conjunto, texto);
+        if (politica == PoliticaSync.REGISTRO || pendente.position() >= LIMITE_LOTE) {
+            gravarLote();
+        }
+    }
+
+    private void anexar(long instante, String tipo, String conjunto, String texto) throws IOException {
+        tipo = normalizarTipo(tipo);
+        conjunto = conjunto == null ? "" : conjunto;
+
+        ByteArrayOutputStream carga = new ByteArrayOutputStream(64 + texto.length());
+        DataOutputStream saida = new DataOutputStream(carga);
+        saida.writeUTF(tipo);
+        saida.writeUTF(conjunto);
+        saida.write(texto.getBytes(StandardCharsets.UTF_8));
+        if (carga.size() > TEXTO_MAXIMO) {
+            throw new IOException("registro de histórico grande demais (" + carga.size() + " bytes)");
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(8).putLong(0, instante));
+        crc.update(carga.toByteArray());
+
+        int tamanho = CABECALHO_REGISTRO + carga.size();
+        Segmento ativo = segmentoAtivo();
+        if (ativo.registros + registrosPendentes > 0 && ativo.fim + pendente.position() + tamanho > tamanhoSegmento) {
+            gravarLote();
+            trocarSegmento();
+        }
+
+        garantirEspaco(tamanho);
+        indicesPendentes.add(new IndicePendente(pendente.position(), instante, tipo, conjunto));
+        pendente.putInt(carga.size()).putInt((int) crc.getValue()).putLong(instante).put(carga.toByteArray());
+        registrosPendentes++;
+    }
+
+    /**
+     * Fecha o segmento ativo (grava o .idx) e começa o próximo
+     */
+    private void trocarSegmento() throws IOException {
+        Segmento anterior = segmentoAtivo();
+        canal.force(true);
+        anterior.gravarIndice();
+        canal.close();
+
+        Segmento novo = new Segmento(diretorio, anterior.numero + 1);
+        canal = abrirParaGravar(novo);
+        segmentos.add(novo);
+    }
+
+    /**
+     * Grava o lote pendente (e força, se a política pedir)
+     */
+    public synchronized void sincronizar() throws IOException {
+        relatarErroEmFundo();
+        gravarLote();
+    }
+
+    private void gravarLote() throws IOException {
+        if (registrosPendentes == 0) {
+            return;
+        }
+        // Grava de uma cópia: se a escrita ou o force falharem, o lote
+        // continua intacto e a próxima tentativa regrava na mesma posição
+        ByteBuffer lote = pendente.duplicate();
+        lote.flip();
+        int bytes = lote.remaining();
+        Segmento ativo = segmentoAtivo();
+        escreverTudo(canal, lote, ativo.fim);
+        if (politica != PoliticaSync.NUNCA) {
+            canal.force(false);
+        }
+        // Só agora os registros estão no arquivo: o índice pode apontar para eles
+        for (IndicePendente indice : indicesPendentes) {
+            ativo.adicionar((int) (ativo.fim + indice.deslocamento), indice.instante, indice.tipo, indice.conjunto);
+        }
+        indicesPendentes.clear();
+        ativo.fim += bytes;
+        registros += registrosPendentes;
+        registrosPendentes = 0;
+        lotes++;
+        pendente.clear();
+    }
+
+    private synchronized void gravarLoteEmFundo() {
+        try {
+            gravarLote();
+        } catch (IOException e) {
+            // Guardado para ser mostrado na próxima chamada do usuário
+            erroEmFundo = e;
+        }
+    }
+
+    private void relatarErroEmFundo() throws IOException {
+        if (erroEmFundo != null) {
+            IOException erro = erroEmFundo;
+            erroEmFundo = null;
+            throw erro;
+        }
+    }
+
+    private void garantirEspaco(int bytes) {
+        if (pendente.remaining() < bytes) {
+            ByteBuffer maior = ByteBuffer.allocate(Math.max(pendente.capacity() * 2, pendente.position() + bytes));
+            pendente.flip();
+            maior.put(pendente);
+            pendente = maior;
+        }
+    }
+
+    private Segmento segmentoAtivo() {
+        return segmentos.get(segmentos.size() - 1);
+    }
+
+    static String normalizarTipo(String tipo) {
+        return tipo.trim().toUpperCase();
+    }
+
+    static String normalizarConjunto(String conjunto) {
+        return conjunto.trim().toLowerCase();
+    }
+
+    // ===== HISTÓRICO ANTIGO =====
+
+    /**
+     * IMPORTAR o histórico texto antigo ("[data] TIPO: conjunto ...") e
+     * renomeá-lo para .importado. Devolve quantas linhas entraram.
+     */
+    public synchronized int importarTextoAntigo(File arquivo) throws IOException {
+        if (!arquivo.exists()) {
+            return 0;
+        }
+        // Formato de Date.toString(), sempre em inglês
+        SimpleDateFormat formatoAntigo = new SimpleDateFormat("EEE MMM dd HH:mm:ss zzz yyyy", Locale.US);
+        int importadas = 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(arquivo))) {
+            String linha;
+            while ((linha = reader.readLine()) != null) {
+                int fechamento = linha.indexOf("] ");
+                if (!linha.startsWith("[") || fechamento < 0) {
+                    continue;
+                }
+                long instante;
+                try {
+                    instante = formatoAntigo.parse(linha.substring(1, fechamento)).getTime();
+                } catch (ParseException e) {
+                    instante = arquivo.lastModified();
+                }
+                String texto = linha.substring(fechamento + 2);
+                int doisPontos = texto.indexOf(": ");
+                String tipo = doisPontos < 0 ? texto : texto.substring(0, doisPontos);
+                String conjunto = doisPontos < 0 ? "" : texto.substring(doisPontos + 2).split(" ", 2)[0];
+                anexar(instante, tipo, conjunto, texto);
+                importadas++;
+            }
+        }
+        gravarLote();
+        canal.force(true);
+        if (!arquivo.renameTo(new File(arquivo.getPath() + ".importado"))) {
+            throw new IOException("histórico importado, mas não foi possível renomear " + arquivo);
+        }
+        return importadas;
+    }
+
+    // ===== LEITURA =====
+
+    /**
+     * Percorre todos os registros, do mais antigo ao mais recente
+     * (o lote pendente é gravado antes)
+     */
+    public synchronized void paraCada(Consumer<Registro> acao) throws IOException {
+        sincronizar();
+        for (Segmento segmento : segmentos) {
+            percorrer(canalDeLeitura(segmento), TAMANHO_CABECALHO, segmento.fim, (registro, posicao) -> acao.accept(registro));
+        }
+    }
+
+    /**
+     * Segmentos do mais antigo ao ativo (para {@link ConsultaHistorico}).
+     * Os fechados não mudam mais; o ativo vem como CÓPIA do índice, tirada
+     * sob a trava - novos lotes não mexem no que a consulta está lendo.
+     */
+    synchronized List<Segmento> segmentos() {
+        List<Segmento> lista = new ArrayList<>(segmentos);
+        lista.set(lista.size() - 1, segmentoAtivo().copia());
+        return lista;
+    }
+
+    /**
+     * Lê o registro que começa na posição dada do segmento
+     */
+    synchronized Registro ler(Segmento segmento, int posicao) throws IOException {
+        Registro[] lido = new Registro[1];
+        FileChannel leitura = canalDeLeitura(segmento);
+        long fim = Math.min(segmento.fim, posicao + CABECALHO_REGISTRO + (long) TEXTO_MAXIMO);
+        if (percorrerUm(leitura, posicao, fim, (registro, p) -> lido[0] = registro) < 0) {
+            throw new IOException("registro inválido em " + segmento.dados.getName() + "@" + posicao);
+        }
+        return lido[0];
+    }
+
+    /**
+     * Lê os registros entre [inicio, fim) de um segmento, com suas posições
+     */
+    synchronized void lerEntre(Segmento segmento, int inicio, int fim, ObjIntConsumer<Registro> acao) throws IOException {
+        percorrer(canalDeLeitura(segmento), inicio, fim, acao);
+    }
+
+    private FileChannel canalDeLeitura(Segmento segmento) throws IOException {
+        // Cópia do índice: o arquivo é o do segmento de onde ela veio
+        if (segmento.origem != null) {
+            segmento = segmento.origem;
+        }
+        if (segmento == segmentoAtivo()) {
+            return canal;
+        }
+        if (segmento.leitura == null) {
+            segmento.leitura = FileChannel.open(segmento.dados.toPath(), StandardOpenOption.READ);
+        }
+        return segmento.leitura;
+    }
+
+    /**
+     * Lê registros válidos entre [inicio, fim) e devolve onde parou -
+     * no fim, ou no primeiro registro cortado ou corrompido
+     */
+    private static long percorrer(FileChannel canal, long inicio, long fim, ObjIntConsumer<Registro> acao) throws IOException {
+        long posicao = inicio;
+        while (true) {
+            long proxima = percorrerUm(canal, posicao, fim, acao);
+            if (proxima < 0) {
+                return posicao;
+            }
+            posicao = proxima;
+        }
+    }
+
+    /**
+     * Lê UM registro; devolve a posição seguinte, ou -1 se não houver
+     * registro válido ali
+     */
+    private static long percorrerUm(FileChannel canal, long posicao, long fim, ObjIntConsumer<Registro> acao) throws IOException {
+        if (fim - posicao < CABECALHO_REGISTRO) {
+            return -1;
+        }
+        ByteBuffer cabecalho = ByteBuffer.allocate(CABECALHO_REGISTRO);
+        lerTudo(canal, cabecalho, posicao);
+        cabecalho.flip();
+        int tamanho = cabecalho.getInt();
+        int crcGravado = cabecalho.getInt();
+        long instante = cabecalho.getLong();
+        if (tamanho < 4 || tamanho > TEXTO_MAXIMO || fim - posicao - CABECALHO_REGISTRO < tamanho) {
+            return -1;
+        }
+
+        ByteBuffer carga = ByteBuffer.allocate(tamanho);
+        lerTudo(canal, carga, posicao + CABECALHO_REGISTRO);
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(8).putLong(0, instante));
+        crc.update(carga.array());
+        if ((int) crc.getValue() != crcGravado) {
+            return -1;
+        }
+
+        DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(carga.array()));
+        String tipo = entrada.readUTF();
+        String conjunto = entrada.readUTF();
+        String texto = new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        acao.accept(new Registro(instante, tipo, conjunto, texto), (int) posicao);
+        return posicao + CABECALHO_REGISTRO + tamanho;
+    }
+
+    // ===== ESTATÍSTICAS =====
+
+    public File diretorio() {
+        return diretorio;
+    }
+
+    public PoliticaSync politica() {
+        return politica;
+    }
+
+    public synchronized long registros() {
+        return registros + registrosPendentes;
+    }
+
+    public synchronized long lotes() {
+        return lotes;
+    }
+
+    public synchronized int quantidadeSegmentos() {
+        return segmentos.size();
+    }
+
+    /**
+     * Bytes de um final cortado descartados na última abertura
+     */
+    public long bytesDescartados() {
+        return bytesDescartados;
+    }
+
+    /**
+     * FECHAR: grava o que estiver pendente e libera os arquivos
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (temporizador != null) {
+            temporizador.shutdownNow();
+        }
+        try {
+            gravarLote();
+            canal.force(true);
+        } finally {
+            canal.close();
+            for (Segmento segmento : segmentos) {
+                if (segmento.leitura != null) {
+                    segmento.leitura.close();
+                }
+            }
+        }
+    }
+
+    // ===== AUXILIARES =====
+
+    private static void escreverTudo(FileChannel canal, ByteBuffer buffer, long posicao) throws IOException {
+        while (buffer.hasRemaining()) {
+            posicao += canal.write(buffer, posicao);
+        }
+    }
+
+    private static void lerTudo(FileChannel canal, ByteBuffer buffer, long posicao) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = canal.read(buffer, posicao);
+            if (n < 0) {
+                return;
+            }
+            posicao += n;
+        }
+    }
+
+    /**
+     * Uma operação gravada no log
+     */
+    public static final class Registro {
+        public final long instante;
+        public final String tipo;
+        public final String conjunto;   // "" se não houver
+        public final String texto;
+
+        private Registro(long instante, String tipo, String conjunto, String texto) {
+            this.instante = instante;
+            this.tipo = tipo;
+            this.conjunto = conjunto;
+            this.texto = texto;
+        }
+
+        /**
+         * Como no histórico antigo: "[data] texto"
+         */
+        @Override
+        public String toString() {
+            return "[" + FORMATO_DATA.format(Instant.ofEpochMilli(instante)) + "] " + texto;
+        }
+    }
+
+    /**
+     * Registro do lote ainda não gravado: posição dentro do lote + termos
+     */
+    private static final class IndicePendente {
+        final int deslocamento;
+        final long instante;
+        final String tipo;
+        final String conjunto;
+
+        IndicePendente(int deslocamento, long instante, String tipo, String conjunto) {
+            this.deslocamento = deslocamento;
+            this.instante = instante;
+            this.tipo = tipo;
+            this.conjunto = conjunto;
+        }
+    }
+
+    /**
+     * Um arquivo de segmento e seus índices (em memória; no .idx quando fechado)
+     */
+    static final class Segmento {
+        final int numero;
+        final File dados;
+        final File indice;
+        long fim = TAMANHO_CABECALHO;   // bytes válidos no arquivo
+        int registros;
+        long menorInstante = Long.MAX_VALUE;
+        long maiorInstante = Long.MIN_VALUE;
+
+        // Índice esparso: um item a cada REGISTROS_POR_BLOCO registros
+        int blocos;
+        int[] inicioBloco = new int[16];
+        long[] menorNoBloco = new long[16];
+        long[] maiorAteBloco = new long[16];   // maior instante do início do segmento até o fim do bloco
+
+        // Índice invertido: "T:SALVO", "C:frutas" → posições dos registros
+        final Map<String, ListaPosicoes> termos = new HashMap<>();
+
+        FileChannel leitura;
+        final Segmento origem;   // só nas cópias: o segmento copiado
+
+        Segmento(File diretorio, int numero) {
+            this.numero = numero;
+            String base = String.format("segmento-%06d", numero);
+            this.dados = new File(diretorio, base + ".log");
+            this.indice = new File(diretorio, base + ".idx");
+            this.origem = null;
+        }
+
+        private Segmento(Segmento original) {
+            this.numero = original.numero;
+            this.dados = original.dados;
+            this.indice = original.indice;
+            this.origem = original;
+            this.fim = original.fim;
+            this.registros = original.registros;
+            this.menorInstante = original.menorInstante;
+            this.maiorInstante = original.maiorInstante;
+            this.blocos = original.blocos;
+            this.inicioBloco = Arrays.copyOf(original.inicioBloco, Math.max(original.blocos, 1));
+            this.menorNoBloco = Arrays.copyOf(original.menorNoBloco, Math.max(original.blocos, 1));
+            this.maiorAteBloco = Arrays.copyOf(original.maiorAteBloco, Math.max(original.blocos, 1));
+            for (Map.Entry<String, ListaPosicoes> termo : original.termos.entrySet()) {
+                termos.put(termo.getKey(), termo.getValue().copia());
+            }
+        }
+
+        /**
+         * Cópia do índice como está agora (chamada sob a trava do log)
+         */
+        Segmento copia() {
+            return new Segmento(this);
+        }
+
+        void adicionar(int posicao, long instante, String tipo, String conjunto) {
+            if (registros % REGISTROS_POR_BLOCO == 0) {
+                if (blocos == inicioBloco.length) {
+                    inicioBloco = Arrays.copyOf(inicioBloco, blocos * 2);
+                    menorNoBloco = Arrays.copyOf(menorNoBloco, blocos * 2);
+                    maiorAteBloco = Arrays.copyOf(maiorAteBloco, blocos * 2);
+                }
+                inicioBloco[blocos] = posicao;
+                menorNoBloco[blocos] = instante;
+                maiorAteBloco[blocos] = blocos == 0 ? instante : Math.max(instante, maiorAteBloco[blocos - 1]);
+                blocos++;
+            } else {
+                menorNoBloco[blocos - 1] = Math.min(menorNoBloco[blocos - 1], instante);
+                maiorAteBloco[blocos - 1] = Math.max(maiorAteBloco[blocos - 1], instante);
+            }
+
+            termos.computeIfAbsent("T:" + tipo, t -> new ListaPosicoes()).adicionar(posicao);
+            if (!conjunto.isEmpty()) {
+                termos.computeIfAbsent("C:" + normalizarConjunto(conjunto), t -> new ListaPosicoes()).adicionar(posicao);
+            }
+            menorInstante = Math.min(menorInstante, instante);
+            maiorInstante = Math.max(maiorInstante, instante);
+            registros++;
+        }
+
+        /**
+         * Refaz o índice lendo o arquivo inteiro (segmento ativo ou .idx perdido)
+         */
+        void reconstruir() throws IOException {
+            try (FileChannel canal = FileChannel.open(dados.toPath(), StandardOpenOption.READ)) {
+                ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO);
+                lerTudo(canal, cabecalho, 0);
+                cabecalho.flip();
+                if (cabecalho.remaining() < TAMANHO_CABECALHO) {
+                    // Queda logo após criar o arquivo: segmento vazio
+                    fim = 0;
+                    return;
+                }
+                byte[] magico = new byte[MAGICO.length];
+                cabecalho.get(magico);
+                if (!Arrays.equals(magico, MAGICO)) {
+                    throw new IOException(dados.getName() + " não é um segmento de histórico");
+                }
+                if (cabecalho.get() != VERSAO) {
+                    throw new IOException("versão de log não suportada em " + dados.getName());
+                }
+                fim = percorrer(canal, TAMANHO_CABECALHO, canal.size(),
+                    (registro, posicao) -> adicionar(posicao, registro.instante, registro.tipo, registro.conjunto));
+            }
+        }
+
+        /**
+         * Grava o .idx (com CRC no final) de um segmento fechado
+         */
+        void gravarIndice() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream saida = new DataOutputStream(bytes);
+            saida.write(MAGICO_INDICE);
+            saida.writeByte(VERSAO);
+            saida.writeLong(fim);
+            saida.writeInt(registros);
+            saida.writeLong(menorInstante);
+            saida.writeLong(maiorInstante);
+            saida.writeInt(blocos);
+            for (int b = 0; b < blocos; b++) {
+                saida.writeInt(inicioBloco[b]);
+                saida.writeLong(menorNoBloco[b]);
+                saida.writeLong(maiorAteBloco[b]);
+            }
+            saida.writeInt(termos.size());
+            for (Map.Entry<String, ListaPosicoes> termo : termos.entrySet()) {
+                saida.writeUTF(termo.getKey());
+                ListaPosicoes lista = termo.getValue();
+                saida.writeInt(lista.tamanho);
+                for (int i = 0; i < lista.tamanho; i++) {
+                    saida.writeInt(lista.posicoes[i]);
+                }
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            saida.writeInt((int) crc.getValue());
+            saida.flush();
+
+            // Grava num temporário e renomeia: um .idx nunca fica pela metade
+            File temporario = new File(indice.getPath() + ".tmp");
+            Files.write(temporario.toPath(), bytes.toByteArray());
+            Files.move(temporario.toPath(), indice.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        /**
+         * Lê o .idx; false se não existir, estiver corrompido ou não bater
+         * com o tamanho do segmento
+         */
+        boolean lerIndice() {
+            if (!indice.exists()) {
+                return false;
+            }
+            try {
+                byte[] bytes = Files.readAllBytes(indice.toPath());
+                if (bytes.length < 4) {
+                    return false;
+                }
+                CRC32 crc = new CRC32();
+                crc.update(bytes, 0, bytes.length - 4);
+                if ((int) crc.getValue() != ByteBuffer.wrap(bytes, bytes.length - 4, 4).getInt()) {
+                    return false;
+                }
+
+                DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - 4));
+                byte[] magico = new byte[MAGICO_INDICE.length];
+                entrada.readFully(magico);
+                if (!Arrays.equals(magico, MAGICO_INDICE) || entrada.readByte() != VERSAO) {
+                    return false;
+                }
+                fim = entrada.readLong();
+                if (fim != dados.length()) {
+                    return false;
+                }
+                registros = entrada.readInt();
+                menorInstante = entrada.readLong();
+                maiorInstante = entrada.readLong();
+                blocos = entrada.readInt();
+                inicioBloco = new int[Math.max(blocos, 1)];
+                menorNoBloco = new long[Math.max(blocos, 1)];
+                maiorAteBloco = new long[Math.max(blocos, 1)];
+                for (int b = 0; b < blocos; b++) {
+                    inicioBloco[b] = entrada.readInt();
+                    menorNoBloco[b] = entrada.readLong();
+                    maiorAteBloco[b] = entrada.readLong();
+                }
+                int quantidadeTermos = entrada.readInt();
+                for (int t = 0; t < quantidadeTermos; t++) {
+                    String termo = entrada.readUTF();
+                    ListaPosicoes lista = new ListaPosicoes();
+                    for (int i = 0, n = entrada.readInt(); i < n; i++) {
+                        lista.adicionar(entrada.readInt());
+                    }
+                    termos.put(termo, lista);
+                }
+                return true;
+            } catch (IOException e) {
+                termos.clear();
+                registros = 0;
+                blocos = 0;
+                menorInstante = Long.MAX_VALUE;
+                maiorInstante = Long.MIN_VALUE;
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Posições de registros em ordem crescente (int[] que cresce)
+     */
+    static final class ListaPosicoes {
+        int[] posicoes = new int[4];
+        int tamanho;
+
+        void adicionar(int posicao) {
+            if (tamanho == posicoes.length) {
+                posicoes = Arrays.copyOf(posicoes, tamanho * 2);
+            }
+            posicoes[tamanho++] = posicao;
+        }
+
+        ListaPosicoes copia() {
+            ListaPosicoes copia = new ListaPosicoes();
+            copia.posicoes = Arrays.copyOf(posicoes, Math.max(tamanho, 1));
+            copia.tamanho = tamanho;
+            return copia;
+        }
+    }
+}
@@ -0,0 +1,343 @@
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * ============================================================================
+ *          MOTOR DE SIMILARIDADE ENTRE TODOS OS PARES (ÍNDICE INVERTIDO)
+ * ============================================================================
+ *
+ * Calcula de uma só vez a interseção de TODOS os pares de conjuntos. Em vez
+ * de intercalar cada par, monta um índice invertido elemento → conjuntos
+ * que o contêm e, para cada elemento, soma 1 em cada par da sua lista.
+ *
+ * <h3>Como funciona:</h3>
+ * <ul>
+ *   <li>📇 Uma passada pelos elementos monta o índice invertido</li>
+ *   <li>🔺 Interseções guardadas só para i &lt; j, num array triangular -
+ *       cada par é contado uma única vez</li>
+ *   <li>➕ União, diferenças, Jaccard e Dice saem das cardinalidades:
+ *       |A ∪ B| = |A| + |B| - |A ∩ B|</li>
+ *   <li>♻️ Um resultado alimenta a matriz, a análise par a par e o ranking</li>
+ * </ul>
+ * O custo é a soma, sobre os elementos, de (conjuntos que o contêm)² -
+ * elementos exclusivos de um conjunto não custam nada além da leitura.
+ *
+ * <h3>Modo paralelo:</h3>
+ * A matriz triangular é dividida em faixas de LINHAS com o mesmo número de
+ * pares; cada faixa é uma tarefa do ForkJoinPool que conta só os pares
+ * (i, j) com i na sua faixa e já grava o Jaccard num {@code double[]}
+ * triangular. Cada célula tem um único dono: nada de travas, e o resultado
+ * é idêntico ao sequencial. O nível de paralelismo vem da propriedade
+ * {@code -Dtgc.similaridade.paralelismo=N} (padrão: número de núcleos).
+ *
+ * @author Sistema TGC - Módulo Exportação
+ * @version 2.0 - Similaridade por Índice Invertido
+ * @since 2025
+ * ============================================================================
+ */
+public final class MotorSimilaridade {
+
+    /** Pares mostrados no ranking quando o usuário não escolhe */
+    public static final int LIMITE_RANKING_PADRAO = 50;
+
+    // Faixas por thread: sobra trabalho para quem terminar antes
+    private static final int FAIXAS_POR_THREAD = 4;
+
+    private final String[] nomes;
+    private final int[] cardinalidades;
+    private final int[] intersecoes;    // triangular: par (i, j) com i < j
+    private final double[] jaccards;    // mesma disposição
+
+    private MotorSimilaridade(String[] nomes, int[] cardinalidades, int[] intersecoes, double[] jaccards) {
+        this.nomes = nomes;
+        this.cardinalidades = cardinalidades;
+        this.intersecoes = intersecoes;
+        this.jaccards = jaccards;
+    }
+
+    /**
+     * Paralelismo configurado (-Dtgc.similaridade.paralelismo=N)
+     */
+    public static int paralelismoPadrao() {
+        int padrao = Runtime.getRuntime().availableProcessors();
+        try {
+            int valor = Integer.parseInt(System.getProperty("tgc.similaridade.paralelismo", Integer.toString(padrao)));
+            return Math.max(1, valor);
+        } catch (NumberFormatException e) {
+            return padrao;
+        }
+    }
+
+    /**
+     * CALCULAR as interseções de todos os pares, com o paralelismo padrão
+     *
+     * @param nomes     nome de cada conjunto (mesma ordem de {@code conjuntos})
+     * @param conjuntos elementos de cada conjunto, sem repetições
+     */
+    public static MotorSimilaridade calcular(String[] nomes, List<? extends Collection<String>> conjuntos) {
+        return calcular(nomes, conjuntos, paralelismoPadrao());
+    }
+
+    /**
+     * CALCULAR com {@code paralelismo} threads (1 = tudo nesta thread)
+     */
+    public static MotorSimilaridade calcular(String[] nomes, List<? extends Collection<String>> conjuntos,
+                                             int paralelismo) {
+        int k = conjuntos.size();
+        if (nomes.length != k) {
+            throw new IllegalArgumentException("quantidade de nomes diferente da de conjuntos");
+        }
+        long pares = (long) k * (k - 1) / 2;
+        if (pares > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("conjuntos demais para a matriz de pares: " + k);
+        }
+
+        // Índice invertido: os ids entram em ordem crescente (conjunto 0, 1, ...)
+        int[] cardinalidades = new int[k];
+        Map<String, ListaIds> indice = new HashMap<>();
+        for (int id = 0; id < k; id++) {
+            Collection<String> conjunto = conjuntos.get(id);
+            cardinalidades[id] = conjunto.size();
+            for (String elemento : conjunto) {
+                indice.computeIfAbsent(elemento, e -> new ListaIds()).adicionar(id);
+            }
+        }
+
+        // Elementos de um conjunto só não formam par: ficam de fora
+        List<int[]> listas = new ArrayList<>();
+        for (ListaIds lista : indice.values()) {
+            if (lista.tamanho > 1) {
+                listas.add(Arrays.copyOf(lista.ids, lista.tamanho));
+            }
+        }
+        int[][] postagens = listas.toArray(new int[0][]);
+        // Pelo primeiro id: cada faixa para na primeira lista que começa depois dela
+        Arrays.sort(postagens, Comparator.comparingInt(ids -> ids[0]));
+
+        MotorSimilaridade motor = new MotorSimilaridade(nomes.clone(), cardinalidades,
+            new int[(int) pares], new double[(int) pares]);
+        int[] limites = dividirLinhas(k, pares, Math.max(1, paralelismo) * FAIXAS_POR_THREAD);
+        if (paralelismo <= 1 || limites.length <= 2) {
+            for (int f = 0; f + 1 < limites.length; f++) {
+                motor.calcularLinhas(postagens, limites[f], limites[f + 1]);
+            }
+            return motor;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(paralelismo);
+        try {
+            pool.invoke(new TarefaLinhas(motor, postagens, limites, 0, limites.length - 1));
+        } finally {
+            pool.shutdown();
+        }
+        return motor;
+    }
+
+    /**
+     * Limites de linhas [l0, l1), [l1, l2)... com quantidades parecidas de
+     * pares (a linha i tem k - i - 1 pares, então as primeiras são maiores)
+     */
+    private static int[] dividirLinhas(int k, long pares, int faixas) {
+        List<Integer> limites = new ArrayList<>();
+        limites.add(0);
+        long porFaixa = Math.max(1, (pares + faixas - 1) / faixas);
+        long acumulado = 0;
+        for (int i = 0; i < k - 1; i++) {
+            acumulado += k - i - 1;
+            if (acumulado >= porFaixa && i + 1 < k - 1) {
+                limites.add(i + 1);
+                acumulado = 0;
+            }
+        }
+        limites.add(Math.max(0, k - 1));
+        int[] resultado = new int[limites.size()];
+        for (int f = 0; f < resultado.length; f++) {
+            resultado[f] = limites.get(f);
+        }
+        return resultado;
+    }
+
+    /**
+     * Uma faixa de linhas [de, ate): conta os pares (i, j) com i na faixa
+     * e grava o Jaccard deles - só escreve nas próprias células. As listas
+     * vêm ordenadas pelo primeiro id; as que não têm par começando na faixa
+     * são puladas sem busca binária.
+     */
+    private void calcularLinhas(int[][] postagens, int de, int ate) {
+        int k = nomes.length;
+        for (int[] ids : postagens) {
+            if (ids[0] >= ate) {
+                break;
+            }
+            if (ids[ids.length - 2] < de) {
+                continue;   // todos os pares da lista começam antes da faixa
+            }
+            int a = ids[0] >= de ? 0 : primeiraMaiorOuIgual(ids, de);
+            for (; a < ids.length - 1 && ids[a] < ate; a++) {
+                int base = inicioLinha(ids[a], k) - ids[a] - 1;
+                for (int b = a + 1; b < ids.length; b++) {
+                    intersecoes[base + ids[b]]++;
+                }
+            }
+        }
+        for (int i = de; i < ate; i++) {
+            int p = inicioLinha(i, k);
+            for (int j = i + 1; j < k; j++, p++) {
+                int uniao = cardinalidades[i] + cardinalidades[j] - intersecoes[p];
+                jaccards[p] = uniao == 0 ? 0 : (double) intersecoes[p] / uniao;
+            }
+        }
+    }
+
+    private static int primeiraMaiorOuIgual(int[] ordenado, int valor) {
+        int posicao = Arrays.binarySearch(ordenado, valor);
+        return posicao >= 0 ? posicao : -posicao - 1;
+    }
+
+    /**
+     * Posição do par (i, i + 1) no array triangular
+     */
+    private static int inicioLinha(int i, int k) {
+        return (int) ((long) i * (2L * k - i - 1) / 2);
+    }
+
+    private int posicao(int i, int j) {
+        if (i > j) {
+            int troca = i;
+            i = j;
+            j = troca;
+        }
+        return inicioLinha(i, nomes.length) + (j - i - 1);
+    }
+
+    // ===== CONSULTAS =====
+
+    public int quantidade() {
+        return nomes.length;
+    }
+
+    public String nome(int i) {
+        return nomes[i];
+    }
+
+    public int cardinalidade(int i) {
+        return cardinalidades[i];
+    }
+
+    /**
+     * |A ∩ B| (para i == j, a própria cardinalidade)
+     */
+    public int intersecao(int i, int j) {
+        return i == j ? cardinalidades[i] : intersecoes[posicao(i, j)];
+    }
+
+    public int uniao(int i, int j) {
+        return cardinalidades[i] + cardinalidades[j] - intersecao(i, j);
+    }
+
+    /**
+     * |A - B|
+     */
+    public int diferenca(int i, int j) {
+        return cardinalidades[i] - intersecao(i, j);
+    }
+
+    /**
+     * Índice de Jaccard |A ∩ B| / |A ∪ B| (0 se ambos vazios)
+     */
+    public double jaccard(int i, int j) {
+        if (i == j) {
+            return cardinalidades[i] == 0 ? 0 : 1;
+        }
+        return jaccards[posicao(i, j)];
+    }
+
+    /**
+     * Coeficiente de Dice 2|A ∩ B| / (|A| + |B|) (0 se ambos vazios)
+     */
+    public double dice(int i, int j) {
+        int soma = cardinalidades[i] + cardinalidades[j];
+        return soma == 0 ? 0 : 2.0 * intersecao(i, j) / soma;
+    }
+
+    /**
+     * Média do Jaccard sobre todos os pares i &lt; j
+     */
+    public double jaccardMedio() {
+        int k = nomes.length;
+        if (k < 2) {
+            return 0;
+        }
+        // Soma na ordem do array: mesmo resultado com qualquer paralelismo
+        double soma = 0;
+        for (double jaccard : jaccards) {
+            soma += jaccard;
+        }
+        return soma / jaccards.length;
+    }
+
+    /**
+     * RANKING: os {@code limite} pares i &lt; j mais similares (Jaccard),
+     * do mais ao menos similar; empates ficam na ordem (i, j). Os pares vêm
+     * empacotados ({@link RankingTopK#primeiro}/{@link RankingTopK#segundo}).
+     */
+    public RankingTopK ranking(int limite) {
+        int k = nomes.length;
+        RankingTopK ranking = new RankingTopK(Math.min(limite, jaccards.length));
+        int p = 0;
+        for (int i = 0; i < k - 1; i++) {
+            for (int j = i + 1; j < k; j++, p++) {
+                ranking.oferecer(jaccards[p], RankingTopK.empacotar(i, j));
+            }
+        }
+        return ranking.ordenar();
+    }
+
+    /**
+     * Tarefa sobre as faixas [de, ate): calcula uma faixa, ou divide ao meio
+     */
+    private static final class TarefaLinhas extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final MotorSimilaridade motor;
+        private final int[][] postagens;
+        private final int[] limites;
+        private final int de;
+        private final int ate;
+
+        TarefaLinhas(MotorSimilaridade motor, int[][] postagens, int[] limites, int de, int ate) {
+            this.motor = motor;
+            this.postagens = postagens;
+            this.limites = limites;
+            this.de = de;
+            this.ate = ate;
+        }
+
+        @Override
+        protected void compute() {
+            if (ate - de == 1) {
+                motor.calcularLinhas(postagens, limites[de], limites[ate]);
+                return;
+            }
+            int meio = (de + ate) >>> 1;
+            invokeAll(new TarefaLinhas(motor, postagens, limites, de, meio),
+                      new TarefaLinhas(motor, postagens, limites, meio, ate));
+        }
+    }
+
+    /**
+     * Ids dos conjuntos que contêm um elemento (crescentes)
+     */
+    private static final class ListaIds {
+        int[] ids = new int[2];
+        int tamanho;
+
+        void adicionar(int id) {
+            if (tamanho == ids.length) {
+                ids = Arrays.copyOf(ids, tamanho * 2);
+            }
+            ids[tamanho++] = id;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+import java.util.Arrays;
+
+/**
+ * ============================================================================
+ *               RANKING DOS K MELHORES (MIN-HEAP PRIMITIVO LIMITADO)
+ * ============================================================================
+ *
+ * Guarda só os {@code k} itens de maior valor vistos até agora, sem ordenar
+ * tudo: um min-heap com o PIOR dos k na raiz. Cada item novo é comparado
+ * com a raiz e só entra se for melhor.
+ *
+ * <h3>Características:</h3>
+ * <ul>
+ *   <li>🧮 Dois arrays primitivos ({@code long} + {@code double}): nada de
+ *       objetos por item, e memória limitada a k - não ao total de itens.
+ *       Os arrays crescem sob demanda: um k maior que os itens oferecidos
+ *       não reserva nada a mais</li>
+ *   <li>📦 Pares (i, j) empacotados num long: {@link #empacotar}</li>
+ *   <li>⚖️ Empates: vence a MENOR chave (para pares, a ordem (i, j)) - o
+ *       mesmo resultado de uma ordenação estável completa</li>
+ *   <li>⏱️ O(n log k) para n itens; {@link #ordenar()} em O(k log k)</li>
+ * </ul>
+ *
+ * @author Sistema TGC - Módulo Exportação
+ * @version 2.0 - Ranking Top-K
+ * @since 2025
+ * ============================================================================
+ */
+public final class RankingTopK {
+
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    private final int limite;
+    private long[] chaves;
+    private double[] valores;
+    private int tamanho;
+    private long oferecidos;
+    private boolean ordenado;
+
+    public RankingTopK(int limite) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("limite negativo: " + limite);
+        }
+        this.limite = limite;
+        this.chaves = new long[Math.min(limite, CAPACIDADE_INICIAL)];
+        this.valores = new double[chaves.length];
+    }
+
+    // ===== PARES EMPACOTADOS =====
+
+    /**
+     * Par (i, j) de índices não negativos num long (ordem (i, j) preservada)
+     */
+    public static long empacotar(int i, int j) {
+        return ((long) i << 32) | (j & 0xFFFFFFFFL);
+    }
+
+    public static int primeiro(long par) {
+        return (int) (par >>> 32);
+    }
+
+    public static int segundo(long par) {
+        return (int) par;
+    }
+
+    // ===== INSERÇÃO =====
+
+    /**
+     * OFERECER um item: entra se ainda houver vaga ou se for melhor que o
+     * pior dos guardados
+     */
+    public void oferecer(double valor, long chave) {
+        if (ordenado) {
+            throw new IllegalStateException("ranking já ordenado");
+        }
+        oferecidos++;
+        if (tamanho < limite) {
+            if (tamanho == chaves.length) {
+                crescer();
+            }
+            chaves[tamanho] = chave;
+            valores[tamanho] = valor;
+            subir(tamanho++);
+        } else if (tamanho > 0 && pior(valores[0], chaves[0], valor, chave)) {
+            chaves[0] = chave;
+            valores[0] = valor;
+            descer(0, tamanho);
+        }
+    }
+
+    /**
+     * Dobra os arrays, sem passar do limite
+     */
+    private void crescer() {
+        int capacidade = (int) Math.min(limite, 2L * chaves.length);
+        chaves = Arrays.copyOf(chaves, capacidade);
+        valores = Arrays.copyOf(valores, capacidade);
+    }
+
+    /**
+     * true se (v1, c1) é pior que (v2, c2): valor menor, ou igual com chave maior
+     */
+    private static boolean pior(double v1, long c1, double v2, long c2) {
+        int comparacao = Double.compare(v1, v2);
+        return comparacao < 0 || comparacao == 0 && c1 > c2;
+    }
+
+    private void subir(int posicao) {
+        while (posicao > 0) {
+            int pai = (posicao - 1) >>> 1;
+            if (!pior(valores[posicao], chaves[posicao], valores[pai], chaves[pai])) {
+                return;
+            }
+            trocar(posicao, pai);
+            posicao = pai;
+        }
+    }
+
+    private void descer(int posicao, int limite) {
+        while (true) {
+            int menor = posicao;
+            int esquerda = 2 * posicao + 1;
+            int direita = esquerda + 1;
+            if (esquerda < limite && pior(valores[esquerda], chaves[esquerda], valores[menor], chaves[menor])) {
+                menor = esquerda;
+            }
+            if (direita < limite && pior(valores[direita], chaves[direita], valores[menor], chaves[menor])) {
+                menor = direita;
+            }
+            if (menor == posicao) {
+                return;
+            }
+            trocar(posicao, menor);
+            posicao = menor;
+        }
+    }
+
+    private void trocar(int a, int b) {
+        long chave = chaves[a];
+        chaves[a] = chaves[b];
+        chaves[b] = chave;
+        double valor = valores[a];
+        valores[a] = valores[b];
+        valores[b] = valor;
+    }
+
+    // ===== RESULTADO =====
+
+    /**
+     * ORDENAR do melhor para o pior (no próprio heap: o pior vai para o
+     * fim a cada passo). Depois disso o ranking só pode ser lido.
+     */
+    public RankingTopK ordenar() {
+        if (!ordenado) {
+            for (int fim = tamanho - 1; fim > 0; fim--) {
+                trocar(0, fim);
+                descer(0, fim);
+            }
+            ordenado = true;
+        }
+        return this;
+    }
+
+    /**
+     * Chave na posição {@code r} (0 = melhor), depois de {@link #ordenar()}
+     */
+    public long chave(int r) {
+        verificarOrdenado();
+        return chaves[r];
+    }
+
+    public double valor(int r) {
+        verificarOrdenado();
+        return valores[r];
+    }
+
+    private void verificarOrdenado() {
+        if (!ordenado) {
+            throw new IllegalStateException("chame ordenar() antes de ler o ranking");
+        }
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public int limite() {
+        return limite;
+    }
+
+    /**
+     * Itens oferecidos no total (inclusive os que ficaram de fora)
+     */
+    public long oferecidos() {
+        return oferecidos;
+    }
+}
@@ -0,0 +1,284 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * ============================================================================
+ *        REGISTRO VIVO DOS CONJUNTOS SALVOS (WATCHSERVICE + CARGA SOB DEMANDA)
+ * ============================================================================
+ *
+ * Mantém em memória a lista dos conjuntos binários de conjuntos_salvos,
+ * atualizada por um {@link WatchService}: arquivos criados, alterados ou
+ * apagados por QUALQUER programa aparecem aqui sem reabrir menus.
+ *
+ * <h3>Como funciona:</h3>
+ * <ul>
+ *   <li>👀 Uma thread de fundo recebe os eventos do diretório; para cada
+ *       .conjunto afetado relê só o cabeçalho (nome, tipo, quantidade)</li>
+ *   <li>💤 Os elementos só são lidos no primeiro {@link #obter} (fora da
+ *       trava) e ficam em cache até o arquivo mudar de novo</li>
+ *   <li>🔢 Cada mudança sobe a VERSÃO do conjunto - quem guarda resultados
+ *       derivados (ex.: {@link CacheOperacoes}) sabe quando descartá-los</li>
+ *   <li>🌊 Eventos perdidos (OVERFLOW): o diretório inteiro é relido</li>
+ * </ul>
+ * Arquivos no formato texto antigo não entram no registro.
+ *
+ * @author Sistema TGC - Módulo Persistência
+ * @version 2.0 - Registro Vivo
+ * @since 2025
+ * ============================================================================
+ */
+public final class RegistroConjuntosSalvos implements Closeable {
+
+    private final File diretorio;
+    private final WatchService observador;
+    private final Thread thread;
+
+    // Arquivo → entrada, e nome do conjunto → entrada
+    private final Map<String, Entrada> porArquivo = new HashMap<>();
+    private final Map<String, Entrada> porNome = new TreeMap<>();
+    private long proximaVersao;
+    private long eventos;
+    private long carregamentos;
+
+    private RegistroConjuntosSalvos(File diretorio, WatchService observador) {
+        this.diretorio = diretorio;
+        this.observador = observador;
+        this.thread = new Thread(this::observar, "tgc-registro-conjuntos");
+        thread.setDaemon(true);
+    }
+
+    /**
+     * ABRIR: lê os cabeçalhos atuais e começa a observar o diretório
+     */
+    public static RegistroConjuntosSalvos abrir(File diretorio) throws IOException {
+        if (!diretorio.isDirectory() && !diretorio.mkdirs()) {
+            throw new IOException("não foi possível criar " + diretorio);
+        }
+        WatchService observador = FileSystems.getDefault().newWatchService();
+        try {
+            // Registrado antes da varredura: nada escapa entre as duas
+            diretorio.toPath().register(observador, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            observador.close();
+            throw e;
+        }
+        RegistroConjuntosSalvos registro = new RegistroConjuntosSalvos(diretorio, observador);
+        registro.varrer();
+        registro.thread.start();
+        return registro;
+    }
+
+    private void observar() {
+        while (true) {
+            WatchKey chave;
+            try {
+                chave = observador.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            for (WatchEvent<?> evento : chave.pollEvents()) {
+                synchronized (this) {
+                    eventos++;
+                }
+                if (evento.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    varrer();
+                } else {
+                    String nome = evento.context().toString();
+                    if (nome.endsWith(".conjunto")) {
+                        atualizar(nome);
+                    }
+                }
+            }
+            if (!chave.reset()) {
+                return;   // diretório apagado
+            }
+        }
+    }
+
+    /**
+     * Relê o diretório inteiro (abertura e OVERFLOW)
+     */
+    private synchronized void varrer() {
+        String[] nomes = diretorio.list((d, nome) -> nome.endsWith(".conjunto"));
+        Set<String> presentes = new HashSet<>(Arrays.asList(nomes == null ? new String[0] : nomes));
+        for (String arquivo : new ArrayList<>(porArquivo.keySet())) {
+            if (!presentes.contains(arquivo)) {
+                remover(arquivo);
+            }
+        }
+        for (String arquivo : presentes) {
+            atualizar(arquivo);
+        }
+    }
+
+    /**
+     * Um arquivo mudou: relê o cabeçalho (ou tira do registro se sumiu ou
+     * não é um binário válido - uma gravação em andamento gera outro evento)
+     */
+    private synchronized void atualizar(String arquivo) {
+        File caminho = new File(diretorio, arquivo);
+        Entrada atual = porArquivo.get(arquivo);
+        if (atual != null && atual.tamanho == caminho.length() && atual.modificado == caminho.lastModified()) {
+            return;
+        }
+        remover(arquivo);
+        if (!caminho.isFile() || !ArquivoConjunto.eBinario(caminho)) {
+            return;
+        }
+        try {
+            ArquivoConjunto.Cabecalho cabecalho = ArquivoConjunto.lerCabecalho(caminho);
+            Entrada nova = new Entrada(caminho, cabecalho.nome, cabecalho.tipo, cabecalho.quantidade, ++proximaVersao);
+            porArquivo.put(arquivo, nova);
+            // Dois arquivos com o mesmo nome de conjunto: vale o mais recente
+            Entrada mesmoNome = porNome.get(nova.nome);
+            if (mesmoNome == null || mesmoNome.modificado <= nova.modificado) {
+                porNome.put(nova.nome, nova);
+            }
+        } catch (IOException e) {
+            // Cabeçalho incompleto: o próximo evento do arquivo tenta de novo
+        }
+    }
+
+    private void remover(String arquivo) {
+        Entrada antiga = porArquivo.remove(arquivo);
+        if (antiga != null && porNome.get(antiga.nome) == antiga) {
+            porNome.remove(antiga.nome);
+            // Outro arquivo com o mesmo nome de conjunto assume o lugar
+            for (Entrada outra : porArquivo.values()) {
+                if (outra.nome.equals(antiga.nome)) {
+                    Entrada vigente = porNome.get(outra.nome);
+                    if (vigente == null || vigente.modificado <= outra.modificado) {
+                        porNome.put(outra.nome, outra);
+                    }
+                }
+            }
+        }
+    }
+
+    // ===== CONSULTAS =====
+
+    /**
+     * Nomes dos conjuntos salvos, em ordem alfabética
+     */
+    public synchronized List<String> nomes() {
+        return new ArrayList<>(porNome.keySet());
+    }
+
+    public synchronized boolean contem(String nome) {
+        return porNome.containsKey(nome);
+    }
+
+    /**
+     * Quantidade de elementos (do cabeçalho, sem carregar); -1 se não existe
+     */
+    public synchronized int cardinalidade(String nome) {
+        Entrada entrada = porNome.get(nome);
+        return entrada == null ? -1 : entrada.quantidade;
+    }
+
+    /**
+     * OBTER o conjunto e a versão a que ele corresponde, lendo os elementos
+     * só na primeira vez (por versão do arquivo e por dicionário). O arquivo
+     * é lido FORA da trava - a thread do observador segue atendendo eventos;
+     * se o arquivo for trocado durante a leitura, lê de novo a versão nova.
+     *
+     * @return conjunto + versão, ou null se não houver conjunto salvo com esse nome
+     */
+    public Carregado obter(String nome, DicionarioElementos dicionario) throws IOException {
+        while (true) {
+            Entrada entrada;
+            synchronized (this) {
+                entrada = porNome.get(nome);
+                if (entrada == null) {
+                    return null;
+                }
+                if (entrada.carregado != null && entrada.dicionario == dicionario) {
+                    return new Carregado(entrada.carregado, entrada.versao);
+                }
+            }
+
+            ConjuntoNomeado lido = carregar(entrada.arquivo, dicionario);
+
+            synchronized (this) {
+                // Mesma entrada = nenhuma troca registrada durante a leitura
+                if (porNome.get(nome) == entrada) {
+                    entrada.carregado = lido;
+                    entrada.dicionario = dicionario;
+                    carregamentos++;
+                    return new Carregado(lido, entrada.versao);
+                }
+            }
+        }
+    }
+
+    private static ConjuntoNomeado carregar(File arquivo, DicionarioElementos dicionario) throws IOException {
+        ArquivoConjunto.Conteudo conteudo = ArquivoConjunto.ler(arquivo);
+        return switch (conteudo.cabecalho.tipo) {
+            case ArquivoConjunto.TIPO_INTEIROS -> ConjuntoNomeado.deInteiros(conteudo.inteiros, dicionario);
+            case ArquivoConjunto.TIPO_DECIMAIS -> {
+                List<String> textos = new ArrayList<>(conteudo.cabecalho.quantidade);
+                for (int i = 0; i < conteudo.cabecalho.quantidade; i++) {
+                    textos.add(Double.toString(conteudo.decimais.valor(i)));
+                }
+                yield ConjuntoNomeado.de(textos, dicionario);
+            }
+            default -> ConjuntoNomeado.de(conteudo.textos, dicionario);
+        };
+    }
+
+    // ===== ESTATÍSTICAS =====
+
+    public synchronized long eventos() {
+        return eventos;
+    }
+
+    public synchronized long carregamentos() {
+        return carregamentos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        observador.close();
+        thread.interrupt();
+    }
+
+    /**
+     * Resultado de {@link #obter}: o conjunto e a versão lidos juntos
+     */
+    public static final class Carregado {
+        public final ConjuntoNomeado conjunto;
+        public final long versao;
+
+        private Carregado(ConjuntoNomeado conjunto, long versao) {
+            this.conjunto = conjunto;
+            this.versao = versao;
+        }
+    }
+
+    /**
+     * Um arquivo do diretório: cabeçalho sempre, elementos sob demanda
+     */
+    private static final class Entrada {
+        final File arquivo;
+        final String nome;
+        final int tipo;
+        final int quantidade;
+        final long versao;
+        final long tamanho;
+        final long modificado;
+        ConjuntoNomeado carregado;
+        DicionarioElementos dicionario;
+
+        Entrada(File arquivo, String nome, int tipo, int quantidade, long versao) {
+            this.arquivo = arquivo;
+            this.nome = nome;
+            this.tipo = tipo;
+            this.quantidade = quantidade;
+            this.versao = versao;
+            this.tamanho = arquivo.length();
+            this.modificado = arquivo.lastModified();
+        }
+    }
+}
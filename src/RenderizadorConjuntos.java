@@ -0,0 +1,108 @@
+import java.io.*;
+
+/**
+ * ============================================================================
+ *              RENDERIZADOR DE CONJUNTOS GRANDES (SAÍDA EM FLUXO)
+ * ============================================================================
+ *
+ * Exibe conjuntos nomeados sem nunca montar uma String com todos os
+ * elementos: cada elemento é escrito direto num buffer ligado ao
+ * {@code System.out}.
+ *
+ * <h3>Modos de exibição:</h3>
+ * <ul>
+ *   <li>✂️ RESUMO   - primeiros N e últimos N elementos, mais o total:
+ *       {1, 2, 3, ..., 998, 999, 1000} (1000 elementos)</li>
+ *   <li>📄 PAGINADO - o conjunto inteiro, uma página por vez</li>
+ * </ul>
+ * Conjuntos com até 2N elementos aparecem completos no resumo, no mesmo
+ * formato de antes.
+ *
+ * @author Sistema TGC - Módulo Conjuntos
+ * @version 2.0 - Exibição em Fluxo
+ * @since 2025
+ * ============================================================================
+ */
+public final class RenderizadorConjuntos {
+
+    private final int limite;
+    private final int tamanhoPagina;
+    private final PrintWriter saida;
+
+    /**
+     * @param limite        elementos exibidos em cada ponta no resumo
+     * @param tamanhoPagina elementos por página no modo paginado
+     */
+    public RenderizadorConjuntos(int limite, int tamanhoPagina) {
+        this.limite = limite;
+        this.tamanhoPagina = tamanhoPagina;
+        // Não é fechado: só esvaziado ao fim de cada exibição
+        this.saida = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16), false);
+    }
+
+    /**
+     * RESUMO: prefixo + "{primeiros, ..., últimos}" numa linha
+     */
+    public void imprimirResumo(String prefixo, ConjuntoNomeado conjunto) {
+        int n = conjunto.tamanho();
+        saida.print(prefixo);
+        saida.print('{');
+
+        boolean[] primeiro = {true};
+        if (n <= 2 * limite) {
+            conjunto.paraCadaEntre(0, n, elem -> escrever(elem, primeiro));
+            saida.println('}');
+        } else {
+            conjunto.paraCadaEntre(0, limite, elem -> escrever(elem, primeiro));
+            saida.print(", ...");
+            conjunto.paraCadaEntre(n - limite, n, elem -> escrever(elem, primeiro));
+            saida.println("} (" + n + " elementos)");
+        }
+        saida.flush();
+    }
+
+    /**
+     * PAGINADO: percorre o conjunto todo, pedindo confirmação a cada página
+     */
+    public void paginar(String nome, ConjuntoNomeado conjunto, InterfaceEducacionalASCII ui) {
+        int n = conjunto.tamanho();
+        int paginas = Math.max(1, (n + tamanhoPagina - 1) / tamanhoPagina);
+
+        for (int pagina = 0; pagina < paginas; pagina++) {
+            int de = pagina * tamanhoPagina;
+            int ate = Math.min(n, de + tamanhoPagina);
+
+            saida.println();
+            saida.println("** " + nome + " - página " + (pagina + 1) + "/" + paginas
+                + " (elementos " + (n == 0 ? 0 : de + 1) + " a " + ate + " de " + n + ") **");
+            int[] coluna = {0};
+            conjunto.paraCadaEntre(de, ate, elem -> {
+                saida.print(coluna[0]++ == 0 ? "  " : ", ");
+                saida.print(elem);
+                if (coluna[0] == 10) {
+                    saida.println();
+                    coluna[0] = 0;
+                }
+            });
+            if (coluna[0] > 0) {
+                saida.println();
+            }
+            saida.flush();
+
+            if (pagina + 1 < paginas) {
+                System.out.print("ENTER = próxima página, S = sair: ");
+                if (ui.lerTexto().trim().equalsIgnoreCase("s")) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void escrever(String elemento, boolean[] primeiro) {
+        if (!primeiro[0]) {
+            saida.print(", ");
+        }
+        saida.print(elemento);
+        primeiro[0] = false;
+    }
+}
@@ -0,0 +1,241 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * ============================================================================
+ *            SERVIÇO DE PERSISTÊNCIA EM SEGUNDO PLANO (FILA LIMITADA)
+ * ============================================================================
+ *
+ * Executa gravações em disco numa thread própria, para o menu voltar na
+ * hora. As tarefas entram numa fila limitada e saem na ordem de chegada.
+ *
+ * <h3>Características:</h3>
+ * <ul>
+ *   <li>🧵 Uma thread de trabalho: as gravações acontecem na ordem pedida</li>
+ *   <li>🔗 Coalescência: uma tarefa com a mesma CHAVE de outra ainda na fila
+ *       substitui a antiga e vai para o FIM da fila, depois de tudo o que
+ *       foi pedido antes dela (salvar o mesmo arquivo 5 vezes = 1 gravação)</li>
+ *   <li>🚧 Fila cheia: quem envia espera uma vaga (não cresce sem limite)</li>
+ *   <li>⏳ {@link #aguardar()}: leituras esperam as gravações pendentes e
+ *       sempre enxergam o último estado</li>
+ *   <li>📬 Resultados e erros viram mensagens, mostradas pelo menu -
+ *       a thread de fundo nunca escreve na tela</li>
+ *   <li>🛟 Nem um {@code Error} (ex.: falta de memória) derruba a thread:
+ *       a tarefa conta como falha e a fila segue - {@link #aguardar()} e
+ *       {@link #close()} nunca ficam presos</li>
+ *   <li>📊 Métricas: profundidade atual e máxima da fila, tarefas enviadas,
+ *       executadas, coalescidas e com falha</li>
+ * </ul>
+ *
+ * @author Sistema TGC - Módulo Persistência
+ * @version 2.0 - Persistência Assíncrona
+ * @since 2025
+ * ============================================================================
+ */
+public final class ServicoPersistencia implements Closeable {
+
+    /**
+     * Uma gravação; devolve a mensagem para o usuário (ou null)
+     */
+    @FunctionalInterface
+    public interface TarefaIO {
+        String executar() throws IOException;
+    }
+
+    private final int capacidade;
+    private final LinkedHashMap<String, TarefaIO> fila = new LinkedHashMap<>();
+    private final Map<String, String> descricoes = new HashMap<>();
+    private final Deque<String> mensagens = new ArrayDeque<>();
+    private final Thread trabalhador;
+
+    private boolean executando;
+    private boolean encerrado;
+    private long sequencia;
+    private long enviadas;
+    private long executadas;
+    private long coalescidas;
+    private long falhas;
+    private int profundidadeMaxima;
+
+    public ServicoPersistencia(int capacidade) {
+        this.capacidade = capacidade;
+        this.trabalhador = new Thread(this::trabalhar, "tgc-persistencia");
+        trabalhador.setDaemon(true);
+        trabalhador.start();
+    }
+
+    /**
+     * ENVIAR uma tarefa para a fila
+     *
+     * @param chave     tarefas com a mesma chave se fundem (null = nunca)
+     * @param descricao usada nas mensagens de erro
+     * @return true se substituiu uma tarefa pendente com a mesma chave
+     */
+    public synchronized boolean enviar(String chave, String descricao, TarefaIO tarefa) {
+        if (encerrado) {
+            throw new IllegalStateException("serviço de persistência encerrado");
+        }
+        String chaveReal = chave == null ? "#" + (++sequencia) : chave;
+        enviadas++;
+
+        if (fila.containsKey(chaveReal)) {
+            // Só a versão mais nova será gravada, na posição do pedido mais
+            // novo: o que foi enfileirado antes dela roda antes
+            fila.remove(chaveReal);
+            fila.put(chaveReal, tarefa);
+            descricoes.put(chaveReal, descricao);
+            coalescidas++;
+            return true;
+        }
+
+        boolean interrompida = false;
+        while (fila.size() >= capacidade) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrompida = true;
+            }
+        }
+        if (interrompida) {
+            Thread.currentThread().interrupt();
+        }
+
+        fila.put(chaveReal, tarefa);
+        descricoes.put(chaveReal, descricao);
+        profundidadeMaxima = Math.max(profundidadeMaxima, fila.size());
+        notifyAll();
+        return false;
+    }
+
+    /**
+     * AGUARDAR até a fila esvaziar e a tarefa em execução terminar
+     */
+    public synchronized void aguardar() {
+        boolean interrompida = false;
+        while (!fila.isEmpty() || executando) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrompida = true;
+            }
+        }
+        if (interrompida) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void trabalhar() {
+        while (true) {
+            String chave;
+            TarefaIO tarefa;
+            String descricao;
+            synchronized (this) {
+                while (fila.isEmpty() && !encerrado) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        // Só termina quando a fila estiver vazia e o serviço encerrado
+                    }
+                }
+                if (fila.isEmpty()) {
+                    return;
+                }
+                Iterator<Map.Entry<String, TarefaIO>> primeira = fila.entrySet().iterator();
+                Map.Entry<String, TarefaIO> entrada = primeira.next();
+                primeira.remove();
+                chave = entrada.getKey();
+                tarefa = entrada.getValue();
+                descricao = descricoes.remove(chave);
+                executando = true;
+                notifyAll();   // abriu vaga na fila
+            }
+
+            String mensagem = null;
+            boolean falhou = true;
+            try {
+                mensagem = tarefa.executar();
+                falhou = false;
+            } catch (IOException | RuntimeException e) {
+                mensagem = "ERRO em segundo plano (" + descricao + "): " + e.getMessage();
+            } catch (Throwable e) {
+                // Ex.: OutOfMemoryError ao serializar uma importação enorme -
+                // a tarefa falha, mas a thread continua atendendo a fila
+                mensagem = "ERRO em segundo plano (" + descricao + "): " + e;
+            } finally {
+                synchronized (this) {
+                    if (mensagem != null) {
+                        mensagens.add(mensagem);
+                    }
+                    if (falhou) {
+                        falhas++;
+                    }
+                    executadas++;
+                    executando = false;
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Mensagens das tarefas concluídas desde a última chamada
+     */
+    public synchronized List<String> recolherMensagens() {
+        List<String> lista = new ArrayList<>(mensagens);
+        mensagens.clear();
+        return lista;
+    }
+
+    // ===== MÉTRICAS =====
+
+    public synchronized int profundidade() {
+        return fila.size() + (executando ? 1 : 0);
+    }
+
+    public synchronized int profundidadeMaxima() {
+        return profundidadeMaxima;
+    }
+
+    public int capacidade() {
+        return capacidade;
+    }
+
+    public synchronized long enviadas() {
+        return enviadas;
+    }
+
+    public synchronized long executadas() {
+        return executadas;
+    }
+
+    public synchronized long coalescidas() {
+        return coalescidas;
+    }
+
+    public synchronized long falhas() {
+        return falhas;
+    }
+
+    /**
+     * ENCERRAR: executa tudo o que estiver na fila e para a thread
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            encerrado = true;
+            notifyAll();
+        }
+        boolean interrompida = false;
+        while (trabalhador.isAlive()) {
+            try {
+                trabalhador.join();
+            } catch (InterruptedException e) {
+                interrompida = true;
+            }
+        }
+        if (interrompida) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,339 @@
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * ============================================================================
+ *          SIMILARIDADE APROXIMADA (ASSINATURAS MINHASH + BANDAS LSH)
+ * ============================================================================
+ *
+ * Para coleções enormes, onde comparar todos os pares não cabe no tempo:
+ * cada conjunto vira uma ASSINATURA curta e só os pares com chance real de
+ * passar do limiar são comparados.
+ *
+ * <h3>Como funciona:</h3>
+ * <ul>
+ *   <li>✍️ MinHash: para cada uma das {@code h} funções de hash, guarda o
+ *       menor hash dos elementos. A fração de posições iguais entre duas
+ *       assinaturas estima o Jaccard</li>
+ *   <li>🪣 LSH: a assinatura é cortada em {@code b} bandas de {@code r}
+ *       linhas; conjuntos com uma banda idêntica caem no mesmo balde e
+ *       viram CANDIDATOS. Pares com Jaccard s são achados com probabilidade
+ *       1 - (1 - s^r)^b - as bandas são escolhidas para o limiar pedido</li>
+ *   <li>📏 Cada estimativa sai com margem de erro (95%, aproximação
+ *       normal): ±1,96·√(J(1-J)/h)</li>
+ *   <li>🏆 Ranking dos pares acima do limiar num {@link RankingTopK}:
+ *       memória limitada ao tamanho pedido</li>
+ *   <li>⚡ Assinaturas calculadas uma vez por conjunto, em paralelo
+ *       ({@code -Dtgc.similaridade.paralelismo}, como o
+ *       {@link MotorSimilaridade}); o resto é proporcional aos candidatos,
+ *       não ao quadrado do número de conjuntos</li>
+ * </ul>
+ * Pares abaixo do limiar podem ficar de fora, e alguns pares perto dele
+ * podem ser perdidos - é o preço de não comparar tudo.
+ *
+ * @author Sistema TGC - Módulo Exportação
+ * @version 2.0 - Similaridade Aproximada
+ * @since 2025
+ * ============================================================================
+ */
+public final class SimilaridadeAproximada {
+
+    /** Funções de hash por assinatura (padrão) */
+    public static final int PERMUTACOES_PADRAO = 128;
+
+    private static final double Z_95 = 1.96;
+
+    private final String[] nomes;
+    private final int permutacoes;
+    private final int bandas;
+    private final int linhasPorBanda;
+    private final double limiar;
+    private final int[] assinaturas;     // conjunto i: [i·h, (i+1)·h)
+    private final boolean[] vazios;
+    private final RankingTopK ranking;
+    private long candidatos;
+    private long acimaDoLimiar;
+
+    private SimilaridadeAproximada(String[] nomes, int permutacoes, int bandas, double limiar, int limiteRanking) {
+        this.nomes = nomes;
+        this.permutacoes = permutacoes;
+        this.bandas = bandas;
+        this.linhasPorBanda = permutacoes / bandas;
+        this.limiar = limiar;
+        this.assinaturas = new int[nomes.length * permutacoes];
+        this.vazios = new boolean[nomes.length];
+        // Nunca há mais pares que k·(k-1)/2: um limite enorme não reserva nada a mais
+        long pares = (long) nomes.length * (nomes.length - 1) / 2;
+        this.ranking = new RankingTopK((int) Math.min(limiteRanking, pares));
+    }
+
+    /**
+     * CALCULAR os pares com Jaccard estimado ≥ {@code limiar}
+     *
+     * @param permutacoes   tamanho da assinatura (mais = estimativa mais precisa)
+     * @param limiar        similaridade mínima procurada, entre 0 e 1
+     * @param limiteRanking quantos dos melhores pares guardar
+     */
+    public static SimilaridadeAproximada calcular(String[] nomes, List<? extends Collection<String>> conjuntos,
+                                                  int permutacoes, double limiar, int limiteRanking) {
+        if (nomes.length != conjuntos.size()) {
+            throw new IllegalArgumentException("quantidade de nomes diferente da de conjuntos");
+        }
+        if (permutacoes < 1 || limiar < 0 || limiar > 1) {
+            throw new IllegalArgumentException("permutações >= 1 e limiar entre 0 e 1");
+        }
+        if ((long) nomes.length * permutacoes > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("assinaturas demais: " + nomes.length + " × " + permutacoes);
+        }
+
+        SimilaridadeAproximada resultado = new SimilaridadeAproximada(nomes.clone(), permutacoes,
+            escolherBandas(permutacoes, limiar), limiar, limiteRanking);
+        resultado.calcularAssinaturas(conjuntos, MotorSimilaridade.paralelismoPadrao());
+        resultado.buscarPares();
+        return resultado;
+    }
+
+    /**
+     * Número de bandas b (divisor de h) cujo limiar natural (1/b)^(1/r)
+     * é o maior que não passa do pedido - na dúvida, mais candidatos
+     */
+    private static int escolherBandas(int permutacoes, double limiar) {
+        int escolhida = permutacoes;
+        double melhor = -1;
+        for (int b = 1; b <= permutacoes; b++) {
+            if (permutacoes % b != 0) {
+                continue;
+            }
+            double natural = Math.pow(1.0 / b, (double) b / permutacoes);
+            if (natural <= limiar && natural > melhor) {
+                melhor = natural;
+                escolhida = b;
+            }
+        }
+        return escolhida;
+    }
+
+    // ===== ASSINATURAS =====
+
+    private void calcularAssinaturas(List<? extends Collection<String>> conjuntos, int paralelismo) {
+        long[] sementes = new long[permutacoes];
+        SplittableRandom aleatorio = new SplittableRandom(0x7467634D696E4861L);
+        for (int p = 0; p < permutacoes; p++) {
+            sementes[p] = aleatorio.nextLong();
+        }
+
+        if (paralelismo <= 1 || conjuntos.size() < 2) {
+            for (int i = 0; i < conjuntos.size(); i++) {
+                assinar(i, conjuntos.get(i), sementes);
+            }
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool(paralelismo);
+        try {
+            pool.invoke(new TarefaAssinaturas(this, conjuntos, sementes, 0, conjuntos.size()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Assinatura de um conjunto: um hash de 64 bits por elemento, depois
+     * uma mistura barata com cada semente
+     */
+    private void assinar(int id, Collection<String> conjunto, long[] sementes) {
+        int inicio = id * permutacoes;
+        Arrays.fill(assinaturas, inicio, inicio + permutacoes, Integer.MAX_VALUE);
+        vazios[id] = conjunto.isEmpty();
+        for (String elemento : conjunto) {
+            long base = hash64(elemento);
+            for (int p = 0; p < permutacoes; p++) {
+                long valor = (base ^ sementes[p]) * 0x9E3779B97F4A7C15L;
+                int minimo = (int) (valor ^ (valor >>> 32));
+                if (minimo < assinaturas[inicio + p]) {
+                    assinaturas[inicio + p] = minimo;
+                }
+            }
+        }
+    }
+
+    /**
+     * FNV-1a de 64 bits sobre os chars, com mistura final
+     */
+    private static long hash64(String texto) {
+        long h = 0xCBF29CE484222325L;
+        for (int c = 0; c < texto.length(); c++) {
+            h ^= texto.charAt(c);
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    // ===== BANDAS =====
+
+    /**
+     * Agrupa por banda, junta os candidatos e estima o Jaccard de cada um
+     */
+    private void buscarPares() {
+        int k = nomes.length;
+        Set<Long> vistos = new HashSet<>();
+        for (int banda = 0; banda < bandas; banda++) {
+            Map<Long, List<Integer>> baldes = new HashMap<>();
+            int deslocamento = banda * linhasPorBanda;
+            for (int i = 0; i < k; i++) {
+                if (vazios[i]) {
+                    continue;
+                }
+                long chave = banda;
+                for (int r = 0; r < linhasPorBanda; r++) {
+                    chave = chave * 0x100000001B3L + assinaturas[i * permutacoes + deslocamento + r];
+                }
+                baldes.computeIfAbsent(chave, c -> new ArrayList<>()).add(i);
+            }
+
+            for (List<Integer> balde : baldes.values()) {
+                for (int a = 0; a < balde.size() - 1; a++) {
+                    for (int b = a + 1; b < balde.size(); b++) {
+                        int i = balde.get(a);
+                        int j = balde.get(b);
+                        // A chave é só um hash da banda: confere se é idêntica mesmo
+                        if (bandaIgual(i, j, deslocamento) && vistos.add(((long) i << 32) | j)) {
+                            candidatos++;
+                            double estimativa = estimar(i, j);
+                            if (estimativa >= limiar) {
+                                acimaDoLimiar++;
+                                ranking.oferecer(estimativa, RankingTopK.empacotar(i, j));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        // Mais similares primeiro; empates na ordem (i, j)
+        ranking.ordenar();
+    }
+
+    private boolean bandaIgual(int i, int j, int deslocamento) {
+        int a = i * permutacoes + deslocamento;
+        int b = j * permutacoes + deslocamento;
+        for (int r = 0; r < linhasPorBanda; r++) {
+            if (assinaturas[a + r] != assinaturas[b + r]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Jaccard estimado: fração de posições iguais nas assinaturas
+     */
+    private double estimar(int i, int j) {
+        int a = i * permutacoes;
+        int b = j * permutacoes;
+        int iguais = 0;
+        for (int p = 0; p < permutacoes; p++) {
+            if (assinaturas[a + p] == assinaturas[b + p]) {
+                iguais++;
+            }
+        }
+        return (double) iguais / permutacoes;
+    }
+
+    /**
+     * Margem de erro (95%) de uma estimativa com este tamanho de assinatura
+     */
+    public double margemErro(double estimativa) {
+        return Z_95 * Math.sqrt(estimativa * (1 - estimativa) / permutacoes);
+    }
+
+    /**
+     * Chance de um par com Jaccard {@code s} virar candidato: 1 - (1 - s^r)^b
+     */
+    public double probabilidadeDeteccao(double s) {
+        return 1 - Math.pow(1 - Math.pow(s, linhasPorBanda), bandas);
+    }
+
+    // ===== CONSULTAS =====
+
+    public int quantidade() {
+        return nomes.length;
+    }
+
+    public String nome(int i) {
+        return nomes[i];
+    }
+
+    public int permutacoes() {
+        return permutacoes;
+    }
+
+    public int bandas() {
+        return bandas;
+    }
+
+    public int linhasPorBanda() {
+        return linhasPorBanda;
+    }
+
+    public double limiar() {
+        return limiar;
+    }
+
+    /**
+     * Pares distintos que caíram juntos em algum balde (comparados de fato)
+     */
+    public long candidatos() {
+        return candidatos;
+    }
+
+    /**
+     * Pares com estimativa ≥ limiar (inclusive os que não couberam no ranking)
+     */
+    public long acimaDoLimiar() {
+        return acimaDoLimiar;
+    }
+
+    /**
+     * Os melhores pares com estimativa ≥ limiar, do mais ao menos similar
+     * (valor = Jaccard estimado; margem em {@link #margemErro})
+     */
+    public RankingTopK ranking() {
+        return ranking;
+    }
+
+    /**
+     * Assinaturas dos conjuntos [de, ate): calcula ou divide ao meio
+     */
+    private static final class TarefaAssinaturas extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final SimilaridadeAproximada resultado;
+        private final List<? extends Collection<String>> conjuntos;
+        private final long[] sementes;
+        private final int de;
+        private final int ate;
+
+        TarefaAssinaturas(SimilaridadeAproximada resultado, List<? extends Collection<String>> conjuntos,
+                          long[] sementes, int de, int ate) {
+            this.resultado = resultado;
+            this.conjuntos = conjuntos;
+            this.sementes = sementes;
+            this.de = de;
+            this.ate = ate;
+        }
+
+        @Override
+        protected void compute() {
+            if (ate - de == 1) {
+                resultado.assinar(de, conjuntos.get(de), sementes);
+                return;
+            }
+            int meio = (de + ate) >>> 1;
+            invokeAll(new TarefaAssinaturas(resultado, conjuntos, sementes, de, meio),
+                      new TarefaAssinaturas(resultado, conjuntos, sementes, meio, ate));
+        }
+    }
+}
@@ -1,3 +1,4 @@
+import java.io.*;
 import java.util.*;
 
 /**
@@ -41,6 +42,18 @@ public class SistemaEducacional {
     // Esta variável guarda nossa "interface" - é quem conversa com o usuário
     private final InterfaceEducacionalASCII ui;
     
+    // Log de histórico da persistência: aberto uma vez, fechado ao sair
+    private LogHistorico logHistorico;
+    
+    // Gravações da persistência em segundo plano: esvaziada ao sair
+    private ServicoPersistencia servicoPersistencia;
+    
+    // Catálogo dos arquivos salvos: aberto uma vez, compartilhado pelas visitas ao menu
+    private CatalogoConjuntos catalogoConjuntos;
+    
+    // Conjuntos salvos em disco, vigiados para o Gerenciador: fechado ao sair
+    private RegistroConjuntosSalvos registroConjuntos;
+    
     /**
      * CONSTRUTOR - Roda quando criamos um novo SistemaEducacional
      * Cria a interface que vai ser usada para conversar com o usuário
@@ -115,6 +128,7 @@ public class SistemaEducacional {
                     
                 case 12: // Sair
                     continuar = false;  // Para o loop
+                    encerrarPersistencia();
                     ui.exibirDespedida();
                     break;
                     
@@ -269,32 +283,18 @@ public class SistemaEducacional {
         // Conjunto A
         System.out.print("Digite os elementos do conjunto A (separados por espaço): ");
         String entradaA = ui.lerTexto();
-        String[] elementosA = entradaA.split(" ");
         
         // Conjunto B  
         System.out.print("Digite os elementos do conjunto B (separados por espaço): ");
         String entradaB = ui.lerTexto();
-        String[] elementosB = entradaB.split(" ");
-        
-        // Ordenar e mostrar os conjuntos de forma organizada
-        TreeSet<String> conjuntoA = new TreeSet<>();
-        TreeSet<String> conjuntoB = new TreeSet<>();
         
-        // Adicionar elementos removendo espaços extras
-        for (String elem : elementosA) {
-            if (!elem.trim().isEmpty()) {
-                conjuntoA.add(elem.trim());
-            }
-        }
-        for (String elem : elementosB) {
-            if (!elem.trim().isEmpty()) {
-                conjuntoB.add(elem.trim());
-            }
-        }
+        // Normalizar UMA vez: remove espaços extras, vazios e repetidos, e ordena
+        KernelConjuntos.Normalizado conjuntoA = KernelConjuntos.normalizar(entradaA);
+        KernelConjuntos.Normalizado conjuntoB = KernelConjuntos.normalizar(entradaB);
         
         System.out.println("\nSeus conjuntos (organizados em ordem):");
-        System.out.println("A = {" + String.join(", ", conjuntoA) + "}");
-        System.out.println("B = {" + String.join(", ", conjuntoB) + "}");
+        System.out.println("A = {" + String.join(", ", conjuntoA.elementos()) + "}");
+        System.out.println("B = {" + String.join(", ", conjuntoB.elementos()) + "}");
         System.out.println();
         
         // Menu de operações
@@ -310,18 +310,19 @@ public class SistemaEducacional {
         
         switch (opcao) {
             case 1:
-                calcularUniao(elementosA, elementosB);
+                calcularUniao(conjuntoA, conjuntoB);
                 break;
             case 2:
-                calcularIntersecao(elementosA, elementosB);
+                calcularIntersecao(conjuntoA, conjuntoB);
                 break;
             case 3:
-                calcularDiferenca(elementosA, elementosB);
+                calcularDiferenca(conjuntoA, conjuntoB);
                 break;
             case 4:
-                calcularUniao(elementosA, elementosB);
-                calcularIntersecao(elementosA, elementosB);
-                calcularDiferenca(elementosA, elementosB);
+                // Reaproveita as entradas já normalizadas nas três operações
+                calcularUniao(conjuntoA, conjuntoB);
+                calcularIntersecao(conjuntoA, conjuntoB);
+                calcularDiferenca(conjuntoA, conjuntoB);
                 break;
             default:
                 System.out.println("Opção inválida!");
@@ -453,35 +454,18 @@ public class SistemaEducacional {
     }
     
     // Métodos auxiliares para a calculadora - com resultados ORDENADOS!
+    // Todos usam o KernelConjuntos: tempo linear sobre entradas já normalizadas
     
     /**
      * CALCULAR UNIÃO - junta todos os elementos SEM repetir e EM ORDEM
      */
-    private void calcularUniao(String[] a, String[] b) {
+    private void calcularUniao(KernelConjuntos.Normalizado a, KernelConjuntos.Normalizado b) {
         System.out.println("** UNIÃO (A U B):");
         
-        // Usar TreeSet para ordenar automaticamente e remover duplicatas
-        TreeSet<String> resultado = new TreeSet<>();
+        // Intercala os dois conjuntos ordenados (duplicatas aparecem uma vez só)
+        List<String> resultado = KernelConjuntos.uniao(a, b);
         
-        // Adicionar elementos de A
-        for (String elem : a) {
-            resultado.add(elem.trim()); // trim remove espaços extras
-        }
-        
-        // Adicionar elementos de B (TreeSet remove duplicatas automaticamente)
-        for (String elem : b) {
-            resultado.add(elem.trim());
-        }
-        
-        // Mostrar resultado ordenado
-        System.out.print("   Resultado: {");
-        int contador = 0;
-        for (String elem : resultado) {
-            if (contador > 0) System.out.print(", ");
-            System.out.print(elem);
-            contador++;
-        }
-        System.out.println("}");
+        mostrarResultado(resultado);
         System.out.println("   (Todos os elementos dos dois conjuntos, EM ORDEM!)");
         System.out.println();
     }
@@ -489,31 +473,13 @@ public class SistemaEducacional {
     /**
      * CALCULAR INTERSEÇÃO - só elementos comuns e EM ORDEM
      */
-    private void calcularIntersecao(String[] a, String[] b) {
+    private void calcularIntersecao(KernelConjuntos.Normalizado a, KernelConjuntos.Normalizado b) {
         System.out.println("** INTERSEÇÃO (A INT B):");
         
-        // Usar TreeSet para ordenar
-        TreeSet<String> resultado = new TreeSet<>();
+        // Procurar elementos comuns (consulta hash, sem laço aninhado)
+        List<String> resultado = KernelConjuntos.intersecao(a, b);
         
-        // Procurar elementos comuns
-        for (String elemA : a) {
-            for (String elemB : b) {
-                if (elemA.trim().equals(elemB.trim())) {
-                    resultado.add(elemA.trim());
-                    break; // Já encontrou, não precisa continuar
-                }
-            }
-        }
-        
-        // Mostrar resultado ordenado
-        System.out.print("   Resultado: {");
-        int contador = 0;
-        for (String elem : resultado) {
-            if (contador > 0) System.out.print(", ");
-            System.out.print(elem);
-            contador++;
-        }
-        System.out.println("}");
+        mostrarResultado(resultado);
         System.out.println("   (Só os elementos que aparecem nos dois, EM ORDEM!)");
         System.out.println();
     }
@@ -521,27 +487,21 @@ public class SistemaEducacional {
     /**
      * CALCULAR DIFERENÇA - elementos de A que não estão em B, EM ORDEM
      */
-    private void calcularDiferenca(String[] a, String[] b) {
+    private void calcularDiferenca(KernelConjuntos.Normalizado a, KernelConjuntos.Normalizado b) {
         System.out.println("** DIFERENÇA (A - B):");
         
-        // Usar TreeSet para ordenar
-        TreeSet<String> resultado = new TreeSet<>();
-        
         // Procurar elementos de A que não estão em B
-        for (String elemA : a) {
-            boolean estaEmB = false;
-            for (String elemB : b) {
-                if (elemA.trim().equals(elemB.trim())) {
-                    estaEmB = true;
-                    break;
-                }
-            }
-            if (!estaEmB) {
-                resultado.add(elemA.trim());
-            }
-        }
+        List<String> resultado = KernelConjuntos.diferenca(a, b);
         
-        // Mostrar resultado ordenado
+        mostrarResultado(resultado);
+        System.out.println("   (Elementos de A que NÃO estão em B, EM ORDEM!)");
+        System.out.println();
+    }
+    
+    /**
+     * Mostra um resultado da calculadora no formato {a, b, c}
+     */
+    private void mostrarResultado(List<String> resultado) {
         System.out.print("   Resultado: {");
         int contador = 0;
         for (String elem : resultado) {
@@ -550,8 +510,6 @@ public class SistemaEducacional {
             contador++;
         }
         System.out.println("}");
-        System.out.println("   (Elementos de A que NÃO estão em B, EM ORDEM!)");
-        System.out.println();
     }
     
     // ===== NOVAS FUNCIONALIDADES AVANÇADAS =====
@@ -561,7 +519,14 @@ public class SistemaEducacional {
      * Permite criar conjuntos nomeados e manter histórico
      */
     private void executarGerenciadorConjuntos() {
-        GerenciadorConjuntos gerenciador = new GerenciadorConjuntos(ui);
+        if (registroConjuntos == null) {
+            try {
+                registroConjuntos = RegistroConjuntosSalvos.abrir(new File(SistemaPersistencia.DIRETORIO_CONJUNTOS));
+            } catch (IOException e) {
+                System.out.println("ERRO ao abrir conjuntos salvos: " + e.getMessage());
+            }
+        }
+        GerenciadorConjuntos gerenciador = new GerenciadorConjuntos(ui, registroConjuntos);
         gerenciador.executarGerenciador();
     }
     
@@ -579,10 +544,70 @@ public class SistemaEducacional {
      * Salva e carrega conjuntos de arquivos
      */
     private void executarSistemaPersistencia() {
-        SistemaPersistencia persistencia = new SistemaPersistencia(ui);
+        if (logHistorico == null) {
+            try {
+                logHistorico = LogHistorico.abrir(new File(SistemaPersistencia.DIRETORIO_HISTORICO));
+                if (logHistorico.bytesDescartados() > 0) {
+                    System.out.println("Histórico recuperado: " + logHistorico.bytesDescartados()
+                        + " bytes de um registro incompleto foram descartados.");
+                }
+                int importadas = logHistorico.importarTextoAntigo(new File(SistemaPersistencia.ARQUIVO_HISTORICO_ANTIGO));
+                if (importadas > 0) {
+                    System.out.println("Histórico antigo importado: " + importadas + " operações.");
+                }
+            } catch (IOException e) {
+                System.out.println("ERRO ao abrir histórico: " + e.getMessage());
+            }
+        }
+        if (servicoPersistencia == null) {
+            servicoPersistencia = new ServicoPersistencia(64);
+        }
+        if (catalogoConjuntos == null) {
+            // Um só catálogo na sessão: tarefas de visitas anteriores ainda na
+            // fila gravam pela mesma instância (mesma trava, mesmo .tmp)
+            try {
+                catalogoConjuntos = CatalogoConjuntos.abrir(new File(SistemaPersistencia.DIRETORIO_CONJUNTOS),
+                    new File(SistemaPersistencia.ARQUIVO_CATALOGO));
+            } catch (IOException e) {
+                System.out.println("ERRO ao abrir catálogo: " + e.getMessage());
+            }
+        }
+        SistemaPersistencia persistencia = new SistemaPersistencia(ui, logHistorico, servicoPersistencia, catalogoConjuntos);
         persistencia.executarPersistencia();
     }
     
+    /**
+     * Termina as gravações pendentes e fecha o histórico e o registro antes de sair
+     */
+    private void encerrarPersistencia() {
+        if (servicoPersistencia != null) {
+            if (servicoPersistencia.profundidade() > 0) {
+                System.out.println("Concluindo " + servicoPersistencia.profundidade() + " gravação(ões) pendente(s)...");
+            }
+            servicoPersistencia.close();
+            for (String mensagem : servicoPersistencia.recolherMensagens()) {
+                System.out.println("  > " + mensagem);
+            }
+            servicoPersistencia = null;
+        }
+        if (logHistorico != null) {
+            try {
+                logHistorico.close();
+            } catch (IOException e) {
+                System.out.println("ERRO ao fechar histórico: " + e.getMessage());
+            }
+            logHistorico = null;
+        }
+        if (registroConjuntos != null) {
+            try {
+                registroConjuntos.close();
+            } catch (IOException e) {
+                System.out.println("ERRO ao fechar conjuntos salvos: " + e.getMessage());
+            }
+            registroConjuntos = null;
+        }
+    }
+    
     /**
      * EXECUTAR SISTEMA DE EXPORTAÇÃO
      * Gera relatórios profissionais em vários formatos
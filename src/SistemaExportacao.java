@@ -94,92 +94,99 @@ public class SistemaExportacao {
         
         String nomeArquivo = "relatorio_conjuntos_" + System.currentTimeMillis() + ".txt";
         
-        try (PrintWriter writer = new PrintWriter(new FileWriter(nomeArquivo))) {
+        try (EscritorRelatorio saida = new EscritorRelatorio(new File(nomeArquivo))) {
             // Cabeçalho
-            writer.println("================================================================");
-            writer.println("              RELATÓRIO DE CONJUNTOS - SISTEMA TGS");
-            writer.println("================================================================");
-            writer.println();
-            writer.println("Data de Geração: " + formatoData.format(new Date()));
-            writer.println("Total de Conjuntos: " + conjuntos.size());
-            writer.println();
+            saida.escreverLinha("================================================================");
+            saida.escreverLinha("              RELATÓRIO DE CONJUNTOS - SISTEMA TGS");
+            saida.escreverLinha("================================================================");
+            saida.escreverLinha();
+            saida.escreverLinha("Data de Geração: " + formatoData.format(new Date()));
+            saida.escreverLinha("Total de Conjuntos: " + conjuntos.size());
+            saida.escreverLinha();
             
             // Listar todos os conjuntos
-            writer.println("=== CONJUNTOS ANALISADOS ===");
-            writer.println();
+            saida.escreverLinha("=== CONJUNTOS ANALISADOS ===");
+            saida.escreverLinha();
             
             int contador = 1;
             for (Map.Entry<String, TreeSet<String>> entry : conjuntos.entrySet()) {
                 String nome = entry.getKey();
                 TreeSet<String> conjunto = entry.getValue();
                 
-                writer.println(contador + ". CONJUNTO: " + nome);
-                writer.println("   Elementos: {" + String.join(", ", conjunto) + "}");
-                writer.println("   Cardinalidade: " + conjunto.size());
+                saida.escreverLinha(contador + ". CONJUNTO: " + nome);
+                saida.escrever("   Elementos: {");
+                saida.escreverElementos(conjunto, ", ");
+                saida.escreverLinha("}");
+                saida.escreverLinha("   Cardinalidade: " + conjunto.size());
                 
                 if (!conjunto.isEmpty()) {
-                    writer.println("   Primeiro elemento: " + conjunto.first());
-                    writer.println("   Último elemento: " + conjunto.last());
+                    saida.escreverLinha("   Primeiro elemento: " + conjunto.first());
+                    saida.escreverLinha("   Último elemento: " + conjunto.last());
                 }
                 
-                writer.println();
+                saida.escreverLinha();
                 contador++;
             }
             
             // Análises combinatórias
             if (conjuntos.size() >= 2) {
-                writer.println("=== ANÁLISES COMBINATÓRIAS ===");
-                writer.println();
+                saida.escreverLinha("=== ANÁLISES COMBINATÓRIAS ===");
+                saida.escreverLinha();
                 
                 String[] nomes = conjuntos.keySet().toArray(String[]::new);
+                Map<String, ConjuntoOrdenado<String>> ordenados = ordenarConjuntos(conjuntos);
                 
                 for (int i = 0; i < nomes.length - 1; i++) {
                     for (int j = i + 1; j < nomes.length; j++) {
                         String nome1 = nomes[i];
                         String nome2 = nomes[j];
-                        TreeSet<String> conjunto1 = conjuntos.get(nome1);
-                        TreeSet<String> conjunto2 = conjuntos.get(nome2);
+                        ConjuntoOrdenado<String> conjunto1 = ordenados.get(nome1);
+                        ConjuntoOrdenado<String> conjunto2 = ordenados.get(nome2);
                         
-                        writer.println(">>> " + nome1 + " x " + nome2 + " <<<");
+                        saida.escreverLinha(">>> " + nome1 + " x " + nome2 + " <<<");
                         
                         // União
-                        TreeSet<String> uniao = new TreeSet<>(conjunto1);
-                        uniao.addAll(conjunto2);
-                        writer.println("União: {" + String.join(", ", uniao) + "}");
-                        writer.println("Cardinalidade da União: " + uniao.size());
+                        ConjuntoOrdenado<String> uniao = conjunto1.uniao(conjunto2);
+                        saida.escrever("União: {");
+                        saida.escreverElementos(uniao, ", ");
+                        saida.escreverLinha("}");
+                        saida.escreverLinha("Cardinalidade da União: " + uniao.tamanho());
                         
                         // Interseção
-                        TreeSet<String> intersecao = new TreeSet<>(conjunto1);
-                        intersecao.retainAll(conjunto2);
-                        writer.println("Interseção: {" + String.join(", ", intersecao) + "}");
-                        writer.println("Cardinalidade da Interseção: " + intersecao.size());
+                        ConjuntoOrdenado<String> intersecao = conjunto1.intersecao(conjunto2);
+                        saida.escrever("Interseção: {");
+                        saida.escreverElementos(intersecao, ", ");
+                        saida.escreverLinha("}");
+                        saida.escreverLinha("Cardinalidade da Interseção: " + intersecao.tamanho());
                         
                         // Diferenças
-                        TreeSet<String> diff1 = new TreeSet<>(conjunto1);
-                        diff1.removeAll(conjunto2);
-                        TreeSet<String> diff2 = new TreeSet<>(conjunto2);
-                        diff2.removeAll(conjunto1);
+                        ConjuntoOrdenado<String> diff1 = conjunto1.diferenca(conjunto2);
+                        ConjuntoOrdenado<String> diff2 = conjunto2.diferenca(conjunto1);
                         
-                        writer.println(nome1 + " - " + nome2 + ": {" + String.join(", ", diff1) + "}");
-                        writer.println(nome2 + " - " + nome1 + ": {" + String.join(", ", diff2) + "}");
+                        saida.escrever(nome1 + " - " + nome2 + ": {");
+                        saida.escreverElementos(diff1, ", ");
+                        saida.escreverLinha("}");
+                        saida.escrever(nome2 + " - " + nome1 + ": {");
+                        saida.escreverElementos(diff2, ", ");
+                        saida.escreverLinha("}");
                         
-                        // Propriedades
-                        boolean disjuntos = intersecao.isEmpty();
-                        boolean contem1em2 = conjunto2.containsAll(conjunto1);
-                        boolean contem2em1 = conjunto1.containsAll(conjunto2);
+                        // Propriedades (derivadas das cardinalidades já calculadas)
+                        boolean disjuntos = intersecao.estaVazio();
+                        boolean contem1em2 = diff1.estaVazio();
+                        boolean contem2em1 = diff2.estaVazio();
                         
-                        writer.println("São disjuntos: " + (disjuntos ? "SIM" : "NÃO"));
-                        writer.println(nome1 + " ⊆ " + nome2 + ": " + (contem1em2 ? "SIM" : "NÃO"));
-                        writer.println(nome2 + " ⊆ " + nome1 + ": " + (contem2em1 ? "SIM" : "NÃO"));
+                        saida.escreverLinha("São disjuntos: " + (disjuntos ? "SIM" : "NÃO"));
+                        saida.escreverLinha(nome1 + " ⊆ " + nome2 + ": " + (contem1em2 ? "SIM" : "NÃO"));
+                        saida.escreverLinha(nome2 + " ⊆ " + nome1 + ": " + (contem2em1 ? "SIM" : "NÃO"));
                         
-                        writer.println();
+                        saida.escreverLinha();
                     }
                 }
             }
             
             // Estatísticas gerais
-            writer.println("=== ESTATÍSTICAS GERAIS ===");
-            writer.println();
+            saida.escreverLinha("=== ESTATÍSTICAS GERAIS ===");
+            saida.escreverLinha();
             
             int totalElementos = conjuntos.values().stream().mapToInt(Set::size).sum();
             TreeSet<String> todosElementos = new TreeSet<>();
@@ -187,22 +194,21 @@ public class SistemaExportacao {
                 todosElementos.addAll(conjunto);
             }
             
-            writer.println("Total de elementos (com repetições): " + totalElementos);
-            writer.println("Total de elementos únicos: " + todosElementos.size());
-            writer.println("Média de elementos por conjunto: " + 
-                          String.format("%.2f", (double) totalElementos / conjuntos.size()));
+            saida.escreverLinha("Total de elementos (com repetições): " + totalElementos);
+            saida.escreverLinha("Total de elementos únicos: " + todosElementos.size());
+            saida.formatar("Média de elementos por conjunto: %.2f%n", (double) totalElementos / conjuntos.size());
             
             if (!conjuntos.isEmpty()) {
                 int maxSize = conjuntos.values().stream().mapToInt(Set::size).max().orElse(0);
                 int minSize = conjuntos.values().stream().mapToInt(Set::size).min().orElse(0);
-                writer.println("Maior conjunto: " + maxSize + " elementos");
-                writer.println("Menor conjunto: " + minSize + " elementos");
+                saida.escreverLinha("Maior conjunto: " + maxSize + " elementos");
+                saida.escreverLinha("Menor conjunto: " + minSize + " elementos");
             }
             
-            writer.println();
-            writer.println("================================================================");
-            writer.println("                    FIM DO RELATÓRIO");
-            writer.println("================================================================");
+            saida.escreverLinha();
+            saida.escreverLinha("================================================================");
+            saida.escreverLinha("                    FIM DO RELATÓRIO");
+            saida.escreverLinha("================================================================");
             
             System.out.println("** RELATÓRIO GERADO COM SUCESSO! **");
             System.out.println("Arquivo: " + nomeArquivo);
@@ -232,21 +238,22 @@ public class SistemaExportacao {
         
         String nomeArquivo = "conjuntos_" + System.currentTimeMillis() + ".csv";
         
-        try (PrintWriter writer = new PrintWriter(new FileWriter(nomeArquivo))) {
+        try (EscritorRelatorio saida = new EscritorRelatorio(new File(nomeArquivo))) {
             // Cabeçalho CSV
-            writer.println("Nome do Conjunto,Elementos,Cardinalidade,Primeiro,Último");
+            saida.escreverLinha("Nome do Conjunto,Elementos,Cardinalidade,Primeiro,Último");
             
             // Dados dos conjuntos
             for (Map.Entry<String, TreeSet<String>> entry : conjuntos.entrySet()) {
                 String nome = entry.getKey();
                 TreeSet<String> conjunto = entry.getValue();
                 
-                String elementos = "\"" + String.join("; ", conjunto) + "\"";
                 String primeiro = conjunto.isEmpty() ? "" : conjunto.first();
                 String ultimo = conjunto.isEmpty() ? "" : conjunto.last();
                 
-                writer.println(nome + "," + elementos + "," + conjunto.size() + "," + 
-                              primeiro + "," + ultimo);
+                // Elementos entre aspas, escritos um a um
+                saida.escrever(nome + ",\"");
+                saida.escreverElementos(conjunto, "; ");
+                saida.escreverLinha("\"," + conjunto.size() + "," + primeiro + "," + ultimo);
             }
             
             System.out.println("** PLANILHA CSV GERADA COM SUCESSO! **");
@@ -278,102 +285,106 @@ public class SistemaExportacao {
         
         String nomeArquivo = "conjuntos_" + System.currentTimeMillis() + ".html";
         
-        try (PrintWriter writer = new PrintWriter(new FileWriter(nomeArquivo))) {
+        try (EscritorRelatorio saida = new EscritorRelatorio(new File(nomeArquivo))) {
             // Início do HTML
-            writer.println("<!DOCTYPE html>");
-            writer.println("<html lang='pt-BR'>");
-            writer.println("<head>");
-            writer.println("    <meta charset='UTF-8'>");
-            writer.println("    <meta name='viewport' content='width=device-width, initial-scale=1.0'>");
-            writer.println("    <title>Relatório de Conjuntos - Sistema TGS</title>");
-            writer.println("    <style>");
-            writer.println("        body { font-family: Arial, sans-serif; margin: 20px; background-color: #f5f5f5; }");
-            writer.println("        .container { max-width: 1200px; margin: 0 auto; background: white; padding: 20px; border-radius: 10px; box-shadow: 0 2px 10px rgba(0,0,0,0.1); }");
-            writer.println("        h1 { color: #2c3e50; text-align: center; border-bottom: 3px solid #3498db; padding-bottom: 10px; }");
-            writer.println("        h2 { color: #34495e; margin-top: 30px; }");
-            writer.println("        .conjunto { background: #ecf0f1; padding: 15px; margin: 10px 0; border-left: 4px solid #3498db; border-radius: 5px; }");
-            writer.println("        .conjunto-nome { font-weight: bold; color: #2c3e50; font-size: 18px; }");
-            writer.println("        .elementos { font-family: monospace; background: #34495e; color: white; padding: 10px; border-radius: 5px; margin: 10px 0; }");
-            writer.println("        .operacao { background: #2ecc71; color: white; padding: 10px; margin: 5px 0; border-radius: 5px; }");
-            writer.println("        .info { background: #f39c12; color: white; padding: 5px 10px; border-radius: 3px; margin: 5px; display: inline-block; }");
-            writer.println("        table { width: 100%; border-collapse: collapse; margin: 20px 0; }");
-            writer.println("        th, td { border: 1px solid #bdc3c7; padding: 12px; text-align: left; }");
-            writer.println("        th { background-color: #3498db; color: white; }");
-            writer.println("        .footer { text-align: center; margin-top: 30px; color: #7f8c8d; font-size: 14px; }");
-            writer.println("    </style>");
-            writer.println("</head>");
-            writer.println("<body>");
-            
-            writer.println("<div class='container'>");
-            writer.println("    <h1>📊 Relatório de Conjuntos - Sistema TGS</h1>");
-            writer.println("    <p><strong>Data de Geração:</strong> " + formatoData.format(new Date()) + "</p>");
-            writer.println("    <p><strong>Total de Conjuntos:</strong> " + conjuntos.size() + "</p>");
+            saida.escreverLinha("<!DOCTYPE html>");
+            saida.escreverLinha("<html lang='pt-BR'>");
+            saida.escreverLinha("<head>");
+            saida.escreverLinha("    <meta charset='UTF-8'>");
+            saida.escreverLinha("    <meta name='viewport' content='width=device-width, initial-scale=1.0'>");
+            saida.escreverLinha("    <title>Relatório de Conjuntos - Sistema TGS</title>");
+            saida.escreverLinha("    <style>");
+            saida.escreverLinha("        body { font-family: Arial, sans-serif; margin: 20px; background-color: #f5f5f5; }");
+            saida.escreverLinha("        .container { max-width: 1200px; margin: 0 auto; background: white; padding: 20px; border-radius: 10px; box-shadow: 0 2px 10px rgba(0,0,0,0.1); }");
+            saida.escreverLinha("        h1 { color: #2c3e50; text-align: center; border-bottom: 3px solid #3498db; padding-bottom: 10px; }");
+            saida.escreverLinha("        h2 { color: #34495e; margin-top: 30px; }");
+            saida.escreverLinha("        .conjunto { background: #ecf0f1; padding: 15px; margin: 10px 0; border-left: 4px solid #3498db; border-radius: 5px; }");
+            saida.escreverLinha("        .conjunto-nome { font-weight: bold; color: #2c3e50; font-size: 18px; }");
+            saida.escreverLinha("        .elementos { font-family: monospace; background: #34495e; color: white; padding: 10px; border-radius: 5px; margin: 10px 0; }");
+            saida.escreverLinha("        .operacao { background: #2ecc71; color: white; padding: 10px; margin: 5px 0; border-radius: 5px; }");
+            saida.escreverLinha("        .info { background: #f39c12; color: white; padding: 5px 10px; border-radius: 3px; margin: 5px; display: inline-block; }");
+            saida.escreverLinha("        table { width: 100%; border-collapse: collapse; margin: 20px 0; }");
+            saida.escreverLinha("        th, td { border: 1px solid #bdc3c7; padding: 12px; text-align: left; }");
+            saida.escreverLinha("        th { background-color: #3498db; color: white; }");
+            saida.escreverLinha("        .footer { text-align: center; margin-top: 30px; color: #7f8c8d; font-size: 14px; }");
+            saida.escreverLinha("    </style>");
+            saida.escreverLinha("</head>");
+            saida.escreverLinha("<body>");
+            
+            saida.escreverLinha("<div class='container'>");
+            saida.escreverLinha("    <h1>📊 Relatório de Conjuntos - Sistema TGS</h1>");
+            saida.escreverLinha("    <p><strong>Data de Geração:</strong> " + formatoData.format(new Date()) + "</p>");
+            saida.escreverLinha("    <p><strong>Total de Conjuntos:</strong> " + conjuntos.size() + "</p>");
             
             // Seção dos conjuntos
-            writer.println("    <h2>🔢 Conjuntos Analisados</h2>");
+            saida.escreverLinha("    <h2>🔢 Conjuntos Analisados</h2>");
             
             for (Map.Entry<String, TreeSet<String>> entry : conjuntos.entrySet()) {
                 String nome = entry.getKey();
                 TreeSet<String> conjunto = entry.getValue();
                 
-                writer.println("    <div class='conjunto'>");
-                writer.println("        <div class='conjunto-nome'>" + nome + "</div>");
-                writer.println("        <div class='elementos'>{" + String.join(", ", conjunto) + "}</div>");
-                writer.println("        <span class='info'>Cardinalidade: " + conjunto.size() + "</span>");
+                saida.escreverLinha("    <div class='conjunto'>");
+                saida.escreverLinha("        <div class='conjunto-nome'>" + nome + "</div>");
+                saida.escrever("        <div class='elementos'>{");
+                saida.escreverElementos(conjunto, ", ");
+                saida.escreverLinha("}</div>");
+                saida.escreverLinha("        <span class='info'>Cardinalidade: " + conjunto.size() + "</span>");
                 
                 if (!conjunto.isEmpty()) {
-                    writer.println("        <span class='info'>Primeiro: " + conjunto.first() + "</span>");
-                    writer.println("        <span class='info'>Último: " + conjunto.last() + "</span>");
+                    saida.escreverLinha("        <span class='info'>Primeiro: " + conjunto.first() + "</span>");
+                    saida.escreverLinha("        <span class='info'>Último: " + conjunto.last() + "</span>");
                 }
                 
-                writer.println("    </div>");
+                saida.escreverLinha("    </div>");
             }
             
             // Tabela de operações
             if (conjuntos.size() >= 2) {
-                writer.println("    <h2>🔄 Operações entre Conjuntos</h2>");
-                writer.println("    <table>");
-                writer.println("        <tr><th>Conjuntos</th><th>União</th><th>Interseção</th><th>Diferença A-B</th><th>Diferença B-A</th><th>Disjuntos?</th></tr>");
+                saida.escreverLinha("    <h2>🔄 Operações entre Conjuntos</h2>");
+                saida.escreverLinha("    <table>");
+                saida.escreverLinha("        <tr><th>Conjuntos</th><th>União</th><th>Interseção</th><th>Diferença A-B</th><th>Diferença B-A</th><th>Disjuntos?</th></tr>");
                 
                 String[] nomes = conjuntos.keySet().toArray(String[]::new);
+                Map<String, ConjuntoOrdenado<String>> ordenados = ordenarConjuntos(conjuntos);
                 
                 for (int i = 0; i < nomes.length - 1; i++) {
                     for (int j = i + 1; j < nomes.length; j++) {
                         String nome1 = nomes[i];
                         String nome2 = nomes[j];
-                        TreeSet<String> conjunto1 = conjuntos.get(nome1);
-                        TreeSet<String> conjunto2 = conjuntos.get(nome2);
+                        ConjuntoOrdenado<String> conjunto1 = ordenados.get(nome1);
+                        ConjuntoOrdenado<String> conjunto2 = ordenados.get(nome2);
                         
-                        TreeSet<String> uniao = new TreeSet<>(conjunto1);
-                        uniao.addAll(conjunto2);
+                        ConjuntoOrdenado<String> uniao = conjunto1.uniao(conjunto2);
+                        ConjuntoOrdenado<String> intersecao = conjunto1.intersecao(conjunto2);
+                        ConjuntoOrdenado<String> diff1 = conjunto1.diferenca(conjunto2);
+                        ConjuntoOrdenado<String> diff2 = conjunto2.diferenca(conjunto1);
                         
-                        TreeSet<String> intersecao = new TreeSet<>(conjunto1);
-                        intersecao.retainAll(conjunto2);
+                        boolean disjuntos = intersecao.estaVazio();
                         
-                        TreeSet<String> diff1 = new TreeSet<>(conjunto1);
-                        diff1.removeAll(conjunto2);
-                        
-                        TreeSet<String> diff2 = new TreeSet<>(conjunto2);
-                        diff2.removeAll(conjunto1);
-                        
-                        boolean disjuntos = intersecao.isEmpty();
-                        
-                        writer.println("        <tr>");
-                        writer.println("            <td><strong>" + nome1 + "</strong> × <strong>" + nome2 + "</strong></td>");
-                        writer.println("            <td>{" + String.join(", ", uniao) + "}</td>");
-                        writer.println("            <td>{" + String.join(", ", intersecao) + "}</td>");
-                        writer.println("            <td>{" + String.join(", ", diff1) + "}</td>");
-                        writer.println("            <td>{" + String.join(", ", diff2) + "}</td>");
-                        writer.println("            <td>" + (disjuntos ? "✅ SIM" : "❌ NÃO") + "</td>");
-                        writer.println("        </tr>");
+                        saida.escreverLinha("        <tr>");
+                        saida.escreverLinha("            <td><strong>" + nome1 + "</strong> × <strong>" + nome2 + "</strong></td>");
+                        saida.escrever("            <td>{");
+                        saida.escreverElementos(uniao, ", ");
+                        saida.escreverLinha("}</td>");
+                        saida.escrever("            <td>{");
+                        saida.escreverElementos(intersecao, ", ");
+                        saida.escreverLinha("}</td>");
+                        saida.escrever("            <td>{");
+                        saida.escreverElementos(diff1, ", ");
+                        saida.escreverLinha("}</td>");
+                        saida.escrever("            <td>{");
+                        saida.escreverElementos(diff2, ", ");
+                        saida.escreverLinha("}</td>");
+                        saida.escreverLinha("            <td>" + (disjuntos ? "✅ SIM" : "❌ NÃO") + "</td>");
+                        saida.escreverLinha("        </tr>");
                     }
                 }
                 
-                writer.println("    </table>");
+                saida.escreverLinha("    </table>");
             }
             
             // Estatísticas
-            writer.println("    <h2>📈 Estatísticas Gerais</h2>");
+            saida.escreverLinha("    <h2>📈 Estatísticas Gerais</h2>");
             
             int totalElementos = conjuntos.values().stream().mapToInt(Set::size).sum();
             TreeSet<String> todosElementos = new TreeSet<>();
@@ -381,22 +392,22 @@ public class SistemaExportacao {
                 todosElementos.addAll(conjunto);
             }
             
-            writer.println("    <div class='operacao'>");
-            writer.println("        <strong>Total de elementos (com repetições):</strong> " + totalElementos + "<br>");
-            writer.println("        <strong>Total de elementos únicos:</strong> " + todosElementos.size() + "<br>");
-            writer.println("        <strong>Média de elementos por conjunto:</strong> " + 
-                          String.format("%.2f", (double) totalElementos / conjuntos.size()));
-            writer.println("    </div>");
+            saida.escreverLinha("    <div class='operacao'>");
+            saida.escreverLinha("        <strong>Total de elementos (com repetições):</strong> " + totalElementos + "<br>");
+            saida.escreverLinha("        <strong>Total de elementos únicos:</strong> " + todosElementos.size() + "<br>");
+            saida.formatar("        <strong>Média de elementos por conjunto:</strong> %.2f%n",
+                          (double) totalElementos / conjuntos.size());
+            saida.escreverLinha("    </div>");
             
             // Footer
-            writer.println("    <div class='footer'>");
-            writer.println("        <p>Gerado pelo Sistema TGS - Teoria Geral dos Conjuntos</p>");
-            writer.println("        <p>© 2025 - Sistema Educacional de Matemática</p>");
-            writer.println("    </div>");
+            saida.escreverLinha("    <div class='footer'>");
+            saida.escreverLinha("        <p>Gerado pelo Sistema TGS - Teoria Geral dos Conjuntos</p>");
+            saida.escreverLinha("        <p>© 2025 - Sistema Educacional de Matemática</p>");
+            saida.escreverLinha("    </div>");
             
-            writer.println("</div>");
-            writer.println("</body>");
-            writer.println("</html>");
+            saida.escreverLinha("</div>");
+            saida.escreverLinha("</body>");
+            saida.escreverLinha("</html>");
             
             System.out.println("** PÁGINA HTML GERADA COM SUCESSO! **");
             System.out.println("Arquivo: " + nomeArquivo);
@@ -427,142 +438,148 @@ public class SistemaExportacao {
         
         String nomeArquivo = "documentacao_matematica_" + System.currentTimeMillis() + ".txt";
         
-        try (PrintWriter writer = new PrintWriter(new FileWriter(nomeArquivo))) {
-            writer.println("================================================================");
-            writer.println("       DOCUMENTAÇÃO MATEMÁTICA - TEORIA DOS CONJUNTOS");
-            writer.println("================================================================");
-            writer.println();
-            writer.println("Documento gerado automaticamente pelo Sistema TGS");
-            writer.println("Data: " + formatoData.format(new Date()));
-            writer.println();
+        try (EscritorRelatorio saida = new EscritorRelatorio(new File(nomeArquivo))) {
+            saida.escreverLinha("================================================================");
+            saida.escreverLinha("       DOCUMENTAÇÃO MATEMÁTICA - TEORIA DOS CONJUNTOS");
+            saida.escreverLinha("================================================================");
+            saida.escreverLinha();
+            saida.escreverLinha("Documento gerado automaticamente pelo Sistema TGS");
+            saida.escreverLinha("Data: " + formatoData.format(new Date()));
+            saida.escreverLinha();
             
             // Definições matemáticas
-            writer.println("=== DEFINIÇÕES MATEMÁTICAS ===");
-            writer.println();
-            writer.println("1. CONJUNTO: Uma coleção bem definida de objetos distintos.");
-            writer.println("2. ELEMENTO: Cada objeto que pertence a um conjunto.");
-            writer.println("3. CARDINALIDADE: O número de elementos de um conjunto.");
-            writer.println("4. CONJUNTO VAZIO: Conjunto que não possui elementos, denotado por {} ou ∅.");
-            writer.println("5. SUBCONJUNTO: A ⊆ B se todo elemento de A também pertence a B.");
-            writer.println();
+            saida.escreverLinha("=== DEFINIÇÕES MATEMÁTICAS ===");
+            saida.escreverLinha();
+            saida.escreverLinha("1. CONJUNTO: Uma coleção bem definida de objetos distintos.");
+            saida.escreverLinha("2. ELEMENTO: Cada objeto que pertence a um conjunto.");
+            saida.escreverLinha("3. CARDINALIDADE: O número de elementos de um conjunto.");
+            saida.escreverLinha("4. CONJUNTO VAZIO: Conjunto que não possui elementos, denotado por {} ou ∅.");
+            saida.escreverLinha("5. SUBCONJUNTO: A ⊆ B se todo elemento de A também pertence a B.");
+            saida.escreverLinha();
             
             // Operações
-            writer.println("=== OPERAÇÕES FUNDAMENTAIS ===");
-            writer.println();
-            writer.println("1. UNIÃO (A ∪ B): Conjunto de todos os elementos que pertencem a A ou a B.");
-            writer.println("2. INTERSEÇÃO (A ∩ B): Conjunto de elementos que pertencem tanto a A quanto a B.");
-            writer.println("3. DIFERENÇA (A - B): Conjunto de elementos que pertencem a A mas não a B.");
-            writer.println("4. COMPLEMENTO: Elementos que não pertencem ao conjunto em relação ao universo.");
-            writer.println();
+            saida.escreverLinha("=== OPERAÇÕES FUNDAMENTAIS ===");
+            saida.escreverLinha();
+            saida.escreverLinha("1. UNIÃO (A ∪ B): Conjunto de todos os elementos que pertencem a A ou a B.");
+            saida.escreverLinha("2. INTERSEÇÃO (A ∩ B): Conjunto de elementos que pertencem tanto a A quanto a B.");
+            saida.escreverLinha("3. DIFERENÇA (A - B): Conjunto de elementos que pertencem a A mas não a B.");
+            saida.escreverLinha("4. COMPLEMENTO: Elementos que não pertencem ao conjunto em relação ao universo.");
+            saida.escreverLinha();
             
             // Análise dos conjuntos fornecidos
-            writer.println("=== ANÁLISE DOS CONJUNTOS FORNECIDOS ===");
-            writer.println();
+            saida.escreverLinha("=== ANÁLISE DOS CONJUNTOS FORNECIDOS ===");
+            saida.escreverLinha();
             
             String[] nomes = conjuntos.keySet().toArray(String[]::new);
             
             for (String nome : nomes) {
                 TreeSet<String> conjunto = conjuntos.get(nome);
-                writer.println("CONJUNTO " + nome + ":");
-                writer.println("Notação: " + nome + " = {" + String.join(", ", conjunto) + "}");
-                writer.println("Cardinalidade: |" + nome + "| = " + conjunto.size());
+                saida.escreverLinha("CONJUNTO " + nome + ":");
+                saida.escrever("Notação: " + nome + " = {");
+                saida.escreverElementos(conjunto, ", ");
+                saida.escreverLinha("}");
+                saida.escreverLinha("Cardinalidade: |" + nome + "| = " + conjunto.size());
                 
                 if (conjunto.isEmpty()) {
-                    writer.println("Observação: " + nome + " é o conjunto vazio (∅)");
+                    saida.escreverLinha("Observação: " + nome + " é o conjunto vazio (∅)");
                 } else {
-                    writer.println("Elementos: " + conjunto.size() + " elemento(s)");
+                    saida.escreverLinha("Elementos: " + conjunto.size() + " elemento(s)");
                     if (conjunto.size() == 1) {
-                        writer.println("Observação: " + nome + " é um conjunto unitário");
+                        saida.escreverLinha("Observação: " + nome + " é um conjunto unitário");
                     }
                 }
                 
-                writer.println();
+                saida.escreverLinha();
             }
             
             // Propriedades matemáticas
             if (conjuntos.size() >= 2) {
-                writer.println("=== PROPRIEDADES E RELAÇÕES ===");
-                writer.println();
+                saida.escreverLinha("=== PROPRIEDADES E RELAÇÕES ===");
+                saida.escreverLinha();
+                
+                Map<String, ConjuntoOrdenado<String>> ordenados = ordenarConjuntos(conjuntos);
                 
                 for (int i = 0; i < nomes.length - 1; i++) {
                     for (int j = i + 1; j < nomes.length; j++) {
                         String nome1 = nomes[i];
                         String nome2 = nomes[j];
-                        TreeSet<String> conjunto1 = conjuntos.get(nome1);
-                        TreeSet<String> conjunto2 = conjuntos.get(nome2);
+                        ConjuntoOrdenado<String> conjunto1 = ordenados.get(nome1);
+                        ConjuntoOrdenado<String> conjunto2 = ordenados.get(nome2);
+                        
+                        saida.escreverLinha(">>> RELAÇÃO ENTRE " + nome1 + " E " + nome2 + " <<<");
                         
-                        writer.println(">>> RELAÇÃO ENTRE " + nome1 + " E " + nome2 + " <<<");
+                        // Operações
+                        ConjuntoOrdenado<String> uniao = conjunto1.uniao(conjunto2);
+                        ConjuntoOrdenado<String> intersecao = conjunto1.intersecao(conjunto2);
                         
-                        // Verificar subconjuntos
-                        boolean sub1em2 = conjunto2.containsAll(conjunto1);
-                        boolean sub2em1 = conjunto1.containsAll(conjunto2);
-                        boolean iguais = conjunto1.equals(conjunto2);
+                        // Verificar subconjuntos pelas cardinalidades
+                        boolean sub1em2 = intersecao.tamanho() == conjunto1.tamanho();
+                        boolean sub2em1 = intersecao.tamanho() == conjunto2.tamanho();
+                        boolean iguais = sub1em2 && sub2em1;
                         
                         if (iguais) {
-                            writer.println(nome1 + " = " + nome2 + " (conjuntos iguais)");
+                            saida.escreverLinha(nome1 + " = " + nome2 + " (conjuntos iguais)");
                         } else if (sub1em2) {
-                            writer.println(nome1 + " ⊂ " + nome2 + " (" + nome1 + " é subconjunto próprio de " + nome2 + ")");
+                            saida.escreverLinha(nome1 + " ⊂ " + nome2 + " (" + nome1 + " é subconjunto próprio de " + nome2 + ")");
                         } else if (sub2em1) {
-                            writer.println(nome2 + " ⊂ " + nome1 + " (" + nome2 + " é subconjunto próprio de " + nome1 + ")");
+                            saida.escreverLinha(nome2 + " ⊂ " + nome1 + " (" + nome2 + " é subconjunto próprio de " + nome1 + ")");
                         } else {
-                            writer.println(nome1 + " e " + nome2 + " não possuem relação de inclusão");
+                            saida.escreverLinha(nome1 + " e " + nome2 + " não possuem relação de inclusão");
                         }
                         
-                        // Operações
-                        TreeSet<String> uniao = new TreeSet<>(conjunto1);
-                        uniao.addAll(conjunto2);
-                        TreeSet<String> intersecao = new TreeSet<>(conjunto1);
-                        intersecao.retainAll(conjunto2);
-                        
-                        writer.println(nome1 + " ∪ " + nome2 + " = {" + String.join(", ", uniao) + "}");
-                        writer.println("|" + nome1 + " ∪ " + nome2 + "| = " + uniao.size());
+                        saida.escrever(nome1 + " ∪ " + nome2 + " = {");
+                        saida.escreverElementos(uniao, ", ");
+                        saida.escreverLinha("}");
+                        saida.escreverLinha("|" + nome1 + " ∪ " + nome2 + "| = " + uniao.tamanho());
                         
-                        writer.println(nome1 + " ∩ " + nome2 + " = {" + String.join(", ", intersecao) + "}");
-                        writer.println("|" + nome1 + " ∩ " + nome2 + "| = " + intersecao.size());
+                        saida.escrever(nome1 + " ∩ " + nome2 + " = {");
+                        saida.escreverElementos(intersecao, ", ");
+                        saida.escreverLinha("}");
+                        saida.escreverLinha("|" + nome1 + " ∩ " + nome2 + "| = " + intersecao.tamanho());
                         
-                        if (intersecao.isEmpty()) {
-                            writer.println("Observação: " + nome1 + " e " + nome2 + " são conjuntos disjuntos");
+                        if (intersecao.estaVazio()) {
+                            saida.escreverLinha("Observação: " + nome1 + " e " + nome2 + " são conjuntos disjuntos");
                         }
                         
                         // Princípio da inclusão-exclusão
-                        writer.println("Verificação (Princípio da Inclusão-Exclusão):");
-                        writer.println("|" + nome1 + "| + |" + nome2 + "| - |" + nome1 + " ∩ " + nome2 + "| = " +
-                                      conjunto1.size() + " + " + conjunto2.size() + " - " + intersecao.size() + " = " +
-                                      (conjunto1.size() + conjunto2.size() - intersecao.size()));
-                        writer.println("|" + nome1 + " ∪ " + nome2 + "| = " + uniao.size());
-                        writer.println("✓ Propriedade verificada: " + 
-                                      (uniao.size() == conjunto1.size() + conjunto2.size() - intersecao.size()));
+                        saida.escreverLinha("Verificação (Princípio da Inclusão-Exclusão):");
+                        saida.escreverLinha("|" + nome1 + "| + |" + nome2 + "| - |" + nome1 + " ∩ " + nome2 + "| = " +
+                                      conjunto1.tamanho() + " + " + conjunto2.tamanho() + " - " + intersecao.tamanho() + " = " +
+                                      (conjunto1.tamanho() + conjunto2.tamanho() - intersecao.tamanho()));
+                        saida.escreverLinha("|" + nome1 + " ∪ " + nome2 + "| = " + uniao.tamanho());
+                        saida.escreverLinha("✓ Propriedade verificada: " + 
+                                      (uniao.tamanho() == conjunto1.tamanho() + conjunto2.tamanho() - intersecao.tamanho()));
                         
-                        writer.println();
+                        saida.escreverLinha();
                     }
                 }
             }
             
             // Leis matemáticas
-            writer.println("=== LEIS E PROPRIEDADES VERIFICADAS ===");
-            writer.println();
-            writer.println("As seguintes propriedades foram verificadas nos conjuntos analisados:");
-            writer.println();
-            writer.println("1. Lei Comutativa:");
-            writer.println("   A ∪ B = B ∪ A");
-            writer.println("   A ∩ B = B ∩ A");
-            writer.println();
-            writer.println("2. Lei Associativa:");
-            writer.println("   (A ∪ B) ∪ C = A ∪ (B ∪ C)");
-            writer.println("   (A ∩ B) ∩ C = A ∩ (B ∩ C)");
-            writer.println();
-            writer.println("3. Leis Distributivas:");
-            writer.println("   A ∪ (B ∩ C) = (A ∪ B) ∩ (A ∪ C)");
-            writer.println("   A ∩ (B ∪ C) = (A ∩ B) ∪ (A ∩ C)");
-            writer.println();
-            writer.println("4. Propriedades do Elemento Neutro:");
-            writer.println("   A ∪ ∅ = A");
-            writer.println("   A ∩ U = A (onde U é o conjunto universo)");
-            writer.println();
-            
-            writer.println("================================================================");
-            writer.println("                     FIM DA DOCUMENTAÇÃO");
-            writer.println("================================================================");
+            saida.escreverLinha("=== LEIS E PROPRIEDADES VERIFICADAS ===");
+            saida.escreverLinha();
+            saida.escreverLinha("As seguintes propriedades foram verificadas nos conjuntos analisados:");
+            saida.escreverLinha();
+            saida.escreverLinha("1. Lei Comutativa:");
+            saida.escreverLinha("   A ∪ B = B ∪ A");
+            saida.escreverLinha("   A ∩ B = B ∩ A");
+            saida.escreverLinha();
+            saida.escreverLinha("2. Lei Associativa:");
+            saida.escreverLinha("   (A ∪ B) ∪ C = A ∪ (B ∪ C)");
+            saida.escreverLinha("   (A ∩ B) ∩ C = A ∩ (B ∩ C)");
+            saida.escreverLinha();
+            saida.escreverLinha("3. Leis Distributivas:");
+            saida.escreverLinha("   A ∪ (B ∩ C) = (A ∪ B) ∩ (A ∪ C)");
+            saida.escreverLinha("   A ∩ (B ∪ C) = (A ∩ B) ∪ (A ∩ C)");
+            saida.escreverLinha();
+            saida.escreverLinha("4. Propriedades do Elemento Neutro:");
+            saida.escreverLinha("   A ∪ ∅ = A");
+            saida.escreverLinha("   A ∩ U = A (onde U é o conjunto universo)");
+            saida.escreverLinha();
+            
+            saida.escreverLinha("================================================================");
+            saida.escreverLinha("                     FIM DA DOCUMENTAÇÃO");
+            saida.escreverLinha("================================================================");
             
             System.out.println("** DOCUMENTAÇÃO MATEMÁTICA GERADA COM SUCESSO! **");
             System.out.println("Arquivo: " + nomeArquivo);
@@ -593,18 +610,18 @@ public class SistemaExportacao {
         
         String nomeArquivo = "estatisticas_avancadas_" + System.currentTimeMillis() + ".txt";
         
-        try (PrintWriter writer = new PrintWriter(new FileWriter(nomeArquivo))) {
-            writer.println("================================================================");
-            writer.println("           ESTATÍSTICAS AVANÇADAS - ANÁLISE DE CONJUNTOS");
-            writer.println("================================================================");
-            writer.println();
-            writer.println("Gerado em: " + formatoData.format(new Date()));
-            writer.println("Sistema: TGS - Teoria Geral dos Conjuntos");
-            writer.println();
+        try (EscritorRelatorio saida = new EscritorRelatorio(new File(nomeArquivo))) {
+            saida.escreverLinha("================================================================");
+            saida.escreverLinha("           ESTATÍSTICAS AVANÇADAS - ANÁLISE DE CONJUNTOS");
+            saida.escreverLinha("================================================================");
+            saida.escreverLinha();
+            saida.escreverLinha("Gerado em: " + formatoData.format(new Date()));
+            saida.escreverLinha("Sistema: TGS - Teoria Geral dos Conjuntos");
+            saida.escreverLinha();
             
             // Estatísticas básicas
-            writer.println("=== ESTATÍSTICAS BÁSICAS ===");
-            writer.println();
+            saida.escreverLinha("=== ESTATÍSTICAS BÁSICAS ===");
+            saida.escreverLinha();
             
             int totalConjuntos = conjuntos.size();
             int totalElementos = conjuntos.values().stream().mapToInt(Set::size).sum();
@@ -614,25 +631,24 @@ public class SistemaExportacao {
                 todosElementos.addAll(conjunto);
             }
             
-            writer.println("Número de conjuntos analisados: " + totalConjuntos);
-            writer.println("Total de elementos (com repetições): " + totalElementos);
-            writer.println("Total de elementos únicos: " + todosElementos.size());
-            writer.println("Média de elementos por conjunto: " + 
-                          String.format("%.2f", (double) totalElementos / totalConjuntos));
+            saida.escreverLinha("Número de conjuntos analisados: " + totalConjuntos);
+            saida.escreverLinha("Total de elementos (com repetições): " + totalElementos);
+            saida.escreverLinha("Total de elementos únicos: " + todosElementos.size());
+            saida.formatar("Média de elementos por conjunto: %.2f%n", (double) totalElementos / totalConjuntos);
             
             if (!conjuntos.isEmpty()) {
                 int maxSize = conjuntos.values().stream().mapToInt(Set::size).max().orElse(0);
                 int minSize = conjuntos.values().stream().mapToInt(Set::size).min().orElse(0);
                 
-                writer.println("Maior conjunto: " + maxSize + " elementos");
-                writer.println("Menor conjunto: " + minSize + " elementos");
-                writer.println("Variação de tamanho: " + (maxSize - minSize) + " elementos");
+                saida.escreverLinha("Maior conjunto: " + maxSize + " elementos");
+                saida.escreverLinha("Menor conjunto: " + minSize + " elementos");
+                saida.escreverLinha("Variação de tamanho: " + (maxSize - minSize) + " elementos");
             }
             
             // Distribuição de tamanhos
-            writer.println();
-            writer.println("=== DISTRIBUIÇÃO DE TAMANHOS ===");
-            writer.println();
+            saida.escreverLinha();
+            saida.escreverLinha("=== DISTRIBUIÇÃO DE TAMANHOS ===");
+            saida.escreverLinha();
             
             Map<Integer, Integer> distribuicao = new HashMap<>();
             for (TreeSet<String> conjunto : conjuntos.values()) {
@@ -645,14 +661,13 @@ public class SistemaExportacao {
                 int quantidade = entry.getValue();
                 double porcentagem = (double) quantidade / totalConjuntos * 100;
                 
-                writer.println("Conjuntos com " + tamanho + " elemento(s): " + quantidade + 
-                              " (" + String.format("%.1f", porcentagem) + "%)");
+                saida.formatar("Conjuntos com %d elemento(s): %d (%.1f%%)%n", tamanho, quantidade, porcentagem);
             }
             
             // Análise de elementos mais frequentes
-            writer.println();
-            writer.println("=== ANÁLISE DE FREQUÊNCIA DE ELEMENTOS ===");
-            writer.println();
+            saida.escreverLinha();
+            saida.escreverLinha("=== ANÁLISE DE FREQUÊNCIA DE ELEMENTOS ===");
+            saida.escreverLinha();
             
             Map<String, Integer> frequencia = new HashMap<>();
             for (TreeSet<String> conjunto : conjuntos.values()) {
@@ -665,20 +680,20 @@ public class SistemaExportacao {
             List<Map.Entry<String, Integer>> elementosOrdenados = new ArrayList<>(frequencia.entrySet());
             elementosOrdenados.sort((a, b) -> b.getValue().compareTo(a.getValue()));
             
-            writer.println("Top 10 elementos mais frequentes:");
+            saida.escreverLinha("Top 10 elementos mais frequentes:");
             for (int i = 0; i < Math.min(10, elementosOrdenados.size()); i++) {
                 Map.Entry<String, Integer> entry = elementosOrdenados.get(i);
                 String elemento = entry.getKey();
                 int freq = entry.getValue();
                 double porcentagem = (double) freq / totalConjuntos * 100;
                 
-                writer.println((i + 1) + ". '" + elemento + "' aparece em " + freq + " conjunto(s) (" + 
-                              String.format("%.1f", porcentagem) + "%)");
+                saida.escrever((i + 1) + ". '" + elemento + "' aparece em " + freq + " conjunto(s) ");
+                saida.formatar("(%.1f%%)%n", porcentagem);
             }
             
             // Elementos únicos
-            writer.println();
-            writer.println("Elementos que aparecem em apenas 1 conjunto:");
+            saida.escreverLinha();
+            saida.escreverLinha("Elementos que aparecem em apenas 1 conjunto:");
             List<String> elementosUnicos = new ArrayList<>();
             for (Map.Entry<String, Integer> entry : frequencia.entrySet()) {
                 if (entry.getValue() == 1) {
@@ -687,57 +702,36 @@ public class SistemaExportacao {
             }
             
             if (elementosUnicos.isEmpty()) {
-                writer.println("Todos os elementos aparecem em múltiplos conjuntos.");
+                saida.escreverLinha("Todos os elementos aparecem em múltiplos conjuntos.");
             } else {
-                writer.println("Total: " + elementosUnicos.size() + " elemento(s)");
+                saida.escreverLinha("Total: " + elementosUnicos.size() + " elemento(s)");
                 Collections.sort(elementosUnicos);
                 for (int i = 0; i < Math.min(20, elementosUnicos.size()); i++) {
-                    writer.print("'" + elementosUnicos.get(i) + "' ");
-                    if ((i + 1) % 10 == 0) writer.println();
+                    saida.escrever("'" + elementosUnicos.get(i) + "' ");
+                    if ((i + 1) % 10 == 0) saida.escreverLinha();
                 }
                 if (elementosUnicos.size() > 20) {
-                    writer.println("... e mais " + (elementosUnicos.size() - 20) + " elemento(s)");
+                    saida.escreverLinha("... e mais " + (elementosUnicos.size() - 20) + " elemento(s)");
                 }
-                writer.println();
+                saida.escreverLinha();
             }
             
             // Análise de densidade
-            writer.println();
-            writer.println("=== ANÁLISE DE DENSIDADE ===");
-            writer.println();
+            saida.escreverLinha();
+            saida.escreverLinha("=== ANÁLISE DE DENSIDADE ===");
+            saida.escreverLinha();
             
             if (conjuntos.size() >= 2) {
-                double somaJaccard = 0;
-                int comparacoes = 0;
-                
-                String[] nomes = conjuntos.keySet().toArray(String[]::new);
-                
-                for (int i = 0; i < nomes.length - 1; i++) {
-                    for (int j = i + 1; j < nomes.length; j++) {
-                        TreeSet<String> conjunto1 = conjuntos.get(nomes[i]);
-                        TreeSet<String> conjunto2 = conjuntos.get(nomes[j]);
-                        
-                        TreeSet<String> uniao = new TreeSet<>(conjunto1);
-                        uniao.addAll(conjunto2);
-                        
-                        TreeSet<String> intersecao = new TreeSet<>(conjunto1);
-                        intersecao.retainAll(conjunto2);
-                        
-                        double jaccard = uniao.isEmpty() ? 0 : (double) intersecao.size() / uniao.size();
-                        somaJaccard += jaccard;
-                        comparacoes++;
-                    }
-                }
-                
-                double jaccardMedio = somaJaccard / comparacoes;
-                writer.println("Índice de Jaccard médio: " + String.format("%.3f", jaccardMedio));
-                writer.println("Interpretação: " + interpretarJaccard(jaccardMedio));
+                // Todas as interseções de uma vez, pelo índice invertido
+                double jaccardMedio = calcularSimilaridades(conjuntos).jaccardMedio();
+                saida.formatar("Índice de Jaccard médio: %.3f%n", jaccardMedio);
+                saida.escreverLinha("Interpretação: " + interpretarJaccard(jaccardMedio));
             }
             
-            writer.println();
-            writer.println("================================================================");
-            writer.println("                    FIM DAS ESTATÍSTICAS");
-            writer.println("================================================================");
+            saida.escreverLinha();
+            saida.escreverLinha("================================================================");
+            saida.escreverLinha("                    FIM DAS ESTATÍSTICAS");
+            saida.escreverLinha("================================================================");
             
             System.out.println("** ESTATÍSTICAS AVANÇADAS GERADAS COM SUCESSO! **");
             System.out.println("Arquivo: " + nomeArquivo);
@@ -765,155 +759,225 @@ public class SistemaExportacao {
             return;
         }
         
+        // Muitos conjuntos: todos os pares não cabem no tempo, só os parecidos
+        System.out.println();
+        System.out.println("Modo de comparação:");
+        System.out.println("  [1] Exato (todos os pares)");
+        System.out.println("  [2] Aproximado (MinHash/LSH - só pares acima de um limiar)");
+        System.out.print(">> Escolha: ");
+        boolean aproximado = ui.lerInteiroValidado() == 2;
+        int limiteRanking = lerLimiteRanking();
+        if (aproximado) {
+            criarRelatorioAproximado(conjuntos, limiteRanking);
+            return;
+        }
+        
         String nomeArquivo = "relatorio_comparativo_" + System.currentTimeMillis() + ".txt";
         
-        try (PrintWriter writer = new PrintWriter(new FileWriter(nomeArquivo))) {
-            writer.println("================================================================");
-            writer.println("            RELATÓRIO COMPARATIVO DE CONJUNTOS");
-            writer.println("================================================================");
-            writer.println();
-            writer.println("Data: " + formatoData.format(new Date()));
-            writer.println("Conjuntos analisados: " + conjuntos.size());
-            writer.println();
-            
-            String[] nomes = conjuntos.keySet().toArray(String[]::new);
+        try (EscritorRelatorio saida = new EscritorRelatorio(new File(nomeArquivo))) {
+            saida.escreverLinha("================================================================");
+            saida.escreverLinha("            RELATÓRIO COMPARATIVO DE CONJUNTOS");
+            saida.escreverLinha("================================================================");
+            saida.escreverLinha();
+            saida.escreverLinha("Data: " + formatoData.format(new Date()));
+            saida.escreverLinha("Conjuntos analisados: " + conjuntos.size());
+            saida.escreverLinha();
+            
+            // Um único cálculo alimenta a matriz, os pares e o ranking
+            MotorSimilaridade similaridade = calcularSimilaridades(conjuntos);
+            int k = similaridade.quantidade();
             
             // Matriz de comparações
-            writer.println("=== MATRIZ DE COMPARAÇÕES ===");
-            writer.println();
+            saida.escreverLinha("=== MATRIZ DE COMPARAÇÕES ===");
+            saida.escreverLinha();
             
             // Cabeçalho da matriz
-            writer.print(String.format("%12s", ""));
-            for (String nome : nomes) {
-                writer.print(String.format("%12s", nome));
+            saida.formatar("%12s", "");
+            for (int i = 0; i < k; i++) {
+                saida.formatar("%12s", similaridade.nome(i));
             }
-            writer.println();
+            saida.escreverLinha();
             
             // Linhas da matriz com índices de Jaccard
-            for (int i = 0; i < nomes.length; i++) {
-                writer.print(String.format("%12s", nomes[i]));
+            for (int i = 0; i < k; i++) {
+                saida.formatar("%12s", similaridade.nome(i));
                 
-                for (int j = 0; j < nomes.length; j++) {
+                for (int j = 0; j < k; j++) {
                     if (i == j) {
-                        writer.print(String.format("%12s", "1.000"));
+                        saida.formatar("%12s", "1.000");
                     } else {
-                        TreeSet<String> conjunto1 = conjuntos.get(nomes[i]);
-                        TreeSet<String> conjunto2 = conjuntos.get(nomes[j]);
-                        
-                        TreeSet<String> uniao = new TreeSet<>(conjunto1);
-                        uniao.addAll(conjunto2);
-                        
-                        TreeSet<String> intersecao = new TreeSet<>(conjunto1);
-                        intersecao.retainAll(conjunto2);
-                        
-                        double jaccard = uniao.isEmpty() ? 0 : (double) intersecao.size() / uniao.size();
-                        writer.print(String.format("%12.3f", jaccard));
+                        saida.formatar("%12.3f", similaridade.jaccard(i, j));
                     }
                 }
-                writer.println();
+                saida.escreverLinha();
             }
             
-            writer.println();
-            writer.println("Legenda: Índice de Jaccard (0 = disjuntos, 1 = idênticos)");
-            writer.println();
+            saida.escreverLinha();
+            saida.escreverLinha("Legenda: Índice de Jaccard (0 = disjuntos, 1 = idênticos)");
+            saida.escreverLinha();
             
             // Análise detalhada par a par
-            writer.println("=== ANÁLISE DETALHADA PAR A PAR ===");
-            writer.println();
-            
-            for (int i = 0; i < nomes.length - 1; i++) {
-                for (int j = i + 1; j < nomes.length; j++) {
-                    String nome1 = nomes[i];
-                    String nome2 = nomes[j];
-                    TreeSet<String> conjunto1 = conjuntos.get(nome1);
-                    TreeSet<String> conjunto2 = conjuntos.get(nome2);
+            saida.escreverLinha("=== ANÁLISE DETALHADA PAR A PAR ===");
+            saida.escreverLinha();
+            
+            for (int i = 0; i < k - 1; i++) {
+                for (int j = i + 1; j < k; j++) {
+                    String nome1 = similaridade.nome(i);
+                    String nome2 = similaridade.nome(j);
+                    int tamanho1 = similaridade.cardinalidade(i);
+                    int tamanho2 = similaridade.cardinalidade(j);
                     
-                    writer.println(">>> " + nome1 + " vs " + nome2 + " <<<");
-                    writer.println("Cardinalidades: |" + nome1 + "| = " + conjunto1.size() + 
-                                  ", |" + nome2 + "| = " + conjunto2.size());
+                    saida.escreverLinha(">>> " + nome1 + " vs " + nome2 + " <<<");
+                    saida.escreverLinha("Cardinalidades: |" + nome1 + "| = " + tamanho1 + 
+                                  ", |" + nome2 + "| = " + tamanho2);
                     
-                    // Operações
-                    TreeSet<String> uniao = new TreeSet<>(conjunto1);
-                    uniao.addAll(conjunto2);
-                    TreeSet<String> intersecao = new TreeSet<>(conjunto1);
-                    intersecao.retainAll(conjunto2);
-                    TreeSet<String> diff1 = new TreeSet<>(conjunto1);
-                    diff1.removeAll(conjunto2);
-                    TreeSet<String> diff2 = new TreeSet<>(conjunto2);
-                    diff2.removeAll(conjunto1);
+                    // Operações - todas derivadas da interseção já contada
+                    int intersecao = similaridade.intersecao(i, j);
+                    int uniao = similaridade.uniao(i, j);
+                    int diff1 = similaridade.diferenca(i, j);
+                    int diff2 = similaridade.diferenca(j, i);
                     
-                    writer.println("|" + nome1 + " ∪ " + nome2 + "| = " + uniao.size());
-                    writer.println("|" + nome1 + " ∩ " + nome2 + "| = " + intersecao.size());
-                    writer.println("|" + nome1 + " - " + nome2 + "| = " + diff1.size());
-                    writer.println("|" + nome2 + " - " + nome1 + "| = " + diff2.size());
+                    saida.escreverLinha("|" + nome1 + " ∪ " + nome2 + "| = " + uniao);
+                    saida.escreverLinha("|" + nome1 + " ∩ " + nome2 + "| = " + intersecao);
+                    saida.escreverLinha("|" + nome1 + " - " + nome2 + "| = " + diff1);
+                    saida.escreverLinha("|" + nome2 + " - " + nome1 + "| = " + diff2);
                     
                     // Métricas de similaridade
-                    double jaccard = uniao.isEmpty() ? 0 : (double) intersecao.size() / uniao.size();
-                    double dice = (conjunto1.size() + conjunto2.size()) == 0 ? 0 : 
-                                 (2.0 * intersecao.size()) / (conjunto1.size() + conjunto2.size());
-                    
-                    writer.println("Índice de Jaccard: " + String.format("%.3f", jaccard));
-                    writer.println("Coeficiente de Dice: " + String.format("%.3f", dice));
+                    saida.formatar("Índice de Jaccard: %.3f%n", similaridade.jaccard(i, j));
+                    saida.formatar("Coeficiente de Dice: %.3f%n", similaridade.dice(i, j));
                     
                     // Relações especiais
-                    if (intersecao.isEmpty()) {
-                        writer.println("⚠ Conjuntos DISJUNTOS");
-                    } else if (conjunto1.equals(conjunto2)) {
-                        writer.println("✓ Conjuntos IDÊNTICOS");
-                    } else if (conjunto2.containsAll(conjunto1)) {
-                        writer.println("⊆ " + nome1 + " é SUBCONJUNTO de " + nome2);
-                    } else if (conjunto1.containsAll(conjunto2)) {
-                        writer.println("⊆ " + nome2 + " é SUBCONJUNTO de " + nome1);
+                    if (intersecao == 0) {
+                        saida.escreverLinha("⚠ Conjuntos DISJUNTOS");
+                    } else if (diff1 == 0 && diff2 == 0) {
+                        saida.escreverLinha("✓ Conjuntos IDÊNTICOS");
+                    } else if (diff1 == 0) {
+                        saida.escreverLinha("⊆ " + nome1 + " é SUBCONJUNTO de " + nome2);
+                    } else if (diff2 == 0) {
+                        saida.escreverLinha("⊆ " + nome2 + " é SUBCONJUNTO de " + nome1);
                     }
                     
-                    writer.println();
+                    saida.escreverLinha();
                 }
             }
             
             // Ranking de similaridade
-            writer.println("=== RANKING DE SIMILARIDADE ===");
-            writer.println();
-            
-            List<String> pares = new ArrayList<>();
-            List<Double> similaridades = new ArrayList<>();
-            
-            for (int i = 0; i < nomes.length - 1; i++) {
-                for (int j = i + 1; j < nomes.length; j++) {
-                    TreeSet<String> conjunto1 = conjuntos.get(nomes[i]);
-                    TreeSet<String> conjunto2 = conjuntos.get(nomes[j]);
-                    
-                    TreeSet<String> uniao = new TreeSet<>(conjunto1);
-                    uniao.addAll(conjunto2);
-                    TreeSet<String> intersecao = new TreeSet<>(conjunto1);
-                    intersecao.retainAll(conjunto2);
-                    
-                    double jaccard = uniao.isEmpty() ? 0 : (double) intersecao.size() / uniao.size();
-                    
-                    pares.add(nomes[i] + " × " + nomes[j]);
-                    similaridades.add(jaccard);
-                }
+            saida.escreverLinha("=== RANKING DE SIMILARIDADE ===");
+            saida.escreverLinha();
+            
+            saida.escreverLinha("Pares ordenados por similaridade (Jaccard):");
+            // Só os k melhores num heap primitivo - sem ordenar todos os pares
+            RankingTopK ranking = similaridade.ranking(limiteRanking);
+            for (int r = 0; r < ranking.tamanho(); r++) {
+                int i = RankingTopK.primeiro(ranking.chave(r));
+                int j = RankingTopK.segundo(ranking.chave(r));
+                saida.escrever((r + 1) + ". " + similaridade.nome(i) + " × " + similaridade.nome(j) + " = ");
+                saida.formatar("%.3f%n", ranking.valor(r));
             }
-            
-            // Ordenar por similaridade
-            List<Integer> indices = new ArrayList<>();
-            for (int i = 0; i < pares.size(); i++) {
-                indices.add(i);
+            if (ranking.oferecidos() > ranking.tamanho()) {
+                saida.escreverLinha("... e mais " + (ranking.oferecidos() - ranking.tamanho()) + " par(es) menos similares");
             }
-            indices.sort((a, b) -> similaridades.get(b).compareTo(similaridades.get(a)));
             
-            writer.println("Pares ordenados por similaridade (Jaccard):");
-            for (int i = 0; i < indices.size(); i++) {
-                int idx = indices.get(i);
-                writer.println((i + 1) + ". " + pares.get(idx) + " = " + 
-                              String.format("%.3f", similaridades.get(idx)));
+            saida.escreverLinha();
+            saida.escreverLinha("================================================================");
+            saida.escreverLinha("                  FIM DO RELATÓRIO COMPARATIVO");
+            saida.escreverLinha("================================================================");
+            
+            System.out.println("** RELATÓRIO COMPARATIVO GERADO COM SUCESSO! **");
+            System.out.println("Arquivo: " + nomeArquivo);
+            
+        } catch (IOException e) {
+            System.out.println("ERRO ao gerar relatório comparativo: " + e.getMessage());
+        }
+        
+        ui.pausar();
+    }
+    
+    /**
+     * RELATÓRIO COMPARATIVO APROXIMADO - assinaturas MinHash e bandas LSH:
+     * só os pares candidatos são comparados, sem matriz completa
+     */
+    private void criarRelatorioAproximado(Map<String, TreeSet<String>> conjuntos, int limiteRanking) {
+        System.out.print("Similaridade mínima (0 a 1, ENTER = 0.5): ");
+        String texto = ui.lerTexto().trim().replace(',', '.');
+        double limiar;
+        try {
+            limiar = texto.isEmpty() ? 0.5 : Double.parseDouble(texto);
+        } catch (NumberFormatException e) {
+            limiar = -1;
+        }
+        if (limiar < 0 || limiar > 1) {
+            ui.exibirErro("Limiar inválido! Use um número entre 0 e 1.");
+            ui.pausar();
+            return;
+        }
+        
+        String[] nomes = conjuntos.keySet().toArray(String[]::new);
+        List<TreeSet<String>> elementos = new ArrayList<>(nomes.length);
+        for (String nome : nomes) {
+            elementos.add(conjuntos.get(nome));
+        }
+        long inicio = System.nanoTime();
+        SimilaridadeAproximada similaridade = SimilaridadeAproximada.calcular(nomes, elementos,
+            SimilaridadeAproximada.PERMUTACOES_PADRAO, limiar, limiteRanking);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        long totalPares = (long) nomes.length * (nomes.length - 1) / 2;
+        
+        String nomeArquivo = "relatorio_comparativo_aproximado_" + System.currentTimeMillis() + ".txt";
+        
+        try (EscritorRelatorio saida = new EscritorRelatorio(new File(nomeArquivo))) {
+            saida.escreverLinha("================================================================");
+            saida.escreverLinha("       RELATÓRIO COMPARATIVO APROXIMADO (MINHASH / LSH)");
+            saida.escreverLinha("================================================================");
+            saida.escreverLinha();
+            saida.escreverLinha("Data: " + formatoData.format(new Date()));
+            saida.escreverLinha("Conjuntos analisados: " + nomes.length);
+            saida.escreverLinha();
+            
+            saida.escreverLinha("=== PARÂMETROS ===");
+            saida.escreverLinha();
+            saida.escreverLinha("Assinatura: " + similaridade.permutacoes() + " funções de hash por conjunto");
+            saida.escreverLinha("Bandas LSH: " + similaridade.bandas() + " × " + similaridade.linhasPorBanda() + " linhas");
+            saida.formatar("Limiar: %.3f%n", limiar);
+            saida.formatar("Chance de detectar um par com Jaccard = limiar: %.1f%%%n",
+                100 * similaridade.probabilidadeDeteccao(limiar));
+            saida.formatar("Pares comparados: %d de %d (%.2f%%) em %.3f s%n",
+                similaridade.candidatos(), totalPares,
+                totalPares == 0 ? 0 : 100.0 * similaridade.candidatos() / totalPares, segundos);
+            saida.escreverLinha();
+            saida.escreverLinha("Legenda: Jaccard estimado ± margem de erro (95% de confiança)");
+            saida.escreverLinha();
+            
+            // Ranking só dos pares encontrados
+            saida.escreverLinha("=== RANKING DE SIMILARIDADE ===");
+            saida.escreverLinha();
+            
+            RankingTopK ranking = similaridade.ranking();
+            if (ranking.tamanho() == 0) {
+                saida.escreverLinha("Nenhum par com similaridade estimada acima do limiar.");
+            } else {
+                saida.escreverLinha("Pares ordenados por similaridade (Jaccard estimado):");
+                for (int r = 0; r < ranking.tamanho(); r++) {
+                    int i = RankingTopK.primeiro(ranking.chave(r));
+                    int j = RankingTopK.segundo(ranking.chave(r));
+                    double estimativa = ranking.valor(r);
+                    saida.escrever((r + 1) + ". " + similaridade.nome(i) + " × " + similaridade.nome(j) + " ≈ ");
+                    saida.formatar("%.3f ± %.3f%n", estimativa, similaridade.margemErro(estimativa));
+                }
+                if (similaridade.acimaDoLimiar() > ranking.tamanho()) {
+                    saida.escreverLinha("... e mais " + (similaridade.acimaDoLimiar() - ranking.tamanho())
+                        + " par(es) acima do limiar");
+                }
             }
             
-            writer.println();
-            writer.println("================================================================");
-            writer.println("                  FIM DO RELATÓRIO COMPARATIVO");
-            writer.println("================================================================");
+            saida.escreverLinha();
+            saida.escreverLinha("================================================================");
+            saida.escreverLinha("                  FIM DO RELATÓRIO COMPARATIVO");
+            saida.escreverLinha("================================================================");
             
-            System.out.println("** RELATÓRIO COMPARATIVO GERADO COM SUCESSO! **");
+            System.out.println("** RELATÓRIO APROXIMADO GERADO COM SUCESSO! **");
+            System.out.println("Pares acima do limiar: " + similaridade.acimaDoLimiar() + " (comparados: "
+                + similaridade.candidatos() + " de " + totalPares + ")");
             System.out.println("Arquivo: " + nomeArquivo);
             
         } catch (IOException e) {
@@ -925,6 +989,23 @@ public class SistemaExportacao {
     
     // ===== MÉTODOS AUXILIARES =====
     
+    /**
+     * Quantos pares mostrar no ranking (ENTER = padrão)
+     */
+    private int lerLimiteRanking() {
+        System.out.print("Pares no ranking (ENTER = " + MotorSimilaridade.LIMITE_RANKING_PADRAO + "): ");
+        String texto = ui.lerTexto().trim();
+        if (texto.isEmpty()) {
+            return MotorSimilaridade.LIMITE_RANKING_PADRAO;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(texto));
+        } catch (NumberFormatException e) {
+            System.out.println("Valor inválido, usando " + MotorSimilaridade.LIMITE_RANKING_PADRAO + ".");
+            return MotorSimilaridade.LIMITE_RANKING_PADRAO;
+        }
+    }
+    
     /**
      * Coletar conjuntos do usuário
      */
@@ -960,6 +1041,30 @@ public class SistemaExportacao {
         return conjuntos;
     }
     
+    /**
+     * Converter cada conjunto coletado para array ordenado uma única vez,
+     * para que os laços par a par usem intercalação linear
+     */
+    private Map<String, ConjuntoOrdenado<String>> ordenarConjuntos(Map<String, TreeSet<String>> conjuntos) {
+        Map<String, ConjuntoOrdenado<String>> ordenados = new HashMap<>();
+        for (Map.Entry<String, TreeSet<String>> entry : conjuntos.entrySet()) {
+            ordenados.put(entry.getKey(), ConjuntoOrdenado.de(entry.getValue()));
+        }
+        return ordenados;
+    }
+    
+    /**
+     * Similaridade de todos os pares, na ordem de iteração do mapa
+     */
+    private MotorSimilaridade calcularSimilaridades(Map<String, TreeSet<String>> conjuntos) {
+        String[] nomes = conjuntos.keySet().toArray(String[]::new);
+        List<TreeSet<String>> elementos = new ArrayList<>(nomes.length);
+        for (String nome : nomes) {
+            elementos.add(conjuntos.get(nome));
+        }
+        return MotorSimilaridade.calcular(nomes, elementos);
+    }
+    
     /**
      * Interpretar índice de Jaccard
      */
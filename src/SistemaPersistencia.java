@@ -1,5 +1,8 @@
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * SISTEMA DE PERSISTÊNCIA - Salvar e Carregar Conjuntos!
@@ -16,17 +19,44 @@ import java.util.*;
  */
 public class SistemaPersistencia {
     
+    /** Diretório dos arquivos .conjunto */
+    public static final String DIRETORIO_CONJUNTOS = "conjuntos_salvos";
+    
+    /** Diretório dos segmentos do histórico (ver {@link LogHistorico}) */
+    public static final String DIRETORIO_HISTORICO = "historico";
+    
+    /** Histórico texto das versões antigas (importado uma vez para o log) */
+    public static final String ARQUIVO_HISTORICO_ANTIGO = "historico_operacoes.txt";
+    
+    /** Diretório dos backups incrementais (ver {@link BackupIncremental}) */
+    public static final String DIRETORIO_BACKUPS = "backups";
+    
+    /** Catálogo de metadados dos arquivos salvos (ver {@link CatalogoConjuntos}) */
+    public static final String ARQUIVO_CATALOGO = "conjuntos_salvos.catalogo";
+    
+    private static final int REGISTROS_POR_PAGINA = 20;
+    
     private final InterfaceEducacionalASCII ui;
     private final String diretorioConjuntos;
-    private final String arquivoHistorico;
+    private final LogHistorico logHistorico; // null se não pôde ser aberto
+    private final CatalogoConjuntos catalogo; // null se não pôde ser aberto
+    private final ServicoPersistencia servico;
     
     /**
      * CONSTRUTOR
+     *
+     * @param logHistorico log aberto pelo dono (que também o fecha)
+     * @param servico      fila de gravações em segundo plano, também do dono
+     * @param catalogo     catálogo aberto uma vez pelo dono (null se falhou):
+     *                     as tarefas ainda na fila usam a mesma instância
      */
-    public SistemaPersistencia(InterfaceEducacionalASCII ui) {
+    public SistemaPersistencia(InterfaceEducacionalASCII ui, LogHistorico logHistorico, ServicoPersistencia servico,
+                               CatalogoConjuntos catalogo) {
         this.ui = ui;
-        this.diretorioConjuntos = "conjuntos_salvos";
-        this.arquivoHistorico = "historico_operacoes.txt";
+        this.diretorioConjuntos = DIRETORIO_CONJUNTOS;
+        this.logHistorico = logHistorico;
+        this.servico = servico;
+        this.catalogo = catalogo;
         
         // Criar diretório se não existir
         criarDiretorioSeNecessario();
@@ -46,7 +76,7 @@ public class SistemaPersistencia {
                 case 1 -> salvarConjunto();
                 case 2 -> carregarConjunto();
                 case 3 -> listarArquivosSalvos();
-                case 4 -> criarBackup();
+                case 4 -> gerenciarBackups();
                 case 5 -> verHistoricoPersistente();
                 case 6 -> excluirArquivo();
                 case 7 -> importarConjuntoDeTexto();
@@ -69,17 +99,28 @@ public class SistemaPersistencia {
         System.out.println("================================================================");
         System.out.println();
         
-        // Mostrar info do diretório
-        File dir = new File(diretorioConjuntos);
-        int arquivos = dir.exists() ? dir.list().length : 0;
+        // Mostrar info do diretório (do catálogo)
+        int arquivos = catalogo == null ? 0 : catalogo.tamanho();
         System.out.println("** ARQUIVOS SALVOS: " + arquivos);
         System.out.println("** DIRETÓRIO: " + diretorioConjuntos);
+        System.out.println(String.format("** FILA EM SEGUNDO PLANO: %d/%d (máx. %d) | %d gravações | %d coalescidas | %d falhas",
+            servico.profundidade(), servico.capacidade(), servico.profundidadeMaxima(),
+            servico.executadas(), servico.coalescidas(), servico.falhas()));
         System.out.println();
         
+        // Resultados das gravações que terminaram enquanto o menu esperava
+        List<String> mensagens = servico.recolherMensagens();
+        for (String mensagem : mensagens) {
+            System.out.println("  > " + mensagem);
+        }
+        if (!mensagens.isEmpty()) {
+            System.out.println();
+        }
+        
         System.out.println("  [1] Salvar Conjunto em Arquivo");
         System.out.println("  [2] Carregar Conjunto de Arquivo");
         System.out.println("  [3] Listar Todos os Arquivos Salvos");
-        System.out.println("  [4] Criar Backup Completo");
+        System.out.println("  [4] Backups Incrementais (criar/restaurar)");
         System.out.println("  [5] Ver Histórico Persistente");
         System.out.println("  [6] Excluir Arquivo");
         System.out.println("  [7] Importar Conjunto de Arquivo Texto");
@@ -118,6 +159,11 @@ public class SistemaPersistencia {
         System.out.println("[3] Palavras/Texto");
         System.out.print(">> Escolha: ");
         int tipo = ui.lerInteiroValidado();
+        if (tipo < 1 || tipo > 3) {
+            System.out.println("Tipo inválido!");
+            ui.pausar();
+            return;
+        }
         
         // Pedir elementos
         System.out.print("Digite os elementos (separados por espaço): ");
@@ -127,33 +173,67 @@ public class SistemaPersistencia {
         String nomeCompleto = nomeArquivo + ".conjunto";
         File arquivo = new File(diretorioConjuntos, nomeCompleto);
         
-        try (PrintWriter writer = new PrintWriter(new FileWriter(arquivo))) {
-            // Cabeçalho do arquivo
-            writer.println("# ARQUIVO DE CONJUNTO - Sistema TGS");
-            writer.println("# Data: " + new Date());
-            writer.println("# Nome: " + nomeConjunto);
-            writer.println("# Tipo: " + obterNomeTipo(tipo));
-            writer.println();
-            
-            // Dados do conjunto
-            writer.println("NOME=" + nomeConjunto);
-            writer.println("TIPO=" + tipo);
-            writer.println("ELEMENTOS=" + elementos);
-            
-            System.out.println();
-            System.out.println("** CONJUNTO SALVO COM SUCESSO! **");
-            System.out.println("Arquivo: " + arquivo.getAbsolutePath());
-            
-            // Salvar no histórico
-            salvarHistorico("SALVO: " + nomeConjunto + " em " + nomeCompleto);
-            
-        } catch (IOException e) {
-            System.out.println("ERRO ao salvar arquivo: " + e.getMessage());
+        // Elementos interpretados agora; a gravação vai para a fila
+        ServicoPersistencia.TarefaIO gravacao = prepararGravacao(arquivo, nomeConjunto, tipo, elementos);
+        boolean substituiu = servico.enviar(chaveArquivo(arquivo), "salvar " + nomeCompleto, () -> {
+            gravacao.executar();
+            registrarNoCatalogo(arquivo);
+            return "Conjunto salvo: " + nomeCompleto + " (binário, " + arquivo.length() + " bytes)";
+        });
+        salvarHistorico("SALVO", nomeConjunto, nomeConjunto + " em " + nomeCompleto);
+        
+        System.out.println();
+        System.out.println("** SALVAMENTO AGENDADO! **");
+        System.out.println("Arquivo: " + arquivo.getAbsolutePath());
+        if (substituiu) {
+            System.out.println("(substituiu um salvamento ainda pendente do mesmo arquivo)");
         }
         
         ui.pausar();
     }
     
+    /**
+     * Interpreta os elementos digitados conforme o tipo (avisos aparecem
+     * já) e devolve a gravação em binário, para rodar em segundo plano
+     */
+    private ServicoPersistencia.TarefaIO prepararGravacao(File arquivo, String nome, int tipo, String elementos) {
+        Consumer<String> avisar = elem -> System.out.println("Elemento inválido ignorado: " + elem);
+        
+        switch (tipo) {
+            case 1 -> {
+                ConjuntoInteiros inteiros = ConjuntoInteiros.lerDeTexto(elementos, avisar);
+                System.out.println("Elementos: " + inteiros.tamanho() + " (sem repetições)");
+                return () -> {
+                    ArquivoConjunto.gravar(arquivo, nome, inteiros);
+                    return null;
+                };
+            }
+            case 2 -> {
+                ConjuntoDecimais decimais = ConjuntoDecimais.lerDeTexto(elementos, avisar);
+                System.out.println("Elementos: " + decimais.tamanho() + " (sem repetições)");
+                return () -> {
+                    ArquivoConjunto.gravar(arquivo, nome, decimais);
+                    return null;
+                };
+            }
+            default -> {
+                List<String> textos = KernelConjuntos.normalizar(elementos).elementos();
+                System.out.println("Elementos: " + textos.size() + " (sem repetições)");
+                return () -> {
+                    ArquivoConjunto.gravar(arquivo, nome, textos);
+                    return null;
+                };
+            }
+        }
+    }
+    
+    /**
+     * Chave de coalescência: gravações e exclusões do mesmo arquivo se fundem
+     */
+    private static String chaveArquivo(File arquivo) {
+        return "arquivo:" + arquivo.getAbsolutePath();
+    }
+    
     // ===== CARREGAR CONJUNTO =====
     
     /**
@@ -163,37 +243,57 @@ public class SistemaPersistencia {
         System.out.println("\n** CARREGAR CONJUNTO DE ARQUIVO **");
         System.out.println();
         
-        // Listar arquivos disponíveis
-        File dir = new File(diretorioConjuntos);
-        if (!dir.exists() || dir.list().length == 0) {
-            System.out.println("Nenhum arquivo salvo encontrado!");
+        CatalogoConjuntos.Entrada escolhida = escolherArquivo("Escolha o arquivo");
+        if (escolhida == null) {
             ui.pausar();
             return;
         }
         
-        String[] arquivos = dir.list((d, name) -> name.endsWith(".conjunto"));
-        if (arquivos.length == 0) {
-            System.out.println("Nenhum arquivo de conjunto encontrado!");
-            ui.pausar();
-            return;
-        }
+        File arquivo = new File(diretorioConjuntos, escolhida.arquivo);
         
-        System.out.println("Arquivos disponíveis:");
-        for (int i = 0; i < arquivos.length; i++) {
-            System.out.println((i + 1) + ". " + arquivos[i]);
-        }
-        
-        System.out.print("Escolha o arquivo (1-" + arquivos.length + "): ");
-        int escolha = ui.lerInteiroValidado() - 1;
-        
-        if (escolha < 0 || escolha >= arquivos.length) {
-            System.out.println("Escolha inválida!");
-            ui.pausar();
-            return;
+        try {
+            String nome;
+            if (ArquivoConjunto.eBinario(arquivo)) {
+                // Formato binário: consultas lendo só os blocos necessários
+                try (ConjuntoEmDisco emDisco = ConjuntoEmDisco.abrir(arquivo)) {
+                    ArquivoConjunto.Cabecalho cabecalho = emDisco.cabecalho();
+                    nome = cabecalho.nome;
+                    
+                    System.out.println();
+                    System.out.println("** CONJUNTO CARREGADO COM SUCESSO! **");
+                    System.out.println("Nome: " + nome);
+                    System.out.println("Tipo: " + obterNomeTipo(cabecalho.tipo));
+                    System.out.println("Elementos: " + descreverQuantidade(cabecalho));
+                    
+                    System.out.print("Conferir a integridade (lê o arquivo inteiro)? (s/N): ");
+                    if (ui.lerTexto().trim().equalsIgnoreCase("s")) {
+                        emDisco.conferirChecksum();
+                        System.out.println("  Checksum OK");
+                    }
+                    
+                    mostrarPrimeiros(emDisco);
+                    consultarPertinencia(emDisco);
+                }
+            } else {
+                nome = carregarFormatoTexto(arquivo);
+            }
+            
+            // Salvar no histórico
+            salvarHistorico("CARREGADO", nome, nome + " de " + escolhida.arquivo);
+            
+        } catch (IOException | NumberFormatException e) {
+            System.out.println("ERRO ao carregar arquivo: " + e.getMessage());
         }
         
-        File arquivo = new File(dir, arquivos[escolha]);
-        
+        ui.pausar();
+    }
+    
+    /**
+     * Carrega um arquivo no formato texto antigo (NOME=, TIPO=, ELEMENTOS=)
+     * 
+     * @return nome do conjunto
+     */
+    private String carregarFormatoTexto(File arquivo) throws IOException {
         try (BufferedReader reader = new BufferedReader(new FileReader(arquivo))) {
             String linha;
             String nome = "";
@@ -220,55 +320,84 @@ public class SistemaPersistencia {
             
             // Processar e mostrar conjunto
             processarConjuntoCarregado(nome, tipo, elementos);
-            
-            // Salvar no histórico
-            salvarHistorico("CARREGADO: " + nome + " de " + arquivos[escolha]);
-            
-        } catch (IOException | NumberFormatException e) {
-            System.out.println("ERRO ao carregar arquivo: " + e.getMessage());
+            return nome;
         }
-        
-        ui.pausar();
+    }
+    
+    /**
+     * Mostrar os primeiros elementos, decodificados direto do arquivo
+     */
+    private void mostrarPrimeiros(ConjuntoEmDisco emDisco) throws IOException {
+        int limite = 50;
+        StringBuilder linha = new StringBuilder(emDisco.cabecalho().nome).append(" = {");
+        emDisco.paraCadaPrimeiros(limite, elem -> {
+            if (linha.charAt(linha.length() - 1) != '{') linha.append(", ");
+            linha.append(elem);
+        });
+        if (emDisco.cardinalidade() > limite) {
+            linha.append(", ... (mais ").append(emDisco.cardinalidade() - limite).append(")");
+        }
+        System.out.println(linha.append("}"));
+    }
+    
+    /**
+     * Testar pertinência de elementos direto no arquivo
+     */
+    private void consultarPertinencia(ConjuntoEmDisco emDisco) throws IOException {
+        String nome = emDisco.cabecalho().nome;
+        while (true) {
+            System.out.println();
+            System.out.print("Testar se um elemento pertence a " + nome + " (ENTER para sair): ");
+            String elemento = ui.lerTexto().trim();
+            if (elemento.isEmpty()) {
+                return;
+            }
+            System.out.println(emDisco.contem(elemento)
+                ? "  " + elemento + " ∈ " + nome
+                : "  " + elemento + " ∉ " + nome);
+        }
+    }
+    
+    /**
+     * "5 (de 1 a 9)" a partir do cabeçalho binário
+     */
+    private String descreverQuantidade(ArquivoConjunto.Cabecalho cabecalho) {
+        if (cabecalho.quantidade == 0) {
+            return "0";
+        }
+        return cabecalho.quantidade + " (de " + cabecalho.minimo + " a " + cabecalho.maximo + ")";
+    }
+    
+    private String descreverQuantidade(CatalogoConjuntos.Entrada entrada) {
+        if (entrada.cardinalidade < 0) {
+            return "desconhecido";
+        }
+        if (entrada.cardinalidade == 0 || entrada.minimo.isEmpty()) {
+            return Integer.toString(entrada.cardinalidade);
+        }
+        return entrada.cardinalidade + " (de " + entrada.minimo + " a " + entrada.maximo + ")";
     }
     
     /**
      * Processar conjunto carregado conforme o tipo
      */
     private void processarConjuntoCarregado(String nome, int tipo, String elementos) {
-        String[] elementosArray = elementos.split(" ");
-        
         switch (tipo) {
-            case 1: // Inteiros
-                TreeSet<Integer> inteiros = new TreeSet<>();
-                for (String elem : elementosArray) {
-                    try {
-                        if (!elem.trim().isEmpty()) {
-                            inteiros.add(Integer.parseInt(elem.trim()));
-                        }
-                    } catch (NumberFormatException e) {
-                        System.out.println("Elemento inválido ignorado: " + elem);
-                    }
-                }
+            case 1: // Inteiros (int[] primitivo, lido direto do texto)
+                ConjuntoInteiros inteiros = ConjuntoInteiros.lerDeTexto(elementos, elem ->
+                    System.out.println("Elemento inválido ignorado: " + elem));
                 System.out.println(nome + " = " + inteiros);
                 break;
                 
-            case 2: // Decimais
-                TreeSet<Double> decimais = new TreeSet<>();
-                for (String elem : elementosArray) {
-                    try {
-                        if (!elem.trim().isEmpty()) {
-                            decimais.add(Double.parseDouble(elem.trim()));
-                        }
-                    } catch (NumberFormatException e) {
-                        System.out.println("Elemento inválido ignorado: " + elem);
-                    }
-                }
+            case 2: // Decimais (double[] primitivo)
+                ConjuntoDecimais decimais = ConjuntoDecimais.lerDeTexto(elementos, elem ->
+                    System.out.println("Elemento inválido ignorado: " + elem));
                 System.out.println(nome + " = " + decimais);
                 break;
                 
             case 3: // Strings
                 TreeSet<String> strings = new TreeSet<>();
-                for (String elem : elementosArray) {
+                for (String elem : elementos.split(" ")) {
                     if (!elem.trim().isEmpty()) {
                         strings.add(elem.trim());
                     }
@@ -287,41 +416,23 @@ public class SistemaPersistencia {
         System.out.println("\n** ARQUIVOS SALVOS **");
         System.out.println();
         
-        File dir = new File(diretorioConjuntos);
-        if (!dir.exists()) {
-            System.out.println("Diretório de conjuntos não existe ainda.");
-            ui.pausar();
-            return;
-        }
-        
-        String[] arquivos = dir.list((d, name) -> name.endsWith(".conjunto"));
+        // Tudo vem do catálogo: nenhum arquivo de dados é aberto
+        List<CatalogoConjuntos.Entrada> entradas = entradasDoCatalogo();
         
-        if (arquivos.length == 0) {
+        if (entradas.isEmpty()) {
             System.out.println("Nenhum arquivo de conjunto encontrado.");
         } else {
-            System.out.println("Total de arquivos: " + arquivos.length);
+            System.out.println("Total de arquivos: " + entradas.size());
             System.out.println();
             
-            for (int i = 0; i < arquivos.length; i++) {
-                File arquivo = new File(dir, arquivos[i]);
-                System.out.println((i + 1) + ". " + arquivos[i]);
-                System.out.println("   Tamanho: " + arquivo.length() + " bytes");
-                System.out.println("   Modificado: " + new Date(arquivo.lastModified()));
-                
-                // Tentar ler informações básicas
-                try (BufferedReader reader = new BufferedReader(new FileReader(arquivo))) {
-                    String linha;
-                    while ((linha = reader.readLine()) != null) {
-                        if (linha.startsWith("# Nome: ")) {
-                            System.out.println("   Conjunto: " + linha.substring(8));
-                        } else if (linha.startsWith("# Tipo: ")) {
-                            System.out.println("   Tipo: " + linha.substring(8));
-                        }
-                    }
-                } catch (IOException e) {
-                    System.out.println("   (Erro ao ler detalhes)");
-                }
-                
+            for (int i = 0; i < entradas.size(); i++) {
+                CatalogoConjuntos.Entrada entrada = entradas.get(i);
+                System.out.println((i + 1) + ". " + entrada.arquivo);
+                System.out.println("   Tamanho: " + entrada.tamanho + " bytes");
+                System.out.println("   Modificado: " + new Date(entrada.modificado));
+                System.out.println("   Conjunto: " + entrada.nome);
+                System.out.println("   Tipo: " + obterNomeTipo(entrada.tipo));
+                System.out.println("   Elementos: " + descreverQuantidade(entrada));
                 System.out.println();
             }
         }
@@ -329,98 +440,247 @@ public class SistemaPersistencia {
         ui.pausar();
     }
     
+    /**
+     * Entradas do catálogo, atualizado antes se o diretório mudou por fora
+     */
+    private List<CatalogoConjuntos.Entrada> entradasDoCatalogo() {
+        // Gravações e exclusões pendentes entram antes de listar
+        servico.aguardar();
+        if (catalogo == null) {
+            System.out.println("Catálogo indisponível nesta sessão.");
+            return List.of();
+        }
+        try {
+            catalogo.atualizarSeMudou();
+        } catch (IOException e) {
+            System.out.println("ERRO ao atualizar catálogo: " + e.getMessage());
+        }
+        return catalogo.entradas();
+    }
+    
+    /**
+     * Mostra os arquivos do catálogo e devolve o escolhido (null se nenhum)
+     */
+    private CatalogoConjuntos.Entrada escolherArquivo(String pergunta) {
+        List<CatalogoConjuntos.Entrada> entradas = entradasDoCatalogo();
+        if (entradas.isEmpty()) {
+            System.out.println("Nenhum arquivo de conjunto encontrado!");
+            return null;
+        }
+        
+        System.out.println("Arquivos disponíveis:");
+        for (int i = 0; i < entradas.size(); i++) {
+            CatalogoConjuntos.Entrada entrada = entradas.get(i);
+            System.out.println((i + 1) + ". " + entrada.arquivo + "  (" + entrada.nome + ", "
+                + (entrada.cardinalidade < 0 ? "?" : entrada.cardinalidade) + " elementos)");
+        }
+        
+        System.out.print(pergunta + " (1-" + entradas.size() + "): ");
+        int escolha = ui.lerInteiroValidado() - 1;
+        
+        if (escolha < 0 || escolha >= entradas.size()) {
+            System.out.println("Escolha inválida!");
+            return null;
+        }
+        return entradas.get(escolha);
+    }
+    
+    /**
+     * Arquivo gravado: coloca os metadados dele no catálogo (em segundo plano)
+     */
+    private void registrarNoCatalogo(File arquivo) throws IOException {
+        if (catalogo != null) {
+            catalogo.registrar(arquivo);
+        }
+    }
+    
     // ===== BACKUP =====
     
     /**
-     * CRIAR BACKUP completo
+     * BACKUPS: snapshots incrementais e restauração
      */
-    private void criarBackup() {
-        System.out.println("\n** CRIAR BACKUP COMPLETO **");
+    private void gerenciarBackups() {
+        BackupIncremental backup = new BackupIncremental(new File(DIRETORIO_BACKUPS));
+        
+        System.out.println("\n** BACKUPS INCREMENTAIS **");
         System.out.println();
+        System.out.println("[1] Criar snapshot (só guarda o que mudou)");
+        System.out.println("[2] Listar snapshots");
+        System.out.println("[3] Restaurar snapshot");
+        System.out.println("[4] Voltar");
+        System.out.print(">> Escolha: ");
         
-        String nomeBackup = "backup_" + System.currentTimeMillis() + ".txt";
-        File arquivoBackup = new File(nomeBackup);
+        switch (ui.lerInteiroValidado()) {
+            case 1 -> criarSnapshot(backup);
+            case 2 -> listarSnapshots(backup);
+            case 3 -> restaurarSnapshot(backup);
+            case 4 -> { return; }
+            default -> System.out.println("Opção inválida!");
+        }
         
-        try (PrintWriter writer = new PrintWriter(new FileWriter(arquivoBackup))) {
-            writer.println("# BACKUP COMPLETO DO SISTEMA TGS");
-            writer.println("# Data: " + new Date());
-            writer.println("# Gerado automaticamente");
-            writer.println();
-            
-            // Backup de todos os conjuntos
-            File dir = new File(diretorioConjuntos);
-            if (dir.exists()) {
-                String[] arquivos = dir.list((d, name) -> name.endsWith(".conjunto"));
-                
-                writer.println("=== CONJUNTOS SALVOS ===");
-                for (String arquivo : arquivos) {
-                    writer.println();
-                    writer.println(">>> ARQUIVO: " + arquivo);
-                    
-                    try (BufferedReader reader = new BufferedReader(new FileReader(new File(dir, arquivo)))) {
-                        String linha;
-                        while ((linha = reader.readLine()) != null) {
-                            writer.println(linha);
-                        }
-                    } catch (IOException e) {
-                        writer.println("ERRO ao ler: " + arquivo);
-                    }
+        ui.pausar();
+    }
+    
+    /**
+     * CRIAR SNAPSHOT dos conjuntos salvos e dos segmentos do histórico
+     * (em segundo plano; pedidos repetidos antes de começar viram um só)
+     */
+    private void criarSnapshot(BackupIncremental backup) {
+        servico.enviar("backup:snapshot", "criar backup", () -> {
+            // Roda depois das gravações que estavam antes na fila
+            List<File> arquivos = new ArrayList<>();
+            if (catalogo != null) {
+                for (CatalogoConjuntos.Entrada entrada : catalogo.entradas()) {
+                    arquivos.add(new File(diretorioConjuntos, entrada.arquivo).getAbsoluteFile());
                 }
             }
-            
-            // Backup do histórico
-            writer.println();
-            writer.println("=== HISTÓRICO DE OPERAÇÕES ===");
-            File historicoFile = new File(arquivoHistorico);
-            if (historicoFile.exists()) {
-                try (BufferedReader reader = new BufferedReader(new FileReader(historicoFile))) {
-                    String linha;
-                    while ((linha = reader.readLine()) != null) {
-                        writer.println(linha);
+            if (logHistorico != null) {
+                // Lote pendente vai para o disco antes da cópia
+                logHistorico.sincronizar();
+                File[] segmentos = logHistorico.diretorio().listFiles((d, nome) -> nome.startsWith("segmento-")
+                    && (nome.endsWith(".log") || nome.endsWith(".idx")));
+                if (segmentos != null) {
+                    Arrays.sort(segmentos);
+                    for (File segmento : segmentos) {
+                        arquivos.add(segmento.getAbsoluteFile());
                     }
-                } catch (IOException e) {
-                    writer.println("ERRO ao ler histórico");
                 }
             }
             
-            System.out.println("** BACKUP CRIADO COM SUCESSO! **");
-            System.out.println("Arquivo: " + arquivoBackup.getAbsolutePath());
+            BackupIncremental.Resultado resultado = backup.criarSnapshot(arquivos, new File("").getAbsoluteFile());
+            return "Snapshot " + resultado.id + ": " + resultado.arquivos + " arquivos (" + resultado.bytesTotais
+                + " bytes), " + resultado.inalterados + " inalterados, " + resultado.reaproveitados
+                + " já guardados, " + resultado.objetosNovos + " objetos novos (" + resultado.bytesNovos
+                + " -> " + resultado.bytesGravados + " bytes comprimidos)";
+        });
+        System.out.println("Snapshot agendado - o resultado aparece no menu da persistência.");
+    }
+    
+    private void listarSnapshots(BackupIncremental backup) {
+        servico.aguardar();
+        try {
+            List<BackupIncremental.Snapshot> lista = backup.listarSnapshots();
+            if (lista.isEmpty()) {
+                System.out.println("Nenhum snapshot criado ainda.");
+                return;
+            }
+            for (int i = 0; i < lista.size(); i++) {
+                BackupIncremental.Snapshot snapshot = lista.get(i);
+                System.out.println((i + 1) + ". " + snapshot.id + "  " + new Date(snapshot.data)
+                    + "  (" + snapshot.arquivos + " arquivos, " + snapshot.bytes + " bytes)");
+            }
+        } catch (IOException e) {
+            System.out.println("ERRO ao listar backups: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * RESTAURAR um snapshot em restauracao/<id>/, com opção de devolver os
+     * conjuntos para o diretório de trabalho
+     */
+    private void restaurarSnapshot(BackupIncremental backup) {
+        servico.aguardar();
+        try {
+            List<BackupIncremental.Snapshot> lista = backup.listarSnapshots();
+            if (lista.isEmpty()) {
+                System.out.println("Nenhum snapshot criado ainda.");
+                return;
+            }
+            listarSnapshots(backup);
+            System.out.print("Snapshot a restaurar (1-" + lista.size() + "): ");
+            int escolha = ui.lerInteiroValidado() - 1;
+            if (escolha < 0 || escolha >= lista.size()) {
+                System.out.println("Escolha inválida!");
+                return;
+            }
+            
+            String id = lista.get(escolha).id;
+            File destino = new File("restauracao", id);
+            int restaurados = backup.restaurar(id, destino);
+            System.out.println("** " + restaurados + " arquivos restaurados em " + destino.getAbsolutePath() + " **");
+            
+            File conjuntosRestaurados = new File(destino, diretorioConjuntos);
+            File[] arquivos = conjuntosRestaurados.listFiles((d, nome) -> nome.endsWith(".conjunto"));
+            if (arquivos == null || arquivos.length == 0) {
+                return;
+            }
+            System.out.print("Copiar os " + arquivos.length + " conjuntos de volta para " + diretorioConjuntos
+                + "? Arquivos com o mesmo nome serão substituídos (s/n): ");
+            if (!ui.lerTexto().trim().equalsIgnoreCase("s")) {
+                return;
+            }
+            for (File arquivo : arquivos) {
+                Files.copy(arquivo.toPath(), new File(diretorioConjuntos, arquivo.getName()).toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+            }
+            if (catalogo != null) {
+                catalogo.sincronizarComDiretorio();
+            }
+            System.out.println("Conjuntos copiados.");
             
         } catch (IOException e) {
-            System.out.println("ERRO ao criar backup: " + e.getMessage());
+            System.out.println("ERRO ao restaurar backup: " + e.getMessage());
         }
-        
-        ui.pausar();
     }
     
     // ===== HISTÓRICO PERSISTENTE =====
     
     /**
-     * VER HISTÓRICO persistente
+     * VER HISTÓRICO persistente: filtros opcionais e páginas, do mais recente
+     * ao mais antigo (ver ConsultaHistorico)
      */
     private void verHistoricoPersistente() {
         System.out.println("\n** HISTÓRICO PERSISTENTE **");
         System.out.println();
         
-        File arquivo = new File(arquivoHistorico);
-        if (!arquivo.exists()) {
-            System.out.println("Nenhum histórico encontrado ainda.");
+        if (logHistorico == null) {
+            System.out.println("Histórico indisponível nesta sessão.");
             ui.pausar();
             return;
         }
+        servico.aguardar();
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(arquivo))) {
-            String linha;
-            int contador = 1;
-            
-            while ((linha = reader.readLine()) != null) {
-                System.out.println(contador + ". " + linha);
-                contador++;
+        System.out.println(String.format("%,d registros em %d segmento(s) | %,d gravações | fsync: %s",
+            logHistorico.registros(), logHistorico.quantidadeSegmentos(), logHistorico.lotes(),
+            logHistorico.politica().name().toLowerCase()));
+        System.out.println();
+        System.out.print("Tipo (SALVO, CARREGADO, EXCLUÍDO, IMPORTADO; ENTER = todos): ");
+        String tipo = ui.lerTexto().trim();
+        System.out.print("Conjunto (ENTER = todos): ");
+        String conjunto = ui.lerTexto().trim();
+        System.out.print("Últimos N dias (ENTER = tudo): ");
+        String dias = ui.lerTexto().trim();
+        
+        long desde = Long.MIN_VALUE;
+        if (!dias.isEmpty()) {
+            try {
+                desde = System.currentTimeMillis() - Long.parseLong(dias) * 24L * 60 * 60 * 1000;
+            } catch (NumberFormatException e) {
+                System.out.println("Número de dias inválido - mostrando tudo.");
+            }
+        }
+        
+        try {
+            ConsultaHistorico consulta = new ConsultaHistorico(logHistorico, desde, Long.MAX_VALUE, tipo, conjunto);
+            int contador = 0;
+            while (true) {
+                List<LogHistorico.Registro> pagina = consulta.proximaPagina(REGISTROS_POR_PAGINA);
+                for (LogHistorico.Registro registro : pagina) {
+                    System.out.println(++contador + ". " + registro);
+                }
+                if (pagina.size() < REGISTROS_POR_PAGINA) {
+                    break;
+                }
+                System.out.print("-- ENTER = próxima página, S = sair: ");
+                if (ui.lerTexto().trim().equalsIgnoreCase("s")) {
+                    break;
+                }
             }
             
-            if (contador == 1) {
-                System.out.println("Histórico está vazio.");
+            if (contador == 0) {
+                System.out.println("Nenhuma operação encontrada.");
             }
+            System.out.println(String.format("(%,d registros lidos do disco)", consulta.registrosLidos()));
             
         } catch (IOException e) {
             System.out.println("ERRO ao ler histórico: " + e.getMessage());
@@ -430,14 +690,30 @@ public class SistemaPersistencia {
     }
     
     /**
-     * SALVAR no histórico persistente
+     * SALVAR no histórico persistente (em segundo plano; ver LogHistorico).
+     * Cada registro é uma tarefa própria, sem chave: nunca é fundido com a
+     * gravação de um arquivo, então salvar e excluir o mesmo arquivo deixa
+     * as duas operações no histórico.
+     *
+     * @param tipo     "SALVO", "CARREGADO", ... (indexado)
+     * @param conjunto nome do conjunto (indexado)
+     * @param detalhe  resto do texto mostrado, após "TIPO: "
      */
-    public void salvarHistorico(String operacao) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(arquivoHistorico, true))) {
-            String timestamp = new Date().toString();
-            writer.println("[" + timestamp + "] " + operacao);
-        } catch (IOException e) {
-            // Ignorar erros de histórico para não interromper operação principal
+    public void salvarHistorico(String tipo, String conjunto, String detalhe) {
+        if (logHistorico != null) {
+            servico.enviar(null, "histórico", () -> {
+                registrarHistorico(tipo, conjunto, detalhe);
+                return null;
+            });
+        }
+    }
+    
+    /**
+     * Grava no log agora (dentro da tarefa em segundo plano)
+     */
+    private void registrarHistorico(String tipo, String conjunto, String detalhe) throws IOException {
+        if (logHistorico != null) {
+            logHistorico.registrar(tipo, conjunto, tipo + ": " + detalhe);
         }
     }
     
@@ -450,30 +726,8 @@ public class SistemaPersistencia {
         System.out.println("\n** EXCLUIR ARQUIVO **");
         System.out.println();
         
-        File dir = new File(diretorioConjuntos);
-        if (!dir.exists() || dir.list().length == 0) {
-            System.out.println("Nenhum arquivo para excluir!");
-            ui.pausar();
-            return;
-        }
-        
-        String[] arquivos = dir.list((d, name) -> name.endsWith(".conjunto"));
-        if (arquivos.length == 0) {
-            System.out.println("Nenhum arquivo de conjunto encontrado!");
-            ui.pausar();
-            return;
-        }
-        
-        System.out.println("Arquivos disponíveis:");
-        for (int i = 0; i < arquivos.length; i++) {
-            System.out.println((i + 1) + ". " + arquivos[i]);
-        }
-        
-        System.out.print("Escolha o arquivo para excluir (1-" + arquivos.length + "): ");
-        int escolha = ui.lerInteiroValidado() - 1;
-        
-        if (escolha < 0 || escolha >= arquivos.length) {
-            System.out.println("Escolha inválida!");
+        CatalogoConjuntos.Entrada escolhida = escolherArquivo("Escolha o arquivo para excluir");
+        if (escolhida == null) {
             ui.pausar();
             return;
         }
@@ -482,13 +736,18 @@ public class SistemaPersistencia {
         String confirmacao = ui.lerTexto().trim().toLowerCase();
         
         if (confirmacao.equals("s")) {
-            File arquivo = new File(dir, arquivos[escolha]);
-            if (arquivo.delete()) {
-                System.out.println("Arquivo excluído com sucesso!");
-                salvarHistorico("EXCLUÍDO: " + arquivos[escolha]);
-            } else {
-                System.out.println("ERRO ao excluir arquivo!");
-            }
+            File arquivo = new File(diretorioConjuntos, escolhida.arquivo);
+            servico.enviar(chaveArquivo(arquivo), "excluir " + escolhida.arquivo, () -> {
+                if (!arquivo.delete()) {
+                    throw new IOException("não foi possível excluir o arquivo");
+                }
+                if (catalogo != null) {
+                    catalogo.remover(escolhida.arquivo);
+                }
+                return "Arquivo excluído: " + escolhida.arquivo;
+            });
+            salvarHistorico("EXCLUÍDO", escolhida.nome, escolhida.arquivo);
+            System.out.println("Exclusão agendada.");
         } else {
             System.out.println("Operação cancelada.");
         }
@@ -515,28 +774,21 @@ public class SistemaPersistencia {
             return;
         }
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(arquivo))) {
-            StringBuilder conteudo = new StringBuilder();
-            String linha;
+        try {
+            // Leitura em fluxo: o texto bruto nunca fica inteiro na memória
+            int paralelismo = ImportadorTexto.paralelismoPadrao();
+            System.out.println("Lendo " + nomeArquivo + " (" + arquivo.length() + " bytes)...");
+            System.out.println("Paralelismo: " + paralelismo + " (ajuste com -Dtgc.importacao.paralelismo=N)");
+            ImportadorTexto.Resultado resultado = ImportadorTexto.importarParalelo(arquivo, paralelismo, System.out::println);
+            List<String> conjunto = resultado.elementos;
             
-            while ((linha = reader.readLine()) != null) {
-                conteudo.append(linha).append(" ");
-            }
-            
-            System.out.println("Conteúdo lido: " + conteudo.toString().trim());
             System.out.println();
+            System.out.println(String.format("Leitura concluída: %,d palavras em %.2f s (%,.1f MB/s)",
+                resultado.tokens, resultado.segundos(), resultado.megabytesPorSegundo()));
             
-            // Processar como conjunto de palavras
-            String[] elementos = conteudo.toString().trim().split("\\s+");
-            TreeSet<String> conjunto = new TreeSet<>();
-            
-            for (String elem : elementos) {
-                if (!elem.trim().isEmpty()) {
-                    conjunto.add(elem.trim());
-                }
-            }
-            
-            System.out.println("Conjunto importado: {" + String.join(", ", conjunto) + "}");
+            int limite = Math.min(conjunto.size(), 20);
+            System.out.println("Conjunto importado: {" + String.join(", ", conjunto.subList(0, limite))
+                + (conjunto.size() > limite ? ", ..." : "") + "}");
             System.out.println("Total de elementos únicos: " + conjunto.size());
             
             // Opção de salvar
@@ -550,20 +802,14 @@ public class SistemaPersistencia {
                 String nomeArquivoSalvo = nome.replaceAll("\\s+", "_") + ".conjunto";
                 File arquivoSalvo = new File(diretorioConjuntos, nomeArquivoSalvo);
                 
-                try (PrintWriter writer = new PrintWriter(new FileWriter(arquivoSalvo))) {
-                    writer.println("# CONJUNTO IMPORTADO - Sistema TGS");
-                    writer.println("# Data: " + new Date());
-                    writer.println("# Origem: " + nomeArquivo);
-                    writer.println("# Nome: " + nome);
-                    writer.println("# Tipo: Palavras/Texto");
-                    writer.println();
-                    writer.println("NOME=" + nome);
-                    writer.println("TIPO=3");
-                    writer.println("ELEMENTOS=" + String.join(" ", conjunto));
-                    
-                    System.out.println("Conjunto salvo como: " + nomeArquivoSalvo);
-                    salvarHistorico("IMPORTADO: " + nome + " de " + nomeArquivo);
-                }
+                servico.enviar(chaveArquivo(arquivoSalvo), "salvar " + nomeArquivoSalvo, () -> {
+                    ArquivoConjunto.gravar(arquivoSalvo, nome, conjunto);
+                    registrarNoCatalogo(arquivoSalvo);
+                    return "Conjunto importado salvo: " + nomeArquivoSalvo + " (" + arquivoSalvo.length() + " bytes)";
+                });
+                salvarHistorico("IMPORTADO", nome, nome + " de " + nomeArquivo);
+                
+                System.out.println("Salvamento agendado como: " + nomeArquivoSalvo);
             }
             
         } catch (IOException e) {